@@ -0,0 +1,84 @@
+package com.haufeGroup.beerCatalogue.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.model.Beer;
+import com.haufeGroup.beerCatalogue.model.Manufacturer;
+import com.haufeGroup.beerCatalogue.repository.BeerRepository;
+import com.haufeGroup.beerCatalogue.repository.ManufacturerRepository;
+
+// batch size 0 is the old behaviour of a round trip per insert
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerInsertBenchmark {
+
+	private static final int BEERS_PER_TRANSACTION = 1000;
+
+	@Param({ "sequence", "node" })
+	private String idStrategy;
+
+	@Param({ "0", "50" })
+	private String batchSize;
+
+	private ConfigurableApplicationContext context;
+
+	private BeerRepository beerRepository;
+
+	private TransactionTemplate transactionTemplate;
+
+	private Manufacturer manufacturer;
+
+	@Setup
+	public void setUp() {
+		context = SpringApplication.run(BeerCatalogueApplication.class, "--spring.main.web-application-type=none",
+				"--spring.datasource.url=jdbc:h2:mem:insertBenchmark;DB_CLOSE_DELAY=-1", "--spring.jpa.show-sql=false",
+				"--logging.level.root=WARN", "--spring.jpa.properties.beerCatalogue.id.strategy=" + idStrategy,
+				"--spring.jpa.properties.beerCatalogue.id.node=1",
+				"--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+		beerRepository = context.getBean(BeerRepository.class);
+		transactionTemplate = context.getBean(TransactionTemplate.class);
+		Manufacturer newManufacturer = BenchmarkData.createManufacturer(0L);
+		newManufacturer.setId(null);
+		manufacturer = context.getBean(ManufacturerRepository.class).save(newManufacturer);
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public List<Beer> insertBeers() {
+		List<Beer> beers = new ArrayList<Beer>(BEERS_PER_TRANSACTION);
+		for (int index = 0; index < BEERS_PER_TRANSACTION; index++) {
+			Beer beer = BenchmarkData.createBeer(0L, manufacturer);
+			beer.setId(null);
+			beers.add(beer);
+		}
+		return transactionTemplate.execute(status -> beerRepository.saveAll(beers));
+	}
+
+}
@@ -0,0 +1,66 @@
+package com.haufeGroup.beerCatalogue.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.mapper.BeerMapper;
+import com.haufeGroup.beerCatalogue.model.Beer;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerMapperBenchmark {
+
+	private BeerMapper beerMapper;
+
+	private Beer beer;
+
+	private BeerDto beerDto;
+
+	private Beer changedBeer;
+
+	private Beer targetBeer;
+
+	@Setup
+	public void setUp() {
+		beerMapper = new BeerMapper();
+		beer = BenchmarkData.createBeer(1, BenchmarkData.createManufacturer(1));
+		beerDto = BenchmarkData.createBeerDto(1, 1);
+		changedBeer = new Beer();
+		changedBeer.setDescription("updated description");
+		changedBeer.setGraduation("low");
+		targetBeer = BenchmarkData.createBeer(1, BenchmarkData.createManufacturer(1));
+	}
+
+	@Benchmark
+	public BeerDto mapFromEntity() {
+		return beerMapper.mapFromEntity(beer);
+	}
+
+	@Benchmark
+	public Beer mapFromDto() {
+		return beerMapper.mapFromDto(beerDto);
+	}
+
+	@Benchmark
+	public Beer mergeEntity() {
+		// merging the same changes again keeps the target stable between invocations
+		beerMapper.mergeEntity(changedBeer, targetBeer);
+		return targetBeer;
+	}
+
+}
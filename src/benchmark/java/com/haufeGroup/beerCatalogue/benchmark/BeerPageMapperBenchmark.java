@@ -0,0 +1,80 @@
+package com.haufeGroup.beerCatalogue.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.modelmapper.Converter;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.mapper.BeerMapper;
+import com.haufeGroup.beerCatalogue.model.Beer;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeerPageMapperBenchmark {
+
+	@Param({ "5", "50", "1000" })
+	private int pageSize;
+
+	private BeerMapper beerMapper;
+
+	private ModelMapper modelMapper;
+
+	private Pageable sortPageable;
+
+	private Page<Beer> beerPage;
+
+	@Setup
+	public void setUp() {
+		beerMapper = new BeerMapper();
+		modelMapper = createModelMapper();
+		sortPageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id"));
+		beerPage = new PageImpl<Beer>(BenchmarkData.createBeers(pageSize), sortPageable, pageSize * 10L);
+	}
+
+	@Benchmark
+	public Page<BeerDto> mapFromEntityPage() {
+		return beerMapper.mapFromEntityPage(beerPage, sortPageable);
+	}
+
+	// the baseline: the ModelMapper configuration the BeerMapper replaced, its converter copies the same fields, so
+	// the difference is the cost of the ModelMapper lookups
+	@Benchmark
+	public Page<BeerDto> mapFromEntityPageWithModelMapper() {
+		return new PageImpl<BeerDto>(
+				beerPage.getContent().stream().map(beer -> modelMapper.map(beer, BeerDto.class))
+						.collect(Collectors.toList()),
+				sortPageable, beerPage.getTotalElements());
+	}
+
+	private ModelMapper createModelMapper() {
+		ModelMapper mapper = new ModelMapper();
+		mapper.getConfiguration().setSkipNullEnabled(true);
+		mapper.getConfiguration().setImplicitMappingEnabled(true);
+		Converter<Beer, BeerDto> beerToBeerDto = context -> beerMapper.mapFromEntity(context.getSource());
+		mapper.createTypeMap(Beer.class, BeerDto.class).setConverter(beerToBeerDto);
+		return mapper;
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.haufeGroup.beerCatalogue.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.model.Beer;
+import com.haufeGroup.beerCatalogue.model.Manufacturer;
+
+final class BenchmarkData {
+
+	static final String[] BEER_TYPES = { "ALE", "IPA", "English IPA", "Dark Mild", "Stout", "Lager" };
+
+	static final String[] GRADUATIONS = { "low", "medium", "strong" };
+
+	private BenchmarkData() {
+	}
+
+	static Manufacturer createManufacturer(final long id) {
+		Manufacturer manufacturer = new Manufacturer();
+		manufacturer.setId(id);
+		manufacturer.setName("Manufacturer " + id);
+		manufacturer.setNationality("Spanish");
+		manufacturer.setDeleted(false);
+		return manufacturer;
+	}
+
+	static Beer createBeer(final long id, final Manufacturer manufacturer) {
+		Beer beer = new Beer();
+		beer.setId(id);
+		beer.setName("Beer name " + id);
+		beer.setGraduation(GRADUATIONS[(int) (id % GRADUATIONS.length)]);
+		beer.setType(BEER_TYPES[(int) (id % BEER_TYPES.length)]);
+		beer.setDescription("A " + beer.getGraduation() + " " + beer.getType() + " brewed by " + manufacturer.getName());
+		beer.setDeleted(false);
+		beer.setManufacturer(manufacturer);
+		return beer;
+	}
+
+	static BeerDto createBeerDto(final long id, final long manufacturerId) {
+		BeerDto beerDto = new BeerDto();
+		beerDto.setId(id);
+		beerDto.setName("Beer name " + id);
+		beerDto.setGraduation(GRADUATIONS[(int) (id % GRADUATIONS.length)]);
+		beerDto.setType(BEER_TYPES[(int) (id % BEER_TYPES.length)]);
+		beerDto.setDescription("A " + beerDto.getGraduation() + " " + beerDto.getType() + " beer");
+		beerDto.setManufacturerId(manufacturerId);
+		return beerDto;
+	}
+
+	static List<Manufacturer> createManufacturers(final int size) {
+		List<Manufacturer> manufacturers = new ArrayList<Manufacturer>(size);
+		for (long id = 1; id <= size; id++) {
+			manufacturers.add(createManufacturer(id));
+		}
+		return manufacturers;
+	}
+
+	static List<Beer> createBeers(final int size) {
+		List<Beer> beers = new ArrayList<Beer>(size);
+		List<Manufacturer> manufacturers = createManufacturers(20);
+		for (long id = 1; id <= size; id++) {
+			beers.add(createBeer(id, manufacturers.get((int) (id % manufacturers.size()))));
+		}
+		return beers;
+	}
+
+	static List<BeerDto> createBeerDtos(final int size) {
+		List<BeerDto> beerDtos = new ArrayList<BeerDto>(size);
+		for (long id = 1; id <= size; id++) {
+			beerDtos.add(createBeerDto(id, id % 20 + 1));
+		}
+		return beerDtos;
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.haufeGroup.beerCatalogue.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
+import com.haufeGroup.beerCatalogue.mapper.ManufacturerMapper;
+import com.haufeGroup.beerCatalogue.model.Manufacturer;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ManufacturerMapperBenchmark {
+
+	@Param({ "5", "50", "1000" })
+	private int pageSize;
+
+	private ManufacturerMapper manufacturerMapper;
+
+	private Pageable sortPageable;
+
+	private Page<Manufacturer> manufacturerPage;
+
+	@Setup
+	public void setUp() {
+		manufacturerMapper = new ManufacturerMapper();
+		sortPageable = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id"));
+		manufacturerPage = new PageImpl<Manufacturer>(BenchmarkData.createManufacturers(pageSize), sortPageable,
+				pageSize * 10L);
+	}
+
+	@Benchmark
+	public Page<ManufacturerDto> mapFromEntityPage() {
+		return manufacturerMapper.mapFromEntityPage(manufacturerPage, sortPageable);
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.haufeGroup.beerCatalogue.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+	@Param({ "5", "50", "1000" })
+	private int pageSize;
+
+	private ObjectWriter pageWriter;
+
+	private Page<BeerDto> beerPage;
+
+	@Setup
+	public void setUp() {
+		// same defaults as the object mapper used by the message converters
+		pageWriter = Jackson2ObjectMapperBuilder.json().build().writer();
+		beerPage = new PageImpl<BeerDto>(BenchmarkData.createBeerDtos(pageSize),
+				PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "id")), pageSize * 10L);
+	}
+
+	@Benchmark
+	public byte[] serializeBeerPage() throws JsonProcessingException {
+		return pageWriter.writeValueAsBytes(beerPage);
+	}
+
+}
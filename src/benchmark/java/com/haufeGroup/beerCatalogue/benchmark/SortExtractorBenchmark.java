@@ -0,0 +1,51 @@
+package com.haufeGroup.beerCatalogue.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Sort;
+
+import com.haufeGroup.beerCatalogue.util.SortExtractor;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SortExtractorBenchmark {
+
+	private SortExtractor sortExtractor;
+
+	private String[] singleFieldSort;
+
+	private String[] multipleFieldsSort;
+
+	@Setup
+	public void setUp() {
+		sortExtractor = new SortExtractor();
+		// default sort criteria of the listing endpoints
+		singleFieldSort = new String[] { "id", "desc" };
+		multipleFieldsSort = new String[] { "name, asc", "graduation, desc", "id, desc" };
+	}
+
+	@Benchmark
+	public Sort extractSingleFieldSortCriteria() {
+		return sortExtractor.extractSortCriteria(singleFieldSort);
+	}
+
+	@Benchmark
+	public Sort extractMultipleFieldsSortCriteria() {
+		return sortExtractor.extractSortCriteria(multipleFieldsSort);
+	}
+
+}
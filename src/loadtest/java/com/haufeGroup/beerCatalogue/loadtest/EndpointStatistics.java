@@ -0,0 +1,68 @@
+package com.haufeGroup.beerCatalogue.loadtest;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+public class EndpointStatistics {
+
+	private static final int SIGNIFICANT_DIGITS = 3;
+
+	// measured from the intended start, so the waiting of a late request is not omitted
+	private final Recorder responseTimeRecorder = new Recorder(SIGNIFICANT_DIGITS);
+
+	// measured from the real start, only to compare with the response time
+	private final Recorder serviceTimeRecorder = new Recorder(SIGNIFICANT_DIGITS);
+
+	private final LongAdder errors = new LongAdder();
+
+	private Histogram responseTimes;
+
+	private Histogram serviceTimes;
+
+	public void record(final long responseTimeNanos, final long serviceTimeNanos, final boolean successful) {
+		responseTimeRecorder.recordValue(responseTimeNanos);
+		serviceTimeRecorder.recordValue(serviceTimeNanos);
+		if (!successful) {
+			errors.increment();
+		}
+	}
+
+	public void reset() {
+		responseTimeRecorder.reset();
+		serviceTimeRecorder.reset();
+		errors.reset();
+	}
+
+	public void snapshot() {
+		responseTimes = responseTimeRecorder.getIntervalHistogram();
+		serviceTimes = serviceTimeRecorder.getIntervalHistogram();
+	}
+
+	public long getRequests() {
+		return responseTimes.getTotalCount();
+	}
+
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	public double getResponseTimeMillis(final double percentile) {
+		return toMillis(responseTimes.getValueAtPercentile(percentile));
+	}
+
+	public double getMaxResponseTimeMillis() {
+		return toMillis(responseTimes.getMaxValue());
+	}
+
+	public double getServiceTimeMillis(final double percentile) {
+		return toMillis(serviceTimes.getValueAtPercentile(percentile));
+	}
+
+	private static double toMillis(final long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+
+}
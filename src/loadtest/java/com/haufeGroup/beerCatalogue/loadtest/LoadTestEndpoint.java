@@ -0,0 +1,35 @@
+package com.haufeGroup.beerCatalogue.loadtest;
+
+// the traffic mix, every endpoint is picked according to its weight
+public enum LoadTestEndpoint {
+
+	LIST_BEERS("GET /beers/", 20),
+
+	GET_BEER("GET /beers/{id}", 40),
+
+	LIST_MANUFACTURER_BEERS("GET /manufacturers/{id}/beers", 20),
+
+	ADD_BEER("POST /beers/", 10),
+
+	MODIFY_BEER("PUT /beers/{id}", 7),
+
+	REMOVE_BEER("DELETE /beers/{id}", 3);
+
+	private final String label;
+
+	private final int weight;
+
+	private LoadTestEndpoint(final String label, final int weight) {
+		this.label = label;
+		this.weight = weight;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+
+	public int getWeight() {
+		return weight;
+	}
+
+}
@@ -0,0 +1,72 @@
+package com.haufeGroup.beerCatalogue.loadtest;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.dataset.CatalogueGenerator;
+
+// boots the application against a seeded catalogue and drives the traffic mix of LoadTestEndpoint
+public class LoadTestRunner {
+
+	private static final long SEED = 42L;
+
+	private static final String CSV_HEADER = "endpoint,requests,errors,throughput,p50_ms,p99_ms,p999_ms,max_ms,service_p99_ms";
+
+	public static void main(final String[] args) throws SQLException, InterruptedException, IOException {
+		int requestsPerSecond = Integer.getInteger("loadtest.rate", 200);
+		Duration warmup = Duration.ofSeconds(Integer.getInteger("loadtest.warmupSeconds", 15));
+		Duration duration = Duration.ofSeconds(Integer.getInteger("loadtest.durationSeconds", 60));
+		int manufacturers = Integer.getInteger("loadtest.manufacturers", 1000);
+		long beers = Long.getLong("loadtest.beers", 1000000L);
+		Path resultFile = Paths.get(System.getProperty("loadtest.resultFile", "target/loadtest-result.csv"));
+
+		try (ConfigurableApplicationContext context = SpringApplication.run(BeerCatalogueApplication.class,
+				"--server.port=0", "--spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1",
+				"--spring.jpa.show-sql=false", "--logging.level.root=WARN")) {
+			new CatalogueGenerator(context.getBean(DataSource.class), SEED).generate(manufacturers, beers);
+			int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+			OpenModelLoadGenerator loadGenerator = new OpenModelLoadGenerator(
+					"http://localhost:" + port + "/beerCatalogue/api/", manufacturers, beers, SEED);
+			loadGenerator.warmUp(requestsPerSecond, warmup);
+			loadGenerator.measure(requestsPerSecond, duration);
+			report(loadGenerator.getStatistics(), duration, resultFile);
+		}
+	}
+
+	private static void report(final Map<LoadTestEndpoint, EndpointStatistics> statistics, final Duration duration,
+			final Path resultFile) throws IOException {
+		Files.createDirectories(resultFile.toAbsolutePath().getParent());
+		try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(resultFile))) {
+			csv.println(CSV_HEADER);
+			System.out.printf("%-32s %9s %7s %9s %9s %9s %9s %9s%n", "endpoint", "requests", "errors", "req/s", "p50 ms",
+					"p99 ms", "p999 ms", "max ms");
+			statistics.forEach((endpoint, endpointStatistics) -> {
+				double throughput = endpointStatistics.getRequests() / (double) duration.toSeconds();
+				System.out.printf(Locale.ROOT, "%-32s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", endpoint.getLabel(),
+						endpointStatistics.getRequests(), endpointStatistics.getErrors(), throughput,
+						endpointStatistics.getResponseTimeMillis(50), endpointStatistics.getResponseTimeMillis(99),
+						endpointStatistics.getResponseTimeMillis(99.9), endpointStatistics.getMaxResponseTimeMillis());
+				csv.printf(Locale.ROOT, "%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f%n", endpoint.name(),
+						endpointStatistics.getRequests(), endpointStatistics.getErrors(), throughput,
+						endpointStatistics.getResponseTimeMillis(50), endpointStatistics.getResponseTimeMillis(99),
+						endpointStatistics.getResponseTimeMillis(99.9), endpointStatistics.getMaxResponseTimeMillis(),
+						endpointStatistics.getServiceTimeMillis(99));
+			});
+		}
+	}
+
+}
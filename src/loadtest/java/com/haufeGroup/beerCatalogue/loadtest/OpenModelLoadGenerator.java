@@ -0,0 +1,199 @@
+package com.haufeGroup.beerCatalogue.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+
+// sends the requests at a fixed arrival rate whatever the response times are (open model)
+public class OpenModelLoadGenerator {
+
+	private static final int PAGE_SIZE = 20;
+
+	private static final int MAX_PAGE = 50;
+
+	// same power law as the generated catalogue, so the big manufacturers are the hot ones
+	private static final double MANUFACTURER_SKEW = 3.0;
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final String rootUrl;
+
+	private final int manufacturers;
+
+	private final long beers;
+
+	private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(REQUEST_TIMEOUT).build();
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private final SplittableRandom random;
+
+	private final int totalWeight;
+
+	private final Map<LoadTestEndpoint, EndpointStatistics> statistics = new EnumMap<LoadTestEndpoint, EndpointStatistics>(
+			LoadTestEndpoint.class);
+
+	// the beers created by the test are the only ones modified and removed, the seeded dataset stays stable
+	private final ConcurrentLinkedDeque<BeerDto> createdBeers = new ConcurrentLinkedDeque<BeerDto>();
+
+	private final AtomicLong inFlightRequests = new AtomicLong();
+
+	private volatile boolean recording;
+
+	public OpenModelLoadGenerator(final String rootUrl, final int manufacturers, final long beers, final long seed) {
+		this.rootUrl = rootUrl;
+		this.manufacturers = manufacturers;
+		this.beers = beers;
+		this.random = new SplittableRandom(seed);
+		int weights = 0;
+		for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+			statistics.put(endpoint, new EndpointStatistics());
+			weights += endpoint.getWeight();
+		}
+		this.totalWeight = weights;
+	}
+
+	public Map<LoadTestEndpoint, EndpointStatistics> getStatistics() {
+		return statistics;
+	}
+
+	public void warmUp(final int requestsPerSecond, final Duration duration) throws InterruptedException {
+		recording = false;
+		run(requestsPerSecond, duration);
+	}
+
+	public void measure(final int requestsPerSecond, final Duration duration) throws InterruptedException {
+		statistics.values().forEach(EndpointStatistics::reset);
+		recording = true;
+		run(requestsPerSecond, duration);
+		awaitInFlightRequests();
+		recording = false;
+		statistics.values().forEach(EndpointStatistics::snapshot);
+	}
+
+	private void run(final int requestsPerSecond, final Duration duration) {
+		long intervalNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+		long start = System.nanoTime();
+		long end = start + duration.toNanos();
+		for (long request = 0;; request++) {
+			long intendedStart = start + request * intervalNanos;
+			if (intendedStart >= end) {
+				return;
+			}
+			long waitNanos = intendedStart - System.nanoTime();
+			if (waitNanos > 0) {
+				LockSupport.parkNanos(waitNanos);
+			}
+			send(pickEndpoint(), intendedStart);
+		}
+	}
+
+	private void awaitInFlightRequests() throws InterruptedException {
+		long deadline = System.nanoTime() + REQUEST_TIMEOUT.toNanos();
+		while (inFlightRequests.get() > 0 && System.nanoTime() < deadline) {
+			TimeUnit.MILLISECONDS.sleep(10);
+		}
+	}
+
+	private LoadTestEndpoint pickEndpoint() {
+		int value = random.nextInt(totalWeight);
+		for (LoadTestEndpoint endpoint : LoadTestEndpoint.values()) {
+			value -= endpoint.getWeight();
+			if (value < 0) {
+				return endpoint;
+			}
+		}
+		return LoadTestEndpoint.GET_BEER;
+	}
+
+	private void send(final LoadTestEndpoint pickedEndpoint, final long intendedStart) {
+		BeerDto createdBeer = pickedEndpoint == LoadTestEndpoint.REMOVE_BEER ? createdBeers.pollFirst()
+				: createdBeers.peekLast();
+		// nothing to modify or remove yet, so a beer is created instead
+		LoadTestEndpoint endpoint = createdBeer == null
+				&& (pickedEndpoint == LoadTestEndpoint.MODIFY_BEER || pickedEndpoint == LoadTestEndpoint.REMOVE_BEER)
+						? LoadTestEndpoint.ADD_BEER
+						: pickedEndpoint;
+		HttpRequest request = createRequest(endpoint, createdBeer);
+		boolean recordResponse = recording;
+		inFlightRequests.incrementAndGet();
+		long sendStart = System.nanoTime();
+		httpClient.sendAsync(request, BodyHandlers.ofString()).whenComplete((response, error) -> {
+			long now = System.nanoTime();
+			boolean successful = error == null && response.statusCode() < 300;
+			if (recordResponse) {
+				statistics.get(endpoint).record(now - intendedStart, now - sendStart, successful);
+			}
+			if (successful && endpoint == LoadTestEndpoint.ADD_BEER) {
+				addCreatedBeer(response);
+			}
+			inFlightRequests.decrementAndGet();
+		});
+	}
+
+	private HttpRequest createRequest(final LoadTestEndpoint endpoint, final BeerDto createdBeer) {
+		switch (endpoint) {
+		case LIST_BEERS:
+			return get("beers/?page=" + random.nextInt(MAX_PAGE) + "&size=" + PAGE_SIZE);
+		case GET_BEER:
+			return get("beers/" + (1 + random.nextLong(beers)));
+		case LIST_MANUFACTURER_BEERS:
+			return get("manufacturers/" + pickManufacturerId() + "/beers?size=" + PAGE_SIZE);
+		case MODIFY_BEER:
+			return HttpRequest.newBuilder(URI.create(rootUrl + "beers/" + createdBeer.getId()))
+					.timeout(REQUEST_TIMEOUT).header("Content-Type", "application/json")
+					.PUT(BodyPublishers.ofString(toJson(createBeerBody(createdBeer.getManufacturerId())))).build();
+		case REMOVE_BEER:
+			return HttpRequest.newBuilder(URI.create(rootUrl + "beers/" + createdBeer.getId()))
+					.timeout(REQUEST_TIMEOUT).DELETE().build();
+		default:
+			return HttpRequest.newBuilder(URI.create(rootUrl + "beers/")).timeout(REQUEST_TIMEOUT)
+					.header("Content-Type", "application/json")
+					.POST(BodyPublishers.ofString(toJson(createBeerBody(pickManufacturerId())))).build();
+		}
+	}
+
+	private HttpRequest get(final String path) {
+		return HttpRequest.newBuilder(URI.create(rootUrl + path)).timeout(REQUEST_TIMEOUT).GET().build();
+	}
+
+	private long pickManufacturerId() {
+		return 1 + (long) (manufacturers * Math.pow(random.nextDouble(), MANUFACTURER_SKEW));
+	}
+
+	private BeerDto createBeerBody(final Long manufacturerId) {
+		return new BeerDto(null, "Load test beer", "medium", "Lager", "medium Lager", manufacturerId);
+	}
+
+	private void addCreatedBeer(final HttpResponse<String> response) {
+		try {
+			createdBeers.addLast(objectMapper.readValue(response.body(), BeerDto.class));
+		} catch (JsonProcessingException jpe) {
+			// the beer is just not reused
+		}
+	}
+
+	private String toJson(final BeerDto beerDto) {
+		try {
+			return objectMapper.writeValueAsString(beerDto);
+		} catch (JsonProcessingException jpe) {
+			throw new IllegalStateException(jpe);
+		}
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.haufeGroup.beerCatalogue.aspect;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.haufeGroup.beerCatalogue.datasource.ReplicaRouting;
+
+@Aspect
+@Component
+// before the transactions and the caches, so the whole call is routed
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class ReadReplicaAspect {
+
+	@Around("@annotation(com.haufeGroup.beerCatalogue.datasource.ReadReplica)")
+	public Object readFromReplica(final ProceedingJoinPoint joinPoint) throws Throwable {
+		if (!ReplicaRouting.beginReplicaRead()) {
+			return joinPoint.proceed();
+		}
+		try {
+			return joinPoint.proceed();
+		} finally {
+			ReplicaRouting.endReplicaRead();
+		}
+	}
+
+}
@@ -0,0 +1,78 @@
+package com.haufeGroup.beerCatalogue.aspect;
+
+import javax.validation.ConstraintViolationException;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import com.haufeGroup.beerCatalogue.exception.BeerCatalogueException;
+import com.haufeGroup.beerCatalogue.exception.ErrorType;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Aspect
+@Component
+// outermost advice, so the cache hits and the validation errors are measured too
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class ServiceMetricsAspect {
+
+	public static final String SERVICE_TIMER = "beerCatalogue.service";
+
+	public static final String OPERATION_TAG = "operation";
+
+	public static final String OUTCOME_TAG = "outcome";
+
+	public static final String OK_OUTCOME = "ok";
+
+	// the failed outcomes are named by the error type, the same one the exception handler answers with
+	public static final String NOT_FOUND_OUTCOME = ErrorType.NOT_FOUND.getOutcome();
+
+	public static final String INVALID_SORT_OUTCOME = ErrorType.INVALID_SORT.getOutcome();
+
+	public static final String INVALID_REQUEST_OUTCOME = ErrorType.INVALID_REQUEST.getOutcome();
+
+	public static final String PRECONDITION_FAILED_OUTCOME = ErrorType.PRECONDITION_FAILED.getOutcome();
+
+	public static final String UNAVAILABLE_OUTCOME = ErrorType.UNAVAILABLE.getOutcome();
+
+	public static final String ERROR_OUTCOME = "error";
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Around("execution(public * com.haufeGroup.beerCatalogue.service.*ServiceImpl.*(..))")
+	public Object timeServiceOperation(final ProceedingJoinPoint joinPoint) throws Throwable {
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = OK_OUTCOME;
+		try {
+			return joinPoint.proceed();
+		} catch (Throwable throwable) {
+			outcome = getOutcome(throwable);
+			throw throwable;
+		} finally {
+			sample.stop(Timer.builder(SERVICE_TIMER).tag(OPERATION_TAG, getOperation(joinPoint))
+					.tag(OUTCOME_TAG, outcome).register(meterRegistry));
+		}
+	}
+
+	private String getOperation(final ProceedingJoinPoint joinPoint) {
+		return joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+	}
+
+	private String getOutcome(final Throwable throwable) {
+		if (throwable instanceof ConstraintViolationException) {
+			return INVALID_REQUEST_OUTCOME;
+		}
+		if (throwable instanceof BeerCatalogueException) {
+			return ((BeerCatalogueException) throwable).getErrorType().getOutcome();
+		}
+		return ERROR_OUTCOME;
+	}
+
+}
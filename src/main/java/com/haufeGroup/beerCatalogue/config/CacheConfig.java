@@ -0,0 +1,82 @@
+package com.haufeGroup.beerCatalogue.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
+import com.haufeGroup.beerCatalogue.util.EncodedResponseCache.EncodedResponse;
+
+@Configuration
+// around the transactions: a hit takes no connection and the evictions run after the commit
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+	public static final String BEER_CACHE = "beers";
+
+	public static final String MANUFACTURER_CACHE = "manufacturers";
+
+	public static final String RESPONSE_CACHE = "responses";
+
+	// estimated bytes of the entry, the key and the dto object headers
+	private static final int ENTRY_OVERHEAD_WEIGHT = 96;
+
+	@Value("${beerCatalogue.cache.maximum-weight:16777216}")
+	private long maximumWeight;
+
+	@Value("${beerCatalogue.cache.responses.maximum-weight:8388608}")
+	private long responsesMaximumWeight;
+
+	@Value("${beerCatalogue.http.collections.max-age:5}")
+	private long maxAgeSeconds;
+
+	@Value("${beerCatalogue.http.collections.stale-while-revalidate:30}")
+	private long staleWhileRevalidateSeconds;
+
+	@Bean
+	public CacheManager cacheManager() {
+		CaffeineCacheManager cacheManager = new CaffeineCacheManager(BEER_CACHE, MANUFACTURER_CACHE);
+		// caffeine evicts by weight with a TinyLFU admission policy, so one-off lookups do not flush the hot ids
+		cacheManager.setCaffeine(Caffeine.newBuilder().maximumWeight(maximumWeight)
+				.weigher((Object key, Object value) -> weigh(value)).recordStats());
+		// a not found id is an exception and is never cached
+		cacheManager.setAllowNullValues(false);
+		// the encoded pages not requested again until the end of their stale window are dropped
+		cacheManager.registerCustomCache(RESPONSE_CACHE,
+				Caffeine.newBuilder().maximumWeight(responsesMaximumWeight)
+						.weigher((Object key, Object value) -> weigh(value))
+						.expireAfterWrite(Duration.ofSeconds(maxAgeSeconds + staleWhileRevalidateSeconds))
+						.recordStats().build());
+		return cacheManager;
+	}
+
+	private static int weigh(final Object value) {
+		if (value instanceof BeerDto) {
+			BeerDto beerDto = (BeerDto) value;
+			return ENTRY_OVERHEAD_WEIGHT + weigh(beerDto.getName()) + weigh(beerDto.getGraduation())
+					+ weigh(beerDto.getType()) + weigh(beerDto.getDescription());
+		}
+		if (value instanceof ManufacturerDto) {
+			ManufacturerDto manufacturerDto = (ManufacturerDto) value;
+			return ENTRY_OVERHEAD_WEIGHT + weigh(manufacturerDto.getName()) + weigh(manufacturerDto.getNationality());
+		}
+		if (value instanceof EncodedResponse) {
+			// the bytes are off-heap, they are weighed to bound the direct memory
+			return ENTRY_OVERHEAD_WEIGHT + ((EncodedResponse) value).getSize();
+		}
+		return ENTRY_OVERHEAD_WEIGHT;
+	}
+
+	private static int weigh(final String value) {
+		return value == null ? 0 : 40 + value.length();
+	}
+
+}
@@ -0,0 +1,75 @@
+package com.haufeGroup.beerCatalogue.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.haufeGroup.beerCatalogue.datasource.ReadYourWritesFilter;
+import com.haufeGroup.beerCatalogue.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+// only with replicas, otherwise the datasource of spring.datasource is the one of spring boot
+@Configuration
+@ConditionalOnProperty(name = "beerCatalogue.datasource.replicas")
+public class DataSourceConfig {
+
+	public static final String OPEN_IN_VIEW_ERROR_MESSAGE = "the replicas require spring.jpa.open-in-view=false, the session of the request would keep the connection of its first query for its writes.";
+
+	@Value("${beerCatalogue.datasource.replicas}")
+	private List<String> replicaUrls;
+
+	@Value("${beerCatalogue.datasource.read-your-writes-window:0}")
+	private long readYourWritesWindowMillis;
+
+	@Value("${spring.jpa.open-in-view:true}")
+	private boolean openInView;
+
+	// the lazy proxy can not close the pools behind it
+	private final List<HikariDataSource> pools = new ArrayList<HikariDataSource>();
+
+	@Bean
+	@Primary
+	public DataSource dataSource(final DataSourceProperties dataSourceProperties) {
+		if (openInView) {
+			throw new IllegalStateException(OPEN_IN_VIEW_ERROR_MESSAGE);
+		}
+		HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class)
+				.build();
+		primary.setPoolName("primary");
+		pools.add(primary);
+		List<DataSource> replicas = new ArrayList<DataSource>();
+		for (String replicaUrl : replicaUrls) {
+			// the replicas share the credentials of the primary
+			HikariDataSource replica = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class)
+					.url(replicaUrl).build();
+			replica.setPoolName("replica-" + replicas.size());
+			replicas.add(replica);
+			pools.add(replica);
+		}
+		ReplicaRoutingDataSource routingDataSource = new ReplicaRoutingDataSource(primary, replicas);
+		routingDataSource.afterPropertiesSet();
+		return new LazyConnectionDataSourceProxy(routingDataSource);
+	}
+
+	@PreDestroy
+	public void closePools() {
+		pools.forEach(HikariDataSource::close);
+	}
+
+	@Bean
+	public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter() {
+		return new FilterRegistrationBean<ReadYourWritesFilter>(new ReadYourWritesFilter(readYourWritesWindowMillis));
+	}
+
+}
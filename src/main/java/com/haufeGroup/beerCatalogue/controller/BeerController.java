@@ -1,26 +1,57 @@
 package com.haufeGroup.beerCatalogue.controller;
 
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
 
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.dto.BatchWriteResultDto;
 import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.CursorPageDto;
+import com.haufeGroup.beerCatalogue.dto.ImportResultDto;
 import com.haufeGroup.beerCatalogue.mapper.BeerMapper;
+import com.haufeGroup.beerCatalogue.service.BeerBatchServiceImpl;
+import com.haufeGroup.beerCatalogue.service.IBeerBatchService;
 import com.haufeGroup.beerCatalogue.service.IBeerService;
+import com.haufeGroup.beerCatalogue.service.IImportService;
+import com.haufeGroup.beerCatalogue.util.BeerExportWriter;
+import com.haufeGroup.beerCatalogue.util.BeerExportWriter.Format;
+import com.haufeGroup.beerCatalogue.util.CollectionCaching;
+import com.haufeGroup.beerCatalogue.util.ContinuationTokenCodec;
+import com.haufeGroup.beerCatalogue.util.EntityTags;
+import com.haufeGroup.beerCatalogue.util.JsonMergePatch;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
+import com.haufeGroup.beerCatalogue.util.ModificationCounters;
 import com.haufeGroup.beerCatalogue.util.SortExtractor;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -38,19 +69,77 @@ public class BeerController {
 	@Autowired
 	IBeerService beerService;
 
+	@Autowired
+	IImportService importService;
+
+	@Autowired
+	IBeerBatchService beerBatchService;
+
 	@Autowired
 	BeerMapper modelMapper;
 
 	@Autowired
 	SortExtractor sortExtractor;
 
+	@Autowired
+	ContinuationTokenCodec continuationTokenCodec;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	EntityTags entityTags;
+
+	@Autowired
+	ModificationCounters modificationCounters;
+
+	@Autowired
+	CollectionCaching collectionCaching;
+
 	@Operation(summary = "Get all beers with sort pagination")
+	@ApiResponse(responseCode = "304", description = "The collection has not changed since the tag of the If-None-Match header", content = @Content)
 	@ApiResponse(responseCode = "400", description = "Invalid sort pagination criteria supplied", content = @Content)
 	@GetMapping("/")
-	public Page<BeerDto> getAllBeersWithSortPagination(@RequestParam(defaultValue = "0") int page,
-			@RequestParam(defaultValue = "5") int size, @RequestParam(defaultValue = "id,desc") String[] sort) {
+	public ResponseEntity<?> getAllBeersWithSortPagination(@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "5") int size, @RequestParam(defaultValue = "id,desc") String[] sort,
+			final WebRequest request) {
 		Pageable pagingSort = PageRequest.of(page, size, sortExtractor.extractSortCriteria(sort));
-		return modelMapper.mapFromEntityPage(beerService.getAllBeersWithSortPagination(pagingSort), pagingSort);
+		return collectionCaching.respondEncoded(request, "beers", pagingSort, modificationCounters.beersTag(),
+				() -> beerService.getAllBeersWithSortPagination(pagingSort));
+	}
+
+	@Operation(summary = "Get all beers with sort pagination without the total count, hasNext is computed fetching one more beer")
+	@ApiResponse(responseCode = "304", description = "The collection has not changed since the tag of the If-None-Match header", content = @Content)
+	@ApiResponse(responseCode = "400", description = "Invalid sort pagination criteria supplied", content = @Content)
+	@GetMapping(value = "/", params = { "withTotal=false", "!cursor" })
+	public ResponseEntity<Slice<BeerDto>> getAllBeersWithSortSlice(@RequestParam(defaultValue = "0") int page,
+			@RequestParam(defaultValue = "5") int size, @RequestParam(defaultValue = "id,desc") String[] sort,
+			final WebRequest request) {
+		Pageable pagingSort = PageRequest.of(page, size, sortExtractor.extractSortCriteria(sort));
+		return collectionCaching.respond(request, modificationCounters.beersTag(),
+				() -> beerService.getAllBeersWithSortSlice(pagingSort));
+	}
+
+	@Operation(summary = "Get all beers with cursor pagination, an empty cursor returns the first page")
+	@ApiResponse(responseCode = "304", description = "The collection has not changed since the tag of the If-None-Match header", content = @Content)
+	@ApiResponse(responseCode = "400", description = "Invalid sort criteria or cursor supplied", content = @Content)
+	@GetMapping(value = "/", params = "cursor")
+	public ResponseEntity<CursorPageDto<BeerDto>> getAllBeersWithCursorPagination(@RequestParam String cursor,
+			@Min(value = 1, message = "page size should be greater than zero") @RequestParam(defaultValue = "5") int size,
+			@RequestParam(defaultValue = "id,desc") String[] sort, final WebRequest request) {
+		Sort sortCriteria = sortExtractor.extractKeysetSortCriteria(sort);
+		KeysetCursor keysetCursor = continuationTokenCodec.decode(cursor, sortCriteria);
+		return collectionCaching.respond(request, modificationCounters.beersTag(), () -> {
+			Slice<BeerDto> beerSlice = beerService.getBeersAfterCursor(sortCriteria, keysetCursor, size);
+			return continuationTokenCodec.toCursorPage(beerSlice.getContent(), beerSlice.hasNext(), sortCriteria);
+		});
+	}
+
+	@Operation(summary = "Get several beers by their ids, in the requested order, the missing or removed ids are listed apart")
+	@ApiResponse(responseCode = "400", description = "Invalid or too many ids supplied", content = @Content)
+	@GetMapping(value = "/", params = { "ids", "!cursor", "!withTotal" })
+	public BatchResultDto<BeerDto> getBeersByIds(@RequestParam final List<Long> ids) {
+		return beerService.getBeersByIds(ids);
 	}
 
 	@Operation(summary = "Get a beer by its id")
@@ -58,11 +147,34 @@ public class BeerController {
 			@ApiResponse(responseCode = "200", description = "Found the beer", content = {
 					@Content(mediaType = "application/json", schema = @Schema(implementation = BeerDto.class)) }),
 			@ApiResponse(responseCode = "204", description = "Beer not found", content = @Content),
+			@ApiResponse(responseCode = "304", description = "The beer has not changed since the version of the If-None-Match header", content = @Content),
 			@ApiResponse(responseCode = "400", description = "Invalid id supplied", content = @Content) })
 	@GetMapping("/{id}")
-	public BeerDto getBeerById(
+	public ResponseEntity<BeerDto> getBeerById(
 			@Parameter(description = "id of beer to be searched") @Min(value = 1, message = "beer id value should be greater than zero") @PathVariable final Long id) {
-		return modelMapper.mapFromEntity(beerService.getBeerById(id));
+		BeerDto beer = beerService.getBeerById(id);
+		// a matching If-None-Match gets a 304 and the body is not written
+		return ResponseEntity.ok().eTag(entityTags.fromVersion(beer.getVersion())).body(beer);
+	}
+
+	@Operation(summary = "Export every beer as ndjson or csv")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The beers are streamed sorted by id", content = {
+					@Content(mediaType = "application/x-ndjson"), @Content(mediaType = "text/csv") }),
+			@ApiResponse(responseCode = "400", description = "Invalid format supplied", content = @Content) })
+	@GetMapping("/export")
+	public void exportBeers(@RequestParam(defaultValue = "ndjson") String format,
+			@RequestParam(defaultValue = "false") boolean withManufacturer, final HttpServletResponse response)
+			throws IOException {
+		Format exportFormat = Format.from(format);
+		response.setContentType(exportFormat.getContentType());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+				"attachment; filename=\"beers." + exportFormat.getFileExtension() + "\"");
+		try (BeerExportWriter exportWriter = new BeerExportWriter(exportFormat, withManufacturer,
+				response.getOutputStream(), objectMapper)) {
+			beerService.exportBeers(withManufacturer, exportWriter::write);
+		}
 	}
 
 	@Operation(summary = "Add new beer")
@@ -76,29 +188,94 @@ public class BeerController {
 		return modelMapper.mapFromEntity(beerService.addNewBeer(modelMapper.mapFromDto(beerDto)));
 	}
 
+	@Operation(summary = "Import many beers from a json array or a csv with header")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The valid beers were imported, the rejected rows are reported", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = ImportResultDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "The body could not be read", content = @Content) })
+	@PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, "text/csv" })
+	public ImportResultDto importBeers(final HttpServletRequest request) throws IOException {
+		return importService.importBeers(request.getInputStream(), MediaType.parseMediaType(request.getContentType()));
+	}
+
+	@Operation(summary = "Add several beers in one transaction, every beer gets its own status")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The valid beers were added, the status of every beer is reported", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = BatchWriteResultDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Too many or null beers supplied", content = @Content) })
+	@PostMapping("/batch")
+	public BatchWriteResultDto addBeers(
+			@Size(max = BeerBatchServiceImpl.MAX_ITEMS, message = "at most " + BeerBatchServiceImpl.MAX_ITEMS
+					+ " beers can be sent in a batch") @RequestBody final List<@NotNull(message = "the beers of the batch should not be null") BeerDto> beerDtos) {
+		return beerBatchService.addNewBeers(beerDtos);
+	}
+
+	@Operation(summary = "Modify several beers in one transaction, every beer gets its own status")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The valid beers were modified, the status of every beer is reported", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = BatchWriteResultDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Too many or null beers supplied", content = @Content) })
+	@PutMapping("/batch")
+	public BatchWriteResultDto modifyBeers(
+			@Size(max = BeerBatchServiceImpl.MAX_ITEMS, message = "at most " + BeerBatchServiceImpl.MAX_ITEMS
+					+ " beers can be sent in a batch") @RequestBody final List<@NotNull(message = "the beers of the batch should not be null") BeerDto> beerDtos) {
+		return beerBatchService.updateBeers(beerDtos);
+	}
+
 	@Operation(summary = "Modify a beer")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "The beer was modified", content = {
 					@Content(mediaType = "application/json", schema = @Schema(implementation = BeerDto.class)) }),
 			@ApiResponse(responseCode = "404", description = "Beer not found", content = @Content),
+			@ApiResponse(responseCode = "412", description = "The beer has changed since the version of the If-Match header", content = @Content),
 			@ApiResponse(responseCode = "400", description = "Invalid beer supplied", content = @Content) })
 	@PutMapping("/{id}")
-	public BeerDto modifyBeer(
+	public ResponseEntity<BeerDto> modifyBeer(
 			@Parameter(description = "id of beer to be modified") @Min(value = 1, message = "beer id value should be greater than zero") @PathVariable final Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
 			@Valid @RequestBody final BeerDto beerDto) {
 		beerDto.setId(id);
-		return modelMapper.mapFromEntity(beerService.updateBeer(modelMapper.mapFromDto(beerDto)));
+		beerDto.setVersion(entityTags.toVersion(ifMatch));
+		BeerDto modifiedBeer = modelMapper.mapFromEntity(beerService.updateBeer(modelMapper.mapFromDto(beerDto)));
+		return ResponseEntity.ok().eTag(entityTags.fromVersion(modifiedBeer.getVersion())).body(modifiedBeer);
+	}
+
+	@Operation(summary = "Modify some fields of a beer with a json merge patch, the null fields are removed")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The beer was modified", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = BeerDto.class)) }),
+			@ApiResponse(responseCode = "404", description = "Beer not found", content = @Content),
+			@ApiResponse(responseCode = "400", description = "Invalid patch supplied", content = @Content) })
+	@PatchMapping(value = "/{id}", consumes = { JsonMergePatch.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+	public BeerDto patchBeer(
+			@Parameter(description = "id of beer to be modified") @Min(value = 1, message = "beer id value should be greater than zero") @PathVariable final Long id,
+			@RequestBody final JsonNode patch) {
+		return beerService.patchBeer(id, patch);
 	}
 
 	@Operation(summary = "Delete a beer")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "The beer was removed", content = {
 					@Content(mediaType = "application/json", schema = @Schema(implementation = BeerDto.class)) }),
-			@ApiResponse(responseCode = "404", description = "Beer not found", content = @Content) })
+			@ApiResponse(responseCode = "404", description = "Beer not found", content = @Content),
+			@ApiResponse(responseCode = "412", description = "The beer has changed since the version of the If-Match header", content = @Content) })
 	@DeleteMapping("/{id}")
 	public void removeBeerById(
-			@Parameter(description = "id of beer to be removed") @Min(value = 1, message = "beer id value should be greater than zero") @PathVariable final Long id) {
-		beerService.deleteBeerById(id);
+			@Parameter(description = "id of beer to be removed") @Min(value = 1, message = "beer id value should be greater than zero") @PathVariable final Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+		beerService.deleteBeerById(id, entityTags.toVersion(ifMatch));
+	}
+
+	@Operation(summary = "Delete several beers in one transaction, every id gets its own status")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The found beers were removed, the status of every id is reported", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = BatchWriteResultDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "Too many or invalid ids supplied", content = @Content) })
+	@DeleteMapping("/batch")
+	public BatchWriteResultDto removeBeersByIds(
+			@Size(max = BeerBatchServiceImpl.MAX_ITEMS, message = "at most " + BeerBatchServiceImpl.MAX_ITEMS
+					+ " ids can be sent in a batch") @RequestBody final List<@NotNull(message = "beer id value should be provided") @Min(value = 1, message = "beer id value should be greater than zero") Long> ids) {
+		return beerBatchService.deleteBeersByIds(ids);
 	}
 
 }
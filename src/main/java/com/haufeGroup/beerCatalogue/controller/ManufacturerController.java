@@ -1,5 +1,9 @@
 package com.haufeGroup.beerCatalogue.controller;
 
+import java.io.IOException;
+import java.util.List;
+
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 
@@ -7,22 +11,43 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
 import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.CursorPageDto;
+import com.haufeGroup.beerCatalogue.dto.DeletionJobDto;
+import com.haufeGroup.beerCatalogue.dto.ImportResultDto;
 import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
-import com.haufeGroup.beerCatalogue.mapper.BeerMapper;
 import com.haufeGroup.beerCatalogue.mapper.ManufacturerMapper;
+import com.haufeGroup.beerCatalogue.service.IImportService;
+import com.haufeGroup.beerCatalogue.service.IManufacturerDeletionService;
 import com.haufeGroup.beerCatalogue.service.IManufacturerService;
+import com.haufeGroup.beerCatalogue.util.CollectionCaching;
+import com.haufeGroup.beerCatalogue.util.ContinuationTokenCodec;
+import com.haufeGroup.beerCatalogue.util.EntityTags;
+import com.haufeGroup.beerCatalogue.util.JsonMergePatch;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
+import com.haufeGroup.beerCatalogue.util.ModificationCounters;
 import com.haufeGroup.beerCatalogue.util.SortExtractor;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -41,47 +66,122 @@ public class ManufacturerController {
 	private IManufacturerService manufacturerService;
 
 	@Autowired
-	ManufacturerMapper manufacturerMapper;
+	private IImportService importService;
 
 	@Autowired
-	BeerMapper beerMapper;
+	private IManufacturerDeletionService manufacturerDeletionService;
+
+	@Autowired
+	ManufacturerMapper manufacturerMapper;
 
 	@Autowired
 	SortExtractor sortExtractor;
 
+	@Autowired
+	ContinuationTokenCodec continuationTokenCodec;
+
+	@Autowired
+	EntityTags entityTags;
+
+	@Autowired
+	ModificationCounters modificationCounters;
+
+	@Autowired
+	CollectionCaching collectionCaching;
+
 	@Operation(summary = "Get all manufacturers with sort pagination")
+	@ApiResponse(responseCode = "304", description = "The collection has not changed since the tag of the If-None-Match header", content = @Content)
 	@ApiResponse(responseCode = "400", description = "Invalid sort pagination criteria supplied", content = @Content)
 	@GetMapping("/")
-	public Page<ManufacturerDto> getAllManufacturesWithSortPagination(@RequestParam(defaultValue = "0") int page,
-			@RequestParam(defaultValue = "5") int size, @RequestParam(defaultValue = "id,desc") String[] sort) {
+	public ResponseEntity<Page<ManufacturerDto>> getAllManufacturesWithSortPagination(
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size,
+			@RequestParam(defaultValue = "id,desc") String[] sort, final WebRequest request) {
 		Pageable pagingSort = PageRequest.of(page, size, sortExtractor.extractSortCriteria(sort));
-		return manufacturerMapper
-				.mapFromEntityPage(manufacturerService.getAllManufacturesWithSortPagination(pagingSort), pagingSort);
+		return collectionCaching.respond(request, modificationCounters.manufacturersTag(),
+				() -> manufacturerService.getAllManufacturesWithSortPagination(pagingSort));
+	}
+
+	@Operation(summary = "Get all manufacturers with sort pagination without the total count, hasNext is computed fetching one more manufacturer")
+	@ApiResponse(responseCode = "304", description = "The collection has not changed since the tag of the If-None-Match header", content = @Content)
+	@ApiResponse(responseCode = "400", description = "Invalid sort pagination criteria supplied", content = @Content)
+	@GetMapping(value = "/", params = "withTotal=false")
+	public ResponseEntity<Slice<ManufacturerDto>> getAllManufacturesWithSortSlice(
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size,
+			@RequestParam(defaultValue = "id,desc") String[] sort, final WebRequest request) {
+		Pageable pagingSort = PageRequest.of(page, size, sortExtractor.extractSortCriteria(sort));
+		return collectionCaching.respond(request, modificationCounters.manufacturersTag(),
+				() -> manufacturerService.getAllManufacturesWithSortSlice(pagingSort));
+	}
+
+	@Operation(summary = "Get several manufacturers by their ids, in the requested order, the missing or removed ids are listed apart")
+	@ApiResponse(responseCode = "400", description = "Invalid or too many ids supplied", content = @Content)
+	@GetMapping(value = "/", params = { "ids", "!withTotal" })
+	public BatchResultDto<ManufacturerDto> getManufacturersByIds(@RequestParam final List<Long> ids) {
+		return manufacturerService.getManufacturersByIds(ids);
 	}
 
 	@Operation(summary = "Get a manufacturer by its id")
 	@ApiResponses(value = { @ApiResponse(responseCode = "200", description = "Found the manufacturer", content = {
 			@Content(mediaType = "application/json", schema = @Schema(implementation = ManufacturerDto.class)) }),
 			@ApiResponse(responseCode = "204", description = "Manufacturer not found", content = @Content),
+			@ApiResponse(responseCode = "304", description = "The manufacturer has not changed since the version of the If-None-Match header", content = @Content),
 			@ApiResponse(responseCode = "400", description = "Invalid id supplied", content = @Content) })
 	@GetMapping("/{id}")
-	public ManufacturerDto getManufacturerById(
+	public ResponseEntity<ManufacturerDto> getManufacturerById(
 			@Parameter(description = "id of manufacturer to be searched") @Min(value = 1, message = "id value should be greater than zero") @PathVariable Long id) {
-		return manufacturerMapper.mapFromEntity(manufacturerService.getManufacturerById(id));
+		ManufacturerDto manufacturer = manufacturerService.getManufacturerById(id);
+		return ResponseEntity.ok().eTag(entityTags.fromVersion(manufacturer.getVersion())).body(manufacturer);
 	}
 
 	@Operation(summary = "Get manufacturer beers by its id with sort pagination")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "204", description = "Manufacturer not found", content = @Content),
+			@ApiResponse(responseCode = "304", description = "The collection has not changed since the tag of the If-None-Match header", content = @Content),
 			@ApiResponse(responseCode = "400", description = "Invalid sort pagination criteria supplied", content = @Content) })
 	@GetMapping("/{id}/beers")
-	public Page<BeerDto> getManufacturerBeersWithSortPagination(
+	public ResponseEntity<?> getManufacturerBeersWithSortPagination(
 			@Parameter(description = "id of manufacturer to be searched") @Min(value = 1, message = "manufacturer id value should be greater than zero") @PathVariable(name = "id") Long manufacturerId,
 			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size,
-			@RequestParam(defaultValue = "id,desc") String[] sort) {
+			@RequestParam(defaultValue = "id,desc") String[] sort, final WebRequest request) {
 		Pageable pagingSort = PageRequest.of(page, size, sortExtractor.extractSortCriteria(sort));
-		return beerMapper.mapFromEntityPage(
-				manufacturerService.getManufacturerBeersWithSortPagination(manufacturerId, pagingSort), pagingSort);
+		return collectionCaching.respondEncoded(request, "manufacturers/" + manufacturerId + "/beers",
+				pagingSort, modificationCounters.manufacturerBeersTag(manufacturerId),
+				() -> manufacturerService.getManufacturerBeersWithSortPagination(manufacturerId, pagingSort));
+	}
+
+	@Operation(summary = "Get manufacturer beers by its id with sort pagination without the total count, hasNext is computed fetching one more beer")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "404", description = "Manufacturer not found", content = @Content),
+			@ApiResponse(responseCode = "304", description = "The collection has not changed since the tag of the If-None-Match header", content = @Content),
+			@ApiResponse(responseCode = "400", description = "Invalid sort pagination criteria supplied", content = @Content) })
+	@GetMapping(value = "/{id}/beers", params = { "withTotal=false", "!cursor" })
+	public ResponseEntity<Slice<BeerDto>> getManufacturerBeersWithSortSlice(
+			@Parameter(description = "id of manufacturer to be searched") @Min(value = 1, message = "manufacturer id value should be greater than zero") @PathVariable(name = "id") Long manufacturerId,
+			@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "5") int size,
+			@RequestParam(defaultValue = "id,desc") String[] sort, final WebRequest request) {
+		Pageable pagingSort = PageRequest.of(page, size, sortExtractor.extractSortCriteria(sort));
+		return collectionCaching.respond(request, modificationCounters.manufacturerBeersTag(manufacturerId),
+				() -> manufacturerService.getManufacturerBeersWithSortSlice(manufacturerId, pagingSort));
+	}
+
+	@Operation(summary = "Get manufacturer beers by its id with cursor pagination, an empty cursor returns the first page")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "404", description = "Manufacturer not found", content = @Content),
+			@ApiResponse(responseCode = "304", description = "The collection has not changed since the tag of the If-None-Match header", content = @Content),
+			@ApiResponse(responseCode = "400", description = "Invalid sort criteria or cursor supplied", content = @Content) })
+	@GetMapping(value = "/{id}/beers", params = "cursor")
+	public ResponseEntity<CursorPageDto<BeerDto>> getManufacturerBeersWithCursorPagination(
+			@Parameter(description = "id of manufacturer to be searched") @Min(value = 1, message = "manufacturer id value should be greater than zero") @PathVariable(name = "id") Long manufacturerId,
+			@RequestParam String cursor,
+			@Min(value = 1, message = "page size should be greater than zero") @RequestParam(defaultValue = "5") int size,
+			@RequestParam(defaultValue = "id,desc") String[] sort, final WebRequest request) {
+		Sort sortCriteria = sortExtractor.extractKeysetSortCriteria(sort);
+		KeysetCursor keysetCursor = continuationTokenCodec.decode(cursor, sortCriteria);
+		return collectionCaching.respond(request, modificationCounters.manufacturerBeersTag(manufacturerId), () -> {
+			Slice<BeerDto> beerSlice = manufacturerService.getManufacturerBeersAfterCursor(manufacturerId,
+					sortCriteria, keysetCursor, size);
+			return continuationTokenCodec.toCursorPage(beerSlice.getContent(), beerSlice.hasNext(), sortCriteria);
+		});
 	}
 
 	@Operation(summary = "Add new manufacturer")
@@ -94,28 +194,84 @@ public class ManufacturerController {
 				.mapFromEntity(manufacturerService.addNewManufacturer(manufacturerMapper.mapFromDto(newManufacturerDto)));
 	}
 
+	@Operation(summary = "Import many manufacturers from a json array or a csv with header")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "The valid manufacturers were imported, the rejected rows are reported", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = ImportResultDto.class)) }),
+			@ApiResponse(responseCode = "400", description = "The body could not be read", content = @Content) })
+	@PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, "text/csv" })
+	public ImportResultDto importManufacturers(final HttpServletRequest request) throws IOException {
+		return importService.importManufacturers(request.getInputStream(),
+				MediaType.parseMediaType(request.getContentType()));
+	}
+
 	@Operation(summary = "Modify a manufacturer")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "the manufacturer was modified", content = {
 					@Content(mediaType = "application/json", schema = @Schema(implementation = ManufacturerDto.class)) }),
 			@ApiResponse(responseCode = "404", description = "The manufacturer was not found", content = @Content),
+			@ApiResponse(responseCode = "412", description = "The manufacturer has changed since the version of the If-Match header", content = @Content),
 			@ApiResponse(responseCode = "400", description = "Invalid manufacturer supplied", content = @Content) })
 	@PutMapping("/{id}")
-	public ManufacturerDto modifyManufacturer(
+	public ResponseEntity<ManufacturerDto> modifyManufacturer(
 			@Parameter(description = "id of manufacturer to be modified") @Min(value = 1, message = "manufacturer id value should be greater than zero") @PathVariable Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch,
 			@Valid @RequestBody final ManufacturerDto updatedManufacturerDto) {
 		updatedManufacturerDto.setId(id);
-		return manufacturerMapper.mapFromEntity(
+		updatedManufacturerDto.setVersion(entityTags.toVersion(ifMatch));
+		ManufacturerDto modifiedManufacturer = manufacturerMapper.mapFromEntity(
 				manufacturerService.updateManufacturer(manufacturerMapper.mapFromDto(updatedManufacturerDto)));
+		return ResponseEntity.ok().eTag(entityTags.fromVersion(modifiedManufacturer.getVersion()))
+				.body(modifiedManufacturer);
+	}
+
+	@Operation(summary = "Modify some fields of a manufacturer with a json merge patch, the null fields are removed")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "the manufacturer was modified", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = ManufacturerDto.class)) }),
+			@ApiResponse(responseCode = "404", description = "The manufacturer was not found", content = @Content),
+			@ApiResponse(responseCode = "400", description = "Invalid patch supplied", content = @Content) })
+	@PatchMapping(value = "/{id}", consumes = { JsonMergePatch.MERGE_PATCH_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
+	public ManufacturerDto patchManufacturer(
+			@Parameter(description = "id of manufacturer to be modified") @Min(value = 1, message = "manufacturer id value should be greater than zero") @PathVariable Long id,
+			@RequestBody final JsonNode patch) {
+		return manufacturerService.patchManufacturer(id, patch);
 	}
 
 	@Operation(summary = "Delete a manufacturer")
 	@ApiResponses(value = {
 			@ApiResponse(responseCode = "200", description = "the manufacturer was removed", content = @Content),
-			@ApiResponse(responseCode = "404", description = "The manufacturer was not found", content = @Content) })
+			@ApiResponse(responseCode = "404", description = "The manufacturer was not found", content = @Content),
+			@ApiResponse(responseCode = "412", description = "The manufacturer has changed since the version of the If-Match header", content = @Content) })
 	@DeleteMapping("/{id}")
 	public void removeManufacturerById(
+			@Parameter(description = "id of manufacturer to be removed") @Min(value = 1, message = "manufacturer id value should be greater than zero") @PathVariable final Long id,
+			@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) final String ifMatch) {
+		manufacturerService.deleteManufacturerById(id, entityTags.toVersion(ifMatch));
+	}
+
+	@Operation(summary = "Delete a manufacturer in background, its beers are removed in chunks")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "202", description = "the manufacturer was removed and the removal of its beers started", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = DeletionJobDto.class)) }),
+			@ApiResponse(responseCode = "404", description = "The manufacturer was not found", content = @Content),
+			@ApiResponse(responseCode = "503", description = "Too many deletions are pending, retry after the seconds of the Retry-After header", content = @Content) })
+	@DeleteMapping(value = "/{id}", params = "async=true")
+	public ResponseEntity<DeletionJobDto> removeManufacturerByIdAsync(
 			@Parameter(description = "id of manufacturer to be removed") @Min(value = 1, message = "manufacturer id value should be greater than zero") @PathVariable final Long id) {
-		manufacturerService.deleteManufacturerById(id);
+		DeletionJobDto deletionJob = manufacturerDeletionService.startManufacturerDeletion(id);
+		return ResponseEntity.accepted().location(ServletUriComponentsBuilder.fromCurrentContextPath()
+				.path("/manufacturers/deletions/{jobId}").buildAndExpand(deletionJob.getId()).toUri()).body(deletionJob);
+	}
+
+	@Operation(summary = "Get the progress of a manufacturer deletion")
+	@ApiResponses(value = {
+			@ApiResponse(responseCode = "200", description = "the deletion job was found", content = {
+					@Content(mediaType = "application/json", schema = @Schema(implementation = DeletionJobDto.class)) }),
+			@ApiResponse(responseCode = "404", description = "The deletion job was not found or expired", content = @Content) })
+	@GetMapping("/deletions/{jobId}")
+	public DeletionJobDto getDeletionJob(
+			@Parameter(description = "id of the deletion job") @PathVariable final String jobId) {
+		return manufacturerDeletionService.getDeletionJob(jobId);
 	}
 }
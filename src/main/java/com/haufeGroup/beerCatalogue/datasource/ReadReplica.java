@@ -0,0 +1,13 @@
+package com.haufeGroup.beerCatalogue.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// a service method that only reads, so its queries can go to a replica of the database
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReadReplica {
+
+}
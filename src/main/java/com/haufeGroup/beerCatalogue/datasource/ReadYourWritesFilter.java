@@ -0,0 +1,73 @@
+package com.haufeGroup.beerCatalogue.datasource;
+
+import java.io.IOException;
+import java.util.Set;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+// a write gives the client a cookie with its time, so the reads of the client within the window go to the primary and
+// see the write even when the replicas lag behind. The cookie is set before the write, the response may be committed
+// by its body, and a write that fails only costs some reads on the primary. Without window only the write requests
+// are pinned to the primary
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+	public static final String LAST_WRITE_COOKIE = "beerCatalogue-last-write";
+
+	private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+	private final long windowMillis;
+
+	public ReadYourWritesFilter(final long windowMillis) {
+		this.windowMillis = windowMillis;
+	}
+
+	@Override
+	protected void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
+			final FilterChain filterChain) throws ServletException, IOException {
+		long now = System.currentTimeMillis();
+		if (WRITE_METHODS.contains(request.getMethod())) {
+			// the reads of a write request, like the checks of its versions, always see the primary
+			if (windowMillis > 0) {
+				response.addCookie(lastWriteCookie(request, now));
+			}
+		} else if (!isInWindow(WebUtils.getCookie(request, LAST_WRITE_COOKIE), now)) {
+			filterChain.doFilter(request, response);
+			return;
+		}
+		ReplicaRouting.pinToPrimary();
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			ReplicaRouting.unpin();
+		}
+	}
+
+	private Cookie lastWriteCookie(final HttpServletRequest request, final long now) {
+		Cookie lastWrite = new Cookie(LAST_WRITE_COOKIE, Long.toString(now));
+		lastWrite.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+		lastWrite.setMaxAge((int) ((windowMillis + 999) / 1000));
+		lastWrite.setHttpOnly(true);
+		return lastWrite;
+	}
+
+	// the time comes from the client, a time in the future must not pin it to the primary forever
+	private boolean isInWindow(final Cookie lastWrite, final long now) {
+		if (lastWrite == null) {
+			return false;
+		}
+		try {
+			long elapsedMillis = now - Long.parseLong(lastWrite.getValue());
+			return elapsedMillis >= 0 && elapsedMillis < windowMillis;
+		} catch (NumberFormatException nfe) {
+			return false;
+		}
+	}
+
+}
@@ -0,0 +1,61 @@
+package com.haufeGroup.beerCatalogue.datasource;
+
+import java.util.function.Supplier;
+
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// the routing of the connections of the current thread. A read only method chooses a replica with its first
+// connection and keeps it until it returns, so all its queries see the same replica. Everything else, and the whole
+// request of a client in its read-your-writes window, uses the primary
+public final class ReplicaRouting {
+
+	private static final Object NOT_CHOSEN = new Object();
+
+	private static final ThreadLocal<Object> REPLICA = new ThreadLocal<Object>();
+
+	private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<Boolean>();
+
+	private ReplicaRouting() {
+	}
+
+	// false when the thread already reads from a replica, or must read from the primary
+	public static boolean beginReplicaRead() {
+		if (REPLICA.get() != null || PRIMARY_PINNED.get() != null || isInWriteTransaction()) {
+			return false;
+		}
+		REPLICA.set(NOT_CHOSEN);
+		return true;
+	}
+
+	public static void endReplicaRead() {
+		REPLICA.remove();
+	}
+
+	public static void pinToPrimary() {
+		PRIMARY_PINNED.set(Boolean.TRUE);
+	}
+
+	public static void unpin() {
+		PRIMARY_PINNED.remove();
+	}
+
+	// null is the primary
+	static Object currentReplica(final Supplier<Object> nextReplica) {
+		Object replica = REPLICA.get();
+		if (replica == null || isInWriteTransaction()) {
+			return null;
+		}
+		if (replica == NOT_CHOSEN) {
+			replica = nextReplica.get();
+			REPLICA.set(replica);
+		}
+		return replica;
+	}
+
+	// the connection of a write transaction is taken by its first query, which could be the one of a read method
+	private static boolean isInWriteTransaction() {
+		return TransactionSynchronizationManager.isActualTransactionActive()
+				&& !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+	}
+
+}
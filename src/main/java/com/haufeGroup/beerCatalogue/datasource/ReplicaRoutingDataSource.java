@@ -0,0 +1,41 @@
+package com.haufeGroup.beerCatalogue.datasource;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+// the read only methods are balanced round robin across the replicas, the rest goes to the primary. The lookup is done
+// when the connection is taken, so it must be wrapped in a LazyConnectionDataSourceProxy: the transactions take their
+// connection at the begin, before the read only method is known
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	private final int replicas;
+
+	private final AtomicInteger next = new AtomicInteger();
+
+	public ReplicaRoutingDataSource(final DataSource primary, final List<DataSource> replicas) {
+		this.replicas = replicas.size();
+		Map<Object, Object> targets = new HashMap<Object, Object>();
+		for (int replica = 0; replica < replicas.size(); replica++) {
+			targets.put(replica, replicas.get(replica));
+		}
+		setTargetDataSources(targets);
+		setDefaultTargetDataSource(primary);
+		// an unknown key is a bug, never a reason to write to the primary
+		setLenientFallback(false);
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (replicas == 0) {
+			return null;
+		}
+		return ReplicaRouting.currentReplica(() -> Math.floorMod(next.getAndIncrement(), replicas));
+	}
+
+}
@@ -0,0 +1,22 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchItemResultDto {
+
+	private int index;
+	private Long id;
+	private int status;
+	private List<String> errors;
+
+}
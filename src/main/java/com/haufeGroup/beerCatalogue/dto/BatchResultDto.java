@@ -0,0 +1,18 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResultDto<T> {
+
+	private List<T> content;
+
+	private List<Long> notFound;
+
+}
@@ -0,0 +1,17 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+public class BatchWriteResultDto {
+
+	private long succeeded;
+	private long failed;
+	private List<BatchItemResultDto> items = new ArrayList<BatchItemResultDto>();
+
+}
@@ -3,8 +3,14 @@ package com.haufeGroup.beerCatalogue.dto;
 import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.NotNull;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+@NoArgsConstructor
+@AllArgsConstructor
 @Data
 public class BeerDto {
 
@@ -19,5 +25,13 @@ public class BeerDto {
 	private String description;
 	@NotNull(message = "manufacturer id should be provided")
 	private Long manufacturerId;
+	// sent as the etag header instead of in the body
+	@JsonIgnore
+	private Long version;
+
+	public BeerDto(final Long id, final String name, final String graduation, final String type,
+			final String description, final Long manufacturerId) {
+		this(id, name, graduation, type, description, manufacturerId, null);
+	}
 
 }
@@ -0,0 +1,30 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonInclude(Include.NON_NULL)
+public class BeerExportDto {
+
+	private Long id;
+	private String name;
+	private String graduation;
+	private String type;
+	private String description;
+	private Long manufacturerId;
+	private String manufacturerName;
+	private String manufacturerNationality;
+
+	public BeerExportDto(final Long id, final String name, final String graduation, final String type,
+			final String description, final Long manufacturerId) {
+		this(id, name, graduation, type, description, manufacturerId, null, null);
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+
+	private List<T> content;
+
+	private int size;
+
+	private String nextCursor;
+
+}
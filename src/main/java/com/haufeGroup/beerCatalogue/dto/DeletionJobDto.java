@@ -0,0 +1,26 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DeletionJobDto {
+
+	public enum Status {
+		PENDING, RUNNING, COMPLETED, FAILED
+	}
+
+	private String id;
+	private Long manufacturerId;
+	private Status status;
+	private long totalBeers;
+	private long deletedBeers;
+	private String error;
+
+}
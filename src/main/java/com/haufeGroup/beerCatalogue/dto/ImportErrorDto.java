@@ -0,0 +1,17 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ImportErrorDto {
+
+	private long row;
+	private List<String> errors;
+
+}
@@ -0,0 +1,17 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+public class ImportResultDto {
+
+	private long imported;
+	private long rejected;
+	private List<ImportErrorDto> errors = new ArrayList<ImportErrorDto>();
+
+}
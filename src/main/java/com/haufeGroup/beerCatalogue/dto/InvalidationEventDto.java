@@ -0,0 +1,29 @@
+package com.haufeGroup.beerCatalogue.dto;
+
+import java.util.Set;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class InvalidationEventDto {
+
+	public enum Type {
+		BEER, MANUFACTURER
+	}
+
+	private String origin;
+	private Type type;
+	// null when every entity of the type may have changed
+	private Set<Long> ids;
+	// the manufacturers of the changed beers, null when they are not known
+	private Set<Long> manufacturerIds;
+	// the collections whose tags the event moves
+	private Set<String> collections;
+	// the position of the event among the events of every instance, set by the transport
+	private Long sequence;
+
+}
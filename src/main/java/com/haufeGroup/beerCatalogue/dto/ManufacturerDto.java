@@ -2,8 +2,14 @@ package com.haufeGroup.beerCatalogue.dto;
 
 import javax.validation.constraints.NotEmpty;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
+@NoArgsConstructor
+@AllArgsConstructor
 @Data
 public class ManufacturerDto {
 
@@ -12,5 +18,11 @@ public class ManufacturerDto {
 	private String name;
 	@NotEmpty(message = "manufacturer nationality should be provided")
 	private String nationality;
+	@JsonIgnore
+	private Long version;
+
+	public ManufacturerDto(final Long id, final String name, final String nationality) {
+		this(id, name, nationality, null);
+	}
 
 }
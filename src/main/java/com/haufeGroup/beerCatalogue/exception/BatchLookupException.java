@@ -0,0 +1,15 @@
+package com.haufeGroup.beerCatalogue.exception;
+
+public class BatchLookupException extends BeerCatalogueException {
+
+	private static final long serialVersionUID = 1L;
+
+	public BatchLookupException() {
+		super();
+	}
+
+	public BatchLookupException(String message) {
+		super(message);
+	}
+
+}
@@ -4,12 +4,24 @@ public class BeerCatalogueException extends RuntimeException {
 
 	private static final long serialVersionUID = 1L;
 
+	private final ErrorType errorType;
+
 	public BeerCatalogueException() {
 		super();
+		this.errorType = ErrorType.INVALID_REQUEST;
 	}
 
 	public BeerCatalogueException(String message) {
+		this(message, ErrorType.INVALID_REQUEST);
+	}
+
+	public BeerCatalogueException(String message, ErrorType errorType) {
 		super(message);
+		this.errorType = errorType;
+	}
+
+	public ErrorType getErrorType() {
+		return errorType;
 	}
 
 }
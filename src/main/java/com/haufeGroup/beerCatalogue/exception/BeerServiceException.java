@@ -11,6 +11,10 @@ public class BeerServiceException extends BeerCatalogueException {
 	public BeerServiceException(String message) {
 		super(message);
 	}
+
+	public BeerServiceException(String message, ErrorType errorType) {
+		super(message, errorType);
+	}
 	
 	
 
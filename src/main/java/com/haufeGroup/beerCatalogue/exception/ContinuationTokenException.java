@@ -0,0 +1,19 @@
+package com.haufeGroup.beerCatalogue.exception;
+
+public class ContinuationTokenException extends BeerCatalogueException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ContinuationTokenException() {
+		super();
+	}
+
+	public ContinuationTokenException(String message) {
+		super(message);
+	}
+
+	public ContinuationTokenException(String message, ErrorType errorType) {
+		super(message, errorType);
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.haufeGroup.beerCatalogue.exception;
+
+public class EntityTagException extends BeerCatalogueException {
+
+	private static final long serialVersionUID = 1L;
+
+	public EntityTagException() {
+		super(null, ErrorType.PRECONDITION_FAILED);
+	}
+
+	public EntityTagException(String message) {
+		super(message, ErrorType.PRECONDITION_FAILED);
+	}
+
+}
@@ -0,0 +1,35 @@
+package com.haufeGroup.beerCatalogue.exception;
+
+import org.springframework.http.HttpStatus;
+
+// what went wrong with a request, the exception handler answers with its status and the metrics tag its outcome
+public enum ErrorType {
+
+	INVALID_REQUEST(HttpStatus.BAD_REQUEST, "invalid-request"),
+
+	INVALID_SORT(HttpStatus.BAD_REQUEST, "invalid-sort"),
+
+	NOT_FOUND(HttpStatus.NOT_FOUND, "not-found"),
+
+	PRECONDITION_FAILED(HttpStatus.PRECONDITION_FAILED, "precondition-failed"),
+
+	UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "unavailable");
+
+	private final HttpStatus status;
+
+	private final String outcome;
+
+	private ErrorType(final HttpStatus status, final String outcome) {
+		this.status = status;
+		this.outcome = outcome;
+	}
+
+	public HttpStatus getStatus() {
+		return status;
+	}
+
+	public String getOutcome() {
+		return outcome;
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.haufeGroup.beerCatalogue.exception;
+
+public class ExportFormatException extends BeerCatalogueException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ExportFormatException() {
+		super();
+	}
+
+	public ExportFormatException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,15 @@
+package com.haufeGroup.beerCatalogue.exception;
+
+public class ImportException extends BeerCatalogueException {
+
+	private static final long serialVersionUID = 1L;
+
+	public ImportException() {
+		super();
+	}
+
+	public ImportException(String message) {
+		super(message);
+	}
+
+}
@@ -11,4 +11,8 @@ public class ManufacturerServiceException extends BeerCatalogueException {
 		super(message);
 	}
 
+	public ManufacturerServiceException(String message, ErrorType errorType) {
+		super(message, errorType);
+	}
+
 }
@@ -0,0 +1,15 @@
+package com.haufeGroup.beerCatalogue.exception;
+
+public class MergePatchException extends BeerCatalogueException {
+
+	private static final long serialVersionUID = 1L;
+
+	public MergePatchException() {
+		super();
+	}
+
+	public MergePatchException(String message) {
+		super(message);
+	}
+
+}
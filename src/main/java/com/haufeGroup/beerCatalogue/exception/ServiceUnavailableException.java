@@ -0,0 +1,18 @@
+package com.haufeGroup.beerCatalogue.exception;
+
+public class ServiceUnavailableException extends BeerCatalogueException {
+
+	private static final long serialVersionUID = 1L;
+
+	private final long retryAfterSeconds;
+
+	public ServiceUnavailableException(String message, long retryAfterSeconds) {
+		super(message, ErrorType.UNAVAILABLE);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public long getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+
+}
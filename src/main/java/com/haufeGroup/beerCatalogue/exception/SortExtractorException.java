@@ -5,11 +5,11 @@ public class SortExtractorException extends BeerCatalogueException {
 	private static final long serialVersionUID = 1L;
 
 	public SortExtractorException() {
-		super();
+		super(null, ErrorType.INVALID_SORT);
 	}
 
 	public SortExtractorException(String message) {
-		super(message);
+		super(message, ErrorType.INVALID_SORT);
 	}
 
 }
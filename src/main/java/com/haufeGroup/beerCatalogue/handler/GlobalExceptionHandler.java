@@ -20,9 +20,7 @@ import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import com.haufeGroup.beerCatalogue.exception.BeerCatalogueException;
-import com.haufeGroup.beerCatalogue.exception.BeerServiceException;
-import com.haufeGroup.beerCatalogue.exception.ManufacturerServiceException;
-import com.haufeGroup.beerCatalogue.service.BeerServiceImpl;
+import com.haufeGroup.beerCatalogue.exception.ServiceUnavailableException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
@@ -52,32 +50,23 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 		return new ResponseEntity<>(body, new HttpHeaders(), HttpStatus.BAD_REQUEST);
 	}
 
-	@ExceptionHandler({ BeerServiceException.class })
-	public ResponseEntity<Object> handleBeerServiceException(BeerCatalogueException ex) {
-		Map<String, Object> body = new LinkedHashMap<>();
-		HttpStatus httpErrorStatus = BeerServiceImpl.BEER_NOT_FOUND_ERROR_MEESSAGE.equals(ex.getMessage())
-				? HttpStatus.NOT_FOUND
-				: HttpStatus.BAD_REQUEST;
-		addErrorToBody(body, httpErrorStatus, ex.getMessage());
-		return new ResponseEntity<>(body, new HttpHeaders(), httpErrorStatus);
-	}
-
-	@ExceptionHandler({ ManufacturerServiceException.class })
-	public ResponseEntity<Object> handleManufacturerServiceException(BeerCatalogueException ex) {
-		Map<String, Object> body = new LinkedHashMap<>();
-		HttpStatus httpErrorStatus = BeerServiceImpl.MANUFACTURER_NOT_FOUND_ERROR_MESSAGE.equals(ex.getMessage())
-				? HttpStatus.NOT_FOUND
-				: HttpStatus.BAD_REQUEST;
-		addErrorToBody(body, httpErrorStatus, ex.getMessage());
-		return new ResponseEntity<>(body, new HttpHeaders(), httpErrorStatus);
+	@ExceptionHandler({ ServiceUnavailableException.class })
+	public ResponseEntity<Object> handleServiceUnavailableException(ServiceUnavailableException ex) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, Long.toString(ex.getRetryAfterSeconds()));
+		return createErrorResponse(ex, headers);
 	}
 
 	@ExceptionHandler({ BeerCatalogueException.class })
 	public ResponseEntity<Object> handleBeerCatalogueException(BeerCatalogueException ex) {
+		return createErrorResponse(ex, new HttpHeaders());
+	}
+
+	private ResponseEntity<Object> createErrorResponse(final BeerCatalogueException ex, final HttpHeaders headers) {
 		Map<String, Object> body = new LinkedHashMap<>();
-		HttpStatus httpErrorStatus = HttpStatus.BAD_REQUEST;
+		HttpStatus httpErrorStatus = ex.getErrorType().getStatus();
 		addErrorToBody(body, httpErrorStatus, ex.getMessage());
-		return new ResponseEntity<>(body, new HttpHeaders(), httpErrorStatus);
+		return new ResponseEntity<>(body, headers, httpErrorStatus);
 	}
 
 	private void addErrorToBody(final Map<String, Object> body, final HttpStatus httpErrorStatus,
@@ -0,0 +1,178 @@
+package com.haufeGroup.beerCatalogue.invalidation;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.haufeGroup.beerCatalogue.config.CacheConfig;
+import com.haufeGroup.beerCatalogue.dto.InvalidationEventDto;
+import com.haufeGroup.beerCatalogue.dto.InvalidationEventDto.Type;
+import com.haufeGroup.beerCatalogue.model.Beer;
+import com.haufeGroup.beerCatalogue.model.Manufacturer;
+import com.haufeGroup.beerCatalogue.util.ModificationCounters;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// the writes are published to the other instances after the commit, and every instance moves the tags of the changed
+// collections to the sequence of the event. The other instances evict the changed entities from their caches and from
+// the second-level cache and forget their cached queries, so the tags and the encoded pages of every instance follow.
+// With replicas a read between the commit and its replication caches the old data again, so every instance
+// invalidates the changes and moves the tags once more when the replica lag has passed
+@Component
+public class CacheInvalidationBus {
+
+	public static final String PUBLISH_FAILURES_COUNTER = "beerCatalogue.invalidation.publish.failures";
+
+	// the events of this instance come back from the transport and are skipped
+	private final String origin = UUID.randomUUID().toString();
+
+	@Autowired
+	ICacheInvalidationTransport cacheInvalidationTransport;
+
+	@Autowired
+	ModificationCounters modificationCounters;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	MeterRegistry meterRegistry;
+
+	@Autowired
+	TaskSchedulerBuilder taskSchedulerBuilder;
+
+	@Value("${beerCatalogue.datasource.replica-lag:0}")
+	private long replicaLagMillis;
+
+	private ThreadPoolTaskScheduler replicaLagScheduler;
+
+	@PostConstruct
+	public void subscribe() {
+		if (replicaLagMillis > 0) {
+			replicaLagScheduler = taskSchedulerBuilder.poolSize(1).threadNamePrefix("replica-lag-invalidation-").build();
+			replicaLagScheduler.initialize();
+		}
+		cacheInvalidationTransport.subscribe(this::receive);
+		// after the subscription, so no event is missed in between
+		modificationCounters.start(cacheInvalidationTransport.getEpoch(),
+				cacheInvalidationTransport.findCollectionSequences());
+	}
+
+	@PreDestroy
+	public void stopScheduler() {
+		if (replicaLagScheduler != null) {
+			replicaLagScheduler.shutdown();
+		}
+	}
+
+	// null beer ids when any beer may have changed, null manufacturer ids when the manufacturers are not known
+	public void beersChanged(final Collection<Long> beerIds, final Collection<Long> manufacturerIds) {
+		if (beerIds != null && beerIds.isEmpty() && manufacturerIds != null && manufacturerIds.isEmpty()) {
+			return;
+		}
+		publishAfterCommit(new InvalidationEventDto(origin, Type.BEER, copy(beerIds), copy(manufacturerIds),
+				ModificationCounters.beersCollections(manufacturerIds), null));
+	}
+
+	public void manufacturersChanged(final Collection<Long> manufacturerIds) {
+		publishAfterCommit(new InvalidationEventDto(origin, Type.MANUFACTURER, copy(manufacturerIds), null,
+				ModificationCounters.manufacturersCollections(), null));
+	}
+
+	private void publishAfterCommit(final InvalidationEventDto event) {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			publish(event);
+			return;
+		}
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				publish(event);
+			}
+		});
+	}
+
+	private void publish(final InvalidationEventDto event) {
+		try {
+			event.setSequence(cacheInvalidationTransport.publish(event));
+			modificationCounters.moved(event.getCollections(), event.getSequence());
+		} catch (RuntimeException re) {
+			// the write is committed already, the other instances catch up when their entries expire
+			meterRegistry.counter(PUBLISH_FAILURES_COUNTER).increment();
+			modificationCounters.movedUnpublished(event.getCollections());
+		}
+		invalidateAfterReplicaLag(event);
+	}
+
+	private void receive(final InvalidationEventDto event) {
+		if (origin.equals(event.getOrigin())) {
+			return;
+		}
+		invalidate(event);
+		modificationCounters.moved(event.getCollections(), event.getSequence());
+		invalidateAfterReplicaLag(event);
+	}
+
+	private void invalidateAfterReplicaLag(final InvalidationEventDto event) {
+		if (replicaLagScheduler != null) {
+			replicaLagScheduler.schedule(() -> {
+				invalidate(event);
+				if (event.getSequence() == null) {
+					modificationCounters.movedUnpublished(event.getCollections());
+				} else {
+					modificationCounters.replicated(event.getCollections(), event.getSequence());
+				}
+			}, Instant.now().plusMillis(replicaLagMillis));
+		}
+	}
+
+	private void invalidate(final InvalidationEventDto event) {
+		org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		if (event.getType() == Type.BEER) {
+			evict(CacheConfig.BEER_CACHE, Beer.class, event.getIds(), secondLevelCache);
+		} else {
+			evict(CacheConfig.MANUFACTURER_CACHE, Manufacturer.class, event.getIds(), secondLevelCache);
+		}
+		// the update timestamps of the query cache are local, they do not know about the writes of the others
+		secondLevelCache.evictQueryRegions();
+	}
+
+	private void evict(final String cacheName, final Class<?> entity, final Set<Long> ids,
+			final org.hibernate.Cache secondLevelCache) {
+		Cache cache = cacheManager.getCache(cacheName);
+		if (ids == null) {
+			cache.clear();
+			secondLevelCache.evictEntityData(entity);
+			return;
+		}
+		for (Long id : ids) {
+			cache.evict(id);
+			secondLevelCache.evictEntityData(entity, id);
+		}
+	}
+
+	private Set<Long> copy(final Collection<Long> ids) {
+		return ids == null ? null : new HashSet<Long>(ids);
+	}
+
+}
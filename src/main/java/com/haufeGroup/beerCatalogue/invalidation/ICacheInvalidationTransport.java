@@ -0,0 +1,23 @@
+package com.haufeGroup.beerCatalogue.invalidation;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.haufeGroup.beerCatalogue.dto.InvalidationEventDto;
+
+// carries the invalidation events between the instances: every subscriber of every instance receives every event,
+// the ones of its own instance included, outside of any transaction. The events get a sequence shared by the
+// instances, and the transport keeps the sequence of the last event of every collection for the instances that start
+public interface ICacheInvalidationTransport {
+
+	// the sequence of the event
+	public long publish(final InvalidationEventDto event);
+
+	public void subscribe(final Consumer<InvalidationEventDto> listener);
+
+	public Map<String, Long> findCollectionSequences();
+
+	// the sequences start again in a new epoch
+	public String getEpoch();
+
+}
@@ -0,0 +1,200 @@
+package com.haufeGroup.beerCatalogue.invalidation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.dto.InvalidationEventDto;
+import com.haufeGroup.beerCatalogue.model.CacheInvalidation;
+import com.haufeGroup.beerCatalogue.model.CollectionSequence;
+import com.haufeGroup.beerCatalogue.repository.CacheInvalidationRepository;
+import com.haufeGroup.beerCatalogue.repository.CollectionSequenceRepository;
+
+// the events are rows of the database shared by the instances, every instance polls the rows published since its
+// last poll. An insert may commit after a later one, so the polls read again a lookback window and skip the rows
+// already delivered. The id of an event is its sequence, and the sequences of the collections are kept with it in the
+// same transaction, so they outlive the retention of the events
+@Component
+@ConditionalOnProperty(name = "beerCatalogue.invalidation.transport", havingValue = "jdbc")
+public class JdbcCacheInvalidationTransport implements ICacheInvalidationTransport {
+
+	// not a collection, the time the first instance started on the database
+	private static final String EPOCH = "epoch";
+
+	@Value("${beerCatalogue.invalidation.jdbc.poll-interval:200}")
+	private long pollIntervalMillis;
+
+	@Value("${beerCatalogue.invalidation.jdbc.lookback:5000}")
+	private long lookbackMillis;
+
+	@Value("${beerCatalogue.invalidation.jdbc.retention:60000}")
+	private long retentionMillis;
+
+	@Autowired
+	CacheInvalidationRepository cacheInvalidationRepository;
+
+	@Autowired
+	CollectionSequenceRepository collectionSequenceRepository;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	TaskSchedulerBuilder taskSchedulerBuilder;
+
+	private final Set<Consumer<InvalidationEventDto>> listeners = ConcurrentHashMap.newKeySet();
+
+	// only used by the polling thread
+	private final Map<Long, Instant> deliveredIds = new HashMap<Long, Instant>();
+
+	private Instant lastPublishedAt;
+
+	private String epoch;
+
+	private TransactionTemplate transactionTemplate;
+
+	private ThreadPoolTaskScheduler scheduler;
+
+	@PostConstruct
+	public void startPolling() {
+		// the events are published after the commit of the write, so they need a transaction of their own
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		Instant lastPublishedAtOnStart = transactionTemplate
+				.execute(status -> cacheInvalidationRepository.findLastPublishedAt());
+		lastPublishedAt = lastPublishedAtOnStart == null ? Instant.EPOCH : lastPublishedAtOnStart;
+		epoch = Long.toString(findEpoch(), Character.MAX_RADIX);
+		// the caches of a new instance are empty, the events published before are only marked as delivered
+		poll(false);
+		scheduler = taskSchedulerBuilder.poolSize(1).threadNamePrefix("cache-invalidation-poll-").build();
+		scheduler.initialize();
+		scheduler.scheduleWithFixedDelay(() -> poll(true), Duration.ofMillis(pollIntervalMillis));
+	}
+
+	@PreDestroy
+	public void stopPolling() {
+		scheduler.shutdown();
+	}
+
+	@Override
+	public long publish(final InvalidationEventDto event) {
+		CacheInvalidation cacheInvalidation = new CacheInvalidation();
+		try {
+			cacheInvalidation.setPayload(objectMapper.writeValueAsString(event));
+		} catch (JsonProcessingException jpe) {
+			throw new UncheckedIOException(jpe);
+		}
+		try {
+			return transactionTemplate.execute(status -> save(cacheInvalidation, event.getCollections()));
+		} catch (DataIntegrityViolationException dive) {
+			// another instance inserted the sequence of a new collection at the same time, it exists now
+			cacheInvalidation.setId(null);
+			return transactionTemplate.execute(status -> save(cacheInvalidation, event.getCollections()));
+		}
+	}
+
+	@Override
+	public void subscribe(final Consumer<InvalidationEventDto> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public Map<String, Long> findCollectionSequences() {
+		Map<String, Long> collectionSequences = new HashMap<String, Long>();
+		transactionTemplate.execute(status -> collectionSequenceRepository.findAll()).forEach(
+				collectionSequence -> collectionSequences.put(collectionSequence.getName(), collectionSequence.getSequence()));
+		collectionSequences.remove(EPOCH);
+		return collectionSequences;
+	}
+
+	@Override
+	public String getEpoch() {
+		return epoch;
+	}
+
+	private long save(final CacheInvalidation cacheInvalidation, final Set<String> collections) {
+		long sequence = cacheInvalidationRepository.save(cacheInvalidation).getId();
+		if (!collections.isEmpty()) {
+			collectionSequenceRepository.moveTo(collections, sequence);
+			Set<String> existingCollections = collectionSequenceRepository.findExistingNames(collections);
+			collectionSequenceRepository.saveAll(collections.stream()
+					.filter(collection -> !existingCollections.contains(collection))
+					.map(collection -> new CollectionSequence(collection, sequence)).collect(Collectors.toList()));
+		}
+		return sequence;
+	}
+
+	// the sequences of the ids start again with a new database, so does the epoch
+	private long findEpoch() {
+		try {
+			return transactionTemplate.execute(status -> collectionSequenceRepository.findById(EPOCH)
+					.orElseGet(() -> collectionSequenceRepository
+							.saveAndFlush(new CollectionSequence(EPOCH, System.currentTimeMillis()))))
+					.getSequence();
+		} catch (DataIntegrityViolationException dive) {
+			// another instance started at the same time
+			return transactionTemplate.execute(status -> collectionSequenceRepository.findById(EPOCH)).get()
+					.getSequence();
+		}
+	}
+
+	private void poll(final boolean deliver) {
+		Instant windowStart = lastPublishedAt.minusMillis(lookbackMillis);
+		List<CacheInvalidation> cacheInvalidations = transactionTemplate
+				.execute(status -> cacheInvalidationRepository.findByPublishedAtGreaterThanEqualOrderById(windowStart));
+		for (CacheInvalidation cacheInvalidation : cacheInvalidations) {
+			if (deliveredIds.putIfAbsent(cacheInvalidation.getId(), cacheInvalidation.getPublishedAt()) == null
+					&& deliver) {
+				InvalidationEventDto event = read(cacheInvalidation.getPayload());
+				event.setSequence(cacheInvalidation.getId());
+				listeners.forEach(listener -> listener.accept(event));
+			}
+			if (cacheInvalidation.getPublishedAt().isAfter(lastPublishedAt)) {
+				lastPublishedAt = cacheInvalidation.getPublishedAt();
+			}
+		}
+		Instant newWindowStart = lastPublishedAt.minusMillis(lookbackMillis);
+		deliveredIds.values().removeIf(publishedAt -> publishedAt.isBefore(newWindowStart));
+		if (!cacheInvalidations.isEmpty()) {
+			// any instance may remove the rows every instance has polled long ago
+			transactionTemplate.executeWithoutResult(status -> cacheInvalidationRepository
+					.deletePublishedBefore(lastPublishedAt.minusMillis(retentionMillis)));
+		}
+	}
+
+	private InvalidationEventDto read(final String payload) {
+		try {
+			return objectMapper.readValue(payload, InvalidationEventDto.class);
+		} catch (IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.haufeGroup.beerCatalogue.invalidation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import com.haufeGroup.beerCatalogue.dto.InvalidationEventDto;
+
+// the instances of one jvm configured with the same channel, the application contexts of a test for example, receive
+// the events of each other. By default every instance has a channel of its own and only receives its own events
+@Component
+@ConditionalOnProperty(name = "beerCatalogue.invalidation.transport", havingValue = "loopback", matchIfMissing = true)
+public class LoopbackCacheInvalidationTransport implements ICacheInvalidationTransport {
+
+	private static final Map<String, Channel> CHANNELS = new ConcurrentHashMap<String, Channel>();
+
+	@Value("${beerCatalogue.invalidation.loopback.channel:${random.uuid}}")
+	private String channel;
+
+	@Autowired
+	TaskExecutorBuilder taskExecutorBuilder;
+
+	private final Set<Consumer<InvalidationEventDto>> listeners = ConcurrentHashMap.newKeySet();
+
+	private ThreadPoolTaskExecutor executor;
+
+	private Channel joinedChannel;
+
+	@PostConstruct
+	public void join() {
+		// one thread keeps the order of the events, and the publisher never runs the listeners of the others
+		executor = taskExecutorBuilder.corePoolSize(1).maxPoolSize(1).threadNamePrefix("cache-invalidation-").build();
+		executor.initialize();
+		joinedChannel = CHANNELS.computeIfAbsent(channel, name -> new Channel());
+		joinedChannel.transports.add(this);
+	}
+
+	@PreDestroy
+	public void leave() {
+		joinedChannel.transports.remove(this);
+		executor.shutdown();
+	}
+
+	@Override
+	public long publish(final InvalidationEventDto event) {
+		return joinedChannel.publish(event);
+	}
+
+	@Override
+	public void subscribe(final Consumer<InvalidationEventDto> listener) {
+		listeners.add(listener);
+	}
+
+	@Override
+	public Map<String, Long> findCollectionSequences() {
+		return joinedChannel.findCollectionSequences();
+	}
+
+	@Override
+	public String getEpoch() {
+		return joinedChannel.epoch;
+	}
+
+	private void deliver(final InvalidationEventDto event) {
+		executor.execute(() -> listeners.forEach(listener -> listener.accept(event)));
+	}
+
+	private static class Channel {
+
+		// the sequences live as long as the jvm
+		private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+
+		private final Set<LoopbackCacheInvalidationTransport> transports = ConcurrentHashMap.newKeySet();
+
+		private final Map<String, Long> collectionSequences = new HashMap<String, Long>();
+
+		private long sequence;
+
+		// one event at a time, so every instance receives the events in the order of their sequences
+		private synchronized long publish(final InvalidationEventDto event) {
+			sequence++;
+			event.setSequence(sequence);
+			event.getCollections().forEach(collection -> collectionSequences.put(collection, sequence));
+			transports.forEach(transport -> transport.deliver(event));
+			return sequence;
+		}
+
+		private synchronized Map<String, Long> findCollectionSequences() {
+			return new HashMap<String, Long>(collectionSequences);
+		}
+
+	}
+
+}
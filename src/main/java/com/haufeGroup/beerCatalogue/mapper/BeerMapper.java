@@ -1,14 +1,13 @@
 package com.haufeGroup.beerCatalogue.mapper;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.modelmapper.Converter;
-import org.modelmapper.ModelMapper;
-import org.modelmapper.TypeMap;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Component;
 
 import com.haufeGroup.beerCatalogue.dto.BeerDto;
@@ -18,22 +17,63 @@ import com.haufeGroup.beerCatalogue.model.Manufacturer;
 @Component
 public class BeerMapper {
 
-	private ModelMapper modelMapper;
-
 	public Beer mapFromDto(final BeerDto beerDto) {
-		return getModelMapper().map(beerDto, Beer.class);
+		Beer entity = new Beer();
+		entity.setId(beerDto.getId());
+		entity.setName(beerDto.getName());
+		entity.setDescription(beerDto.getDescription());
+		entity.setGraduation(beerDto.getGraduation());
+		entity.setType(beerDto.getType());
+		entity.setVersion(beerDto.getVersion());
+		mapManufacturerFromDto(beerDto, entity);
+		return entity;
 	}
 
 	public BeerDto mapFromEntity(final Beer entity) {
-		return getModelMapper().map(entity, BeerDto.class);
+		BeerDto beerDto = new BeerDto();
+		beerDto.setId(entity.getId());
+		beerDto.setName(entity.getName());
+		beerDto.setDescription(entity.getDescription());
+		beerDto.setGraduation(entity.getGraduation());
+		beerDto.setType(entity.getType());
+		// the id of a lazy manufacturer proxy is read without initializing it
+		beerDto.setManufacturerId(entity.getManufacturer().getId());
+		beerDto.setVersion(entity.getVersion());
+		return beerDto;
 	}
 
 	public void mergeEntity(final Beer sourceEntity, final Beer targetEntity) {
-		getModelMapper().map(sourceEntity, targetEntity);
+		// null fields of the source are skipped
+		if (sourceEntity.getId() != null) {
+			targetEntity.setId(sourceEntity.getId());
+		}
+		if (sourceEntity.getName() != null) {
+			targetEntity.setName(sourceEntity.getName());
+		}
+		if (sourceEntity.getDescription() != null) {
+			targetEntity.setDescription(sourceEntity.getDescription());
+		}
+		if (sourceEntity.getGraduation() != null) {
+			targetEntity.setGraduation(sourceEntity.getGraduation());
+		}
+		if (sourceEntity.getType() != null) {
+			targetEntity.setType(sourceEntity.getType());
+		}
+		if (sourceEntity.getDeleted() != null) {
+			targetEntity.setDeleted(sourceEntity.getDeleted());
+		}
+		// the manufacturer of an existing beer can not be modified
+		if (targetEntity.getManufacturer() == null) {
+			targetEntity.setManufacturer(sourceEntity.getManufacturer());
+		}
 	}
 
 	public List<BeerDto> mapFromEntityList(final List<Beer> entityList) {
-		return entityList.stream().map(entity -> mapFromEntity(entity)).collect(Collectors.toList());
+		List<BeerDto> beerDtoList = new ArrayList<BeerDto>(entityList.size());
+		for (Beer entity : entityList) {
+			beerDtoList.add(mapFromEntity(entity));
+		}
+		return beerDtoList;
 	}
 
 	public Page<BeerDto> mapFromEntityPage(final Page<Beer> entityPage, final Pageable sortPageable) {
@@ -41,45 +81,8 @@ public class BeerMapper {
 				entityPage.getTotalElements());
 	}
 
-	private ModelMapper getModelMapper() {
-		if (modelMapper == null) {
-			modelMapper = new ModelMapper();
-			this.modelMapper.getConfiguration().setSkipNullEnabled(true);
-			this.modelMapper.getConfiguration().setImplicitMappingEnabled(true);
-			addConverterFromDtoToEntity();
-			addConverterFromEntityToDto();
-		}
-		return modelMapper;
-	}
-
-	private void addConverterFromEntityToDto() {
-		TypeMap<Beer, BeerDto> propertyMapper = this.modelMapper.createTypeMap(Beer.class, BeerDto.class);
-		Converter<Beer, BeerDto> beerToBeerDto = c -> {
-			BeerDto beerDto = new BeerDto();
-			beerDto.setId(c.getSource().getId());
-			beerDto.setName(c.getSource().getName());
-			beerDto.setDescription(c.getSource().getDescription());
-			beerDto.setGraduation(c.getSource().getGraduation());
-			beerDto.setType(c.getSource().getType());
-			beerDto.setManufacturerId(c.getSource().getManufacturer().getId());
-			return beerDto;
-		};
-		propertyMapper.setConverter(beerToBeerDto);
-	}
-
-	private void addConverterFromDtoToEntity() {
-		TypeMap<BeerDto, Beer> propertyMapper = this.modelMapper.createTypeMap(BeerDto.class, Beer.class);
-		Converter<BeerDto, Beer> beerDtoToBeer = src -> {
-			Beer entity = new Beer();
-			entity.setId(src.getSource().getId());
-			entity.setName(src.getSource().getName());
-			entity.setDescription(src.getSource().getDescription());
-			entity.setGraduation(src.getSource().getGraduation());
-			entity.setType(src.getSource().getType());
-			mapManufacturerFromDto(src.getSource(), entity);
-			return entity;
-		};
-		propertyMapper.setConverter(beerDtoToBeer);
+	public Slice<BeerDto> mapFromEntitySlice(final Slice<Beer> entitySlice, final Pageable sortPageable) {
+		return new SliceImpl<BeerDto>(mapFromEntityList(entitySlice.getContent()), sortPageable, entitySlice.hasNext());
 	}
 
 	private void mapManufacturerFromDto(final BeerDto source, final Beer entity) {
@@ -1,12 +1,13 @@
 package com.haufeGroup.beerCatalogue.mapper;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
-import org.modelmapper.ModelMapper;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.stereotype.Component;
 
 import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
@@ -15,22 +16,46 @@ import com.haufeGroup.beerCatalogue.model.Manufacturer;
 @Component
 public class ManufacturerMapper {
 
-	private ModelMapper modelMapper;
-
-	public Manufacturer mapFromDto(final ManufacturerDto ManufacturerDto) {
-		return getModelMapper().map(ManufacturerDto, Manufacturer.class);
+	public Manufacturer mapFromDto(final ManufacturerDto manufacturerDto) {
+		Manufacturer entity = new Manufacturer();
+		entity.setId(manufacturerDto.getId());
+		entity.setName(manufacturerDto.getName());
+		entity.setNationality(manufacturerDto.getNationality());
+		entity.setVersion(manufacturerDto.getVersion());
+		return entity;
 	}
 
 	public ManufacturerDto mapFromEntity(final Manufacturer entity) {
-		return getModelMapper().map(entity, ManufacturerDto.class);
+		ManufacturerDto manufacturerDto = new ManufacturerDto();
+		manufacturerDto.setId(entity.getId());
+		manufacturerDto.setName(entity.getName());
+		manufacturerDto.setNationality(entity.getNationality());
+		manufacturerDto.setVersion(entity.getVersion());
+		return manufacturerDto;
 	}
 
 	public void mergeEntity(final Manufacturer sourceEntity, final Manufacturer targetEntity) {
-		getModelMapper().map(sourceEntity, targetEntity);
+		// null fields of the source are skipped and the beer list is managed by the beers resource
+		if (sourceEntity.getId() != null) {
+			targetEntity.setId(sourceEntity.getId());
+		}
+		if (sourceEntity.getName() != null) {
+			targetEntity.setName(sourceEntity.getName());
+		}
+		if (sourceEntity.getNationality() != null) {
+			targetEntity.setNationality(sourceEntity.getNationality());
+		}
+		if (sourceEntity.getDeleted() != null) {
+			targetEntity.setDeleted(sourceEntity.getDeleted());
+		}
 	}
 
 	public List<ManufacturerDto> mapFromEntityList(final List<Manufacturer> entityList) {
-		return entityList.stream().map(entity -> mapFromEntity(entity)).collect(Collectors.toList());
+		List<ManufacturerDto> manufacturerDtoList = new ArrayList<ManufacturerDto>(entityList.size());
+		for (Manufacturer entity : entityList) {
+			manufacturerDtoList.add(mapFromEntity(entity));
+		}
+		return manufacturerDtoList;
 	}
 
 	public Page<ManufacturerDto> mapFromEntityPage(final Page<Manufacturer> entityPage, final Pageable sortPageable) {
@@ -38,12 +63,10 @@ public class ManufacturerMapper {
 				entityPage.getTotalElements());
 	}
 
-	private ModelMapper getModelMapper() {
-		if (modelMapper == null) {
-			modelMapper = new ModelMapper();
-			this.modelMapper.getConfiguration().setSkipNullEnabled(true);
-		}
-		return modelMapper;
+	public Slice<ManufacturerDto> mapFromEntitySlice(final Slice<Manufacturer> entitySlice,
+			final Pageable sortPageable) {
+		return new SliceImpl<ManufacturerDto>(mapFromEntityList(entitySlice.getContent()), sortPageable,
+				entitySlice.hasNext());
 	}
 
 }
@@ -1,30 +1,44 @@
 package com.haufeGroup.beerCatalogue.model;
 
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @NoArgsConstructor
 @Data
 @Entity
 @Table(name = "beers")
-@SQLDelete(sql = "UPDATE beers SET deleted = true WHERE id = ?")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// hibernate binds the version of a versioned entity after its id
+@SQLDelete(sql = "UPDATE beers SET deleted = true, version = version + 1 WHERE id = ? AND version = ?")
 @Where(clause = "deleted = false")
+@DynamicUpdate
 public class Beer {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "beers_id")
+	@GenericGenerator(name = "beers_id", strategy = "com.haufeGroup.beerCatalogue.util.CatalogueIdGenerator", parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "beers_seq"))
 	private Long id;
 	@Column(nullable = false)
 	private String name;
@@ -34,8 +48,16 @@ public class Beer {
 	private String type;
 	@Column(nullable = false)
 	private String description;
+	// hibernate writes every column on insert, a null would override the default and hide the row
 	@Column(columnDefinition = "boolean default false")
-	private Boolean deleted;
+	private Boolean deleted = false;
+	// the rows inserted with plain sql start at version 0
+	@Version
+	@Column(columnDefinition = "bigint default 0 not null")
+	private Long version;
+	// printing or comparing a beer must not initialize the manufacturer proxy
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
 	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name = "manufacturers_id", nullable = false)
 	private Manufacturer manufacturer;
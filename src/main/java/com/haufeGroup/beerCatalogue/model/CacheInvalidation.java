@@ -0,0 +1,37 @@
+package com.haufeGroup.beerCatalogue.model;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.Generated;
+import org.hibernate.annotations.GenerationTime;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "cache_invalidations", indexes = @Index(columnList = "published_at"))
+public class CacheInvalidation {
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+	// the ids of a batch do not fit in a varchar
+	@Lob
+	@Column(nullable = false)
+	private String payload;
+	// the clock of the database, the same for every instance
+	@Generated(GenerationTime.INSERT)
+	@Column(name = "published_at", insertable = false, updatable = false,
+			columnDefinition = "timestamp default current_timestamp not null")
+	private Instant publishedAt;
+}
@@ -0,0 +1,37 @@
+package com.haufeGroup.beerCatalogue.model;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+@Entity
+@Table(name = "collection_sequences")
+public class CollectionSequence implements Persistable<String> {
+	// a collection of the modification counters
+	@Id
+	private String name;
+	// the id of the last cache invalidation that changed the collection
+	@Column(nullable = false)
+	private long sequence;
+
+	@Override
+	public String getId() {
+		return name;
+	}
+
+	// the rows are only inserted, the sequences are moved by queries
+	@Override
+	public boolean isNew() {
+		return true;
+	}
+}
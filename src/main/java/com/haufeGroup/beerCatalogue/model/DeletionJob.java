@@ -0,0 +1,49 @@
+package com.haufeGroup.beerCatalogue.model;
+
+import java.time.Instant;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Lob;
+import javax.persistence.Table;
+
+import org.hibernate.annotations.GenericGenerator;
+
+import com.haufeGroup.beerCatalogue.dto.DeletionJobDto.Status;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@NoArgsConstructor
+@Data
+@Entity
+@Table(name = "deletion_jobs", indexes = { @Index(columnList = "lease_until"), @Index(columnList = "finished_at") })
+public class DeletionJob {
+	@Id
+	@GeneratedValue(generator = "deletion_jobs_id")
+	@GenericGenerator(name = "deletion_jobs_id", strategy = "uuid2")
+	private String id;
+	@Column(name = "manufacturer_id", nullable = false)
+	private Long manufacturerId;
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false)
+	private Status status;
+	@Column(name = "total_beers", nullable = false)
+	private long totalBeers;
+	@Column(name = "deleted_beers", nullable = false)
+	private long deletedBeers;
+	@Lob
+	private String error;
+	// the instance that runs the job, it keeps the job while it renews the lease
+	private String owner;
+	// null once the job is finished, any instance may take over an unfinished job after it
+	@Column(name = "lease_until")
+	private Instant leaseUntil;
+	@Column(name = "finished_at")
+	private Instant finishedAt;
+}
@@ -3,37 +3,59 @@ package com.haufeGroup.beerCatalogue.model;
 import java.util.List;
 
 import javax.persistence.CascadeType;
+import javax.persistence.Cacheable;
 import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
-import javax.persistence.GenerationType;
 import javax.persistence.Id;
 import javax.persistence.OneToMany;
 import javax.persistence.Table;
+import javax.persistence.Version;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @NoArgsConstructor
 @Data
 @Entity
 @Table(name = "manufacturers")
-@SQLDelete(sql = "UPDATE manufacturers SET deleted = true WHERE id = ?")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@SQLDelete(sql = "UPDATE manufacturers SET deleted = true, version = version + 1 WHERE id = ? AND version = ?")
 @Where(clause = "deleted = false")
+@DynamicUpdate
 public class Manufacturer {
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(generator = "manufacturers_id")
+	@GenericGenerator(name = "manufacturers_id", strategy = "com.haufeGroup.beerCatalogue.util.CatalogueIdGenerator", parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "manufacturers_seq"))
 	private Long id;
 	@Column(nullable = false)
 	private String name;
 	@Column(nullable = false)
 	private String nationality;
-	@OneToMany(mappedBy = "manufacturer", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+	// the generated toString, equals and hashCode would otherwise walk the lazy beer list
+	@ToString.Exclude
+	@EqualsAndHashCode.Exclude
+	// no remove cascade: the beers of a removed manufacturer are soft deleted with a single update by the service
+	@OneToMany(mappedBy = "manufacturer", cascade = { CascadeType.PERSIST,
+			CascadeType.MERGE }, fetch = FetchType.LAZY)
 	private List<Beer> beerList;
+	// hibernate writes every column on insert, a null would override the default and hide the row
 	@Column(columnDefinition = "boolean default false")
-	private Boolean deleted;
+	private Boolean deleted = false;
+	@Version
+	@Column(columnDefinition = "bigint default 0 not null")
+	private Long version;
 }
@@ -1,20 +1,97 @@
 package com.haufeGroup.beerCatalogue.repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import javax.persistence.QueryHint;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.BeerExportDto;
 import com.haufeGroup.beerCatalogue.model.Beer;
 
 @Repository
-public interface BeerRepository extends JpaRepository<Beer, Long> {
-	
+public interface BeerRepository extends JpaRepository<Beer, Long>, KeysetBeerRepository {
+
+	public static final String SELECT_BEER_DTO = "select new com.haufeGroup.beerCatalogue.dto.BeerDto(b.id, b.name, b.graduation, b.type, b.description, b.manufacturer.id, b.version) from Beer b";
+
+	public static final String CACHEABLE_HINT = "org.hibernate.cacheable";
+
+	public static final String FETCH_SIZE_HINT = "org.hibernate.fetchSize";
+
+	public static final String READ_ONLY_HINT = "org.hibernate.readOnly";
+
+	public static final String EXPORT_FETCH_SIZE = "1000";
+
+	@QueryHints(@QueryHint(name = CACHEABLE_HINT, value = "true"))
 	public List<Beer> findByManufacturerId(final Long manufacturerId, final Sort sortCriteria);
-	
+
+	@QueryHints(@QueryHint(name = CACHEABLE_HINT, value = "true"))
 	public Page<Beer> findByManufacturerId(final Long manufacturerId, final Pageable pageable);
 
+	@Query(value = SELECT_BEER_DTO, countQuery = "select count(b) from Beer b")
+	public Page<BeerDto> findAllBeerDtos(final Pageable pageable);
+
+	@Query(SELECT_BEER_DTO)
+	public Slice<BeerDto> findBeerDtoSlice(final Pageable pageable);
+
+	@QueryHints(@QueryHint(name = CACHEABLE_HINT, value = "true"))
+	@Query(value = SELECT_BEER_DTO
+			+ " where b.manufacturer.id = :manufacturerId", countQuery = "select count(b) from Beer b where b.manufacturer.id = :manufacturerId")
+	public Page<BeerDto> findBeerDtosByManufacturerId(@Param("manufacturerId") final Long manufacturerId,
+			final Pageable pageable);
+
+	@QueryHints(@QueryHint(name = CACHEABLE_HINT, value = "true"))
+	@Query(SELECT_BEER_DTO + " where b.manufacturer.id = :manufacturerId")
+	public Slice<BeerDto> findBeerDtoSliceByManufacturerId(@Param("manufacturerId") final Long manufacturerId,
+			final Pageable pageable);
+
+	@Query(SELECT_BEER_DTO + " where b.id = :id")
+	public Optional<BeerDto> findBeerDtoById(@Param("id") final Long id);
+
+	@Query(SELECT_BEER_DTO + " where b.id in :ids")
+	public List<BeerDto> findBeerDtosByIds(@Param("ids") final Collection<Long> ids);
+
+	@Query("select b.id from Beer b where b.id in :ids")
+	public Set<Long> findExistingIds(@Param("ids") final Collection<Long> ids);
+
+	// forward-only cursors, the projections are not managed so the memory does not grow with the rows read
+	@QueryHints({ @QueryHint(name = FETCH_SIZE_HINT, value = EXPORT_FETCH_SIZE),
+			@QueryHint(name = READ_ONLY_HINT, value = "true") })
+	@Query("select new com.haufeGroup.beerCatalogue.dto.BeerExportDto(b.id, b.name, b.graduation, b.type, b.description, b.manufacturer.id) from Beer b order by b.id")
+	public Stream<BeerExportDto> streamAllBeers();
+
+	@QueryHints({ @QueryHint(name = FETCH_SIZE_HINT, value = EXPORT_FETCH_SIZE),
+			@QueryHint(name = READ_ONLY_HINT, value = "true") })
+	@Query("select new com.haufeGroup.beerCatalogue.dto.BeerExportDto(b.id, b.name, b.graduation, b.type, b.description, m.id, m.name, m.nationality) from Beer b join b.manufacturer m order by b.id")
+	public Stream<BeerExportDto> streamAllBeersWithManufacturer();
+
+	// bulk update: hibernate evicts the beers region and the cached queries of the beers
+	@Modifying
+	@Query("update Beer b set b.deleted = true where b.manufacturer.id = :manufacturerId and b.deleted = false")
+	public int softDeleteByManufacturerId(@Param("manufacturerId") final Long manufacturerId);
+
+	public long countByManufacturerId(final Long manufacturerId);
+
+	@Query("select b.id from Beer b where b.manufacturer.id = :manufacturerId order by b.id")
+	public List<Long> findIdsByManufacturerId(@Param("manufacturerId") final Long manufacturerId,
+			final Pageable pageable);
+
+	@Modifying
+	@Query("update Beer b set b.deleted = true where b.id in :ids")
+	public int softDeleteByIds(@Param("ids") final Collection<Long> ids);
+
 }
@@ -0,0 +1,24 @@
+package com.haufeGroup.beerCatalogue.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.haufeGroup.beerCatalogue.model.CacheInvalidation;
+
+public interface CacheInvalidationRepository extends JpaRepository<CacheInvalidation, Long> {
+
+	public List<CacheInvalidation> findByPublishedAtGreaterThanEqualOrderById(final Instant publishedAt);
+
+	@Query("select max(i.publishedAt) from CacheInvalidation i")
+	public Instant findLastPublishedAt();
+
+	@Modifying
+	@Query("delete from CacheInvalidation i where i.publishedAt < :publishedAt")
+	public int deletePublishedBefore(@Param("publishedAt") final Instant publishedAt);
+
+}
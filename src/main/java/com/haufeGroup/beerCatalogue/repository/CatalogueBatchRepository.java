@@ -0,0 +1,97 @@
+package com.haufeGroup.beerCatalogue.repository;
+
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
+import com.haufeGroup.beerCatalogue.model.Beer;
+import com.haufeGroup.beerCatalogue.model.Manufacturer;
+
+// plain jdbc batches, without the persistence context and the cascades of a hibernate flush
+@Repository
+public class CatalogueBatchRepository {
+
+	private static final String INSERT_BEER = "INSERT INTO beers (id, name, graduation, type, description, deleted, manufacturers_id) VALUES (?, ?, ?, ?, ?, false, ?)";
+
+	private static final String INSERT_MANUFACTURER = "INSERT INTO manufacturers (id, name, nationality, deleted) VALUES (?, ?, ?, false)";
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Transactional
+	public int insertBeers(final List<BeerDto> beers) {
+		IdGenerator idGenerator = new IdGenerator(Beer.class);
+		jdbcTemplate.batchUpdate(INSERT_BEER, beers, beers.size(), (statement, beer) -> {
+			statement.setLong(1, idGenerator.nextId());
+			statement.setString(2, beer.getName());
+			statement.setString(3, beer.getGraduation());
+			statement.setString(4, beer.getType());
+			statement.setString(5, beer.getDescription());
+			statement.setLong(6, beer.getManufacturerId());
+		});
+		evictQueryCacheAfterCommit();
+		return beers.size();
+	}
+
+	@Transactional
+	public int insertManufacturers(final List<ManufacturerDto> manufacturers) {
+		IdGenerator idGenerator = new IdGenerator(Manufacturer.class);
+		jdbcTemplate.batchUpdate(INSERT_MANUFACTURER, manufacturers, manufacturers.size(),
+				(statement, manufacturer) -> {
+					statement.setLong(1, idGenerator.nextId());
+					statement.setString(2, manufacturer.getName());
+					statement.setString(3, manufacturer.getNationality());
+				});
+		return manufacturers.size();
+	}
+
+	private void evictQueryCacheAfterCommit() {
+		// hibernate does not see the jdbc writes, so the cached queries of the beers would not be invalidated
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+			}
+		});
+	}
+
+	// the ids come from the generators of the entities, so they never collide with the ones of the hibernate inserts
+	private class IdGenerator {
+
+		private final SessionImplementor session;
+
+		private final IdentifierGenerator identifierGenerator;
+
+		private IdGenerator(final Class<?> entity) {
+			this.session = entityManager.unwrap(SessionImplementor.class);
+			this.identifierGenerator = session.getFactory().getMetamodel().entityPersister(entity)
+					.getIdentifierGenerator();
+		}
+
+		private long nextId() {
+			return (Long) identifierGenerator.generate(session, null);
+		}
+
+	}
+
+}
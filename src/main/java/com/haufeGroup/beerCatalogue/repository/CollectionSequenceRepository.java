@@ -0,0 +1,23 @@
+package com.haufeGroup.beerCatalogue.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.haufeGroup.beerCatalogue.model.CollectionSequence;
+
+public interface CollectionSequenceRepository extends JpaRepository<CollectionSequence, String> {
+
+	// an event committed after a later one does not move the sequences back
+	@Modifying
+	@Query("update CollectionSequence c set c.sequence = :sequence where c.name in :names and c.sequence < :sequence")
+	public int moveTo(@Param("names") final Collection<String> names, @Param("sequence") final long sequence);
+
+	@Query("select c.name from CollectionSequence c where c.name in :names")
+	public Set<String> findExistingNames(@Param("names") final Collection<String> names);
+
+}
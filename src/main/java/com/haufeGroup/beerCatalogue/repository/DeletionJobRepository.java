@@ -0,0 +1,49 @@
+package com.haufeGroup.beerCatalogue.repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.haufeGroup.beerCatalogue.dto.DeletionJobDto;
+import com.haufeGroup.beerCatalogue.dto.DeletionJobDto.Status;
+import com.haufeGroup.beerCatalogue.model.DeletionJob;
+
+public interface DeletionJobRepository extends JpaRepository<DeletionJob, String> {
+
+	@Query("select new com.haufeGroup.beerCatalogue.dto.DeletionJobDto(j.id, j.manufacturerId, j.status, j.totalBeers, j.deletedBeers, j.error) from DeletionJob j where j.id = :id")
+	public Optional<DeletionJobDto> findDeletionJobDtoById(@Param("id") final String id);
+
+	@Query("select j.id from DeletionJob j where j.leaseUntil < :now and j.owner <> :owner order by j.leaseUntil")
+	public List<String> findIdsWithExpiredLease(@Param("owner") final String owner, @Param("now") final Instant now);
+
+	// the condition on the lease lets a single instance take over the job
+	@Modifying
+	@Query("update DeletionJob j set j.owner = :owner, j.leaseUntil = :leaseUntil where j.id = :id and j.leaseUntil < :now and j.owner <> :owner")
+	public int claim(@Param("id") final String id, @Param("owner") final String owner,
+			@Param("leaseUntil") final Instant leaseUntil, @Param("now") final Instant now);
+
+	@Modifying
+	@Query("update DeletionJob j set j.status = :status, j.leaseUntil = :leaseUntil where j.id = :id and j.owner = :owner and j.leaseUntil is not null")
+	public int renewLease(@Param("id") final String id, @Param("owner") final String owner,
+			@Param("status") final Status status, @Param("leaseUntil") final Instant leaseUntil);
+
+	@Modifying
+	@Query("update DeletionJob j set j.deletedBeers = j.deletedBeers + :deletedBeers where j.id = :id")
+	public int addDeletedBeers(@Param("id") final String id, @Param("deletedBeers") final long deletedBeers);
+
+	@Modifying
+	@Query("update DeletionJob j set j.status = :status, j.error = :error, j.leaseUntil = null, j.finishedAt = :finishedAt where j.id = :id and j.owner = :owner and j.leaseUntil is not null")
+	public int finish(@Param("id") final String id, @Param("owner") final String owner,
+			@Param("status") final Status status, @Param("error") final String error,
+			@Param("finishedAt") final Instant finishedAt);
+
+	@Modifying
+	@Query("delete from DeletionJob j where j.finishedAt < :finishedAt")
+	public int deleteFinishedBefore(@Param("finishedAt") final Instant finishedAt);
+
+}
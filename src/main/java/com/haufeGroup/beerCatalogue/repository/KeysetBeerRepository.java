@@ -0,0 +1,14 @@
+package com.haufeGroup.beerCatalogue.repository;
+
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
+
+public interface KeysetBeerRepository {
+
+	public Slice<BeerDto> findNextBeers(final Long manufacturerId, final Sort sortCriteria, final KeysetCursor cursor,
+			final int size);
+
+}
@@ -0,0 +1,79 @@
+package com.haufeGroup.beerCatalogue.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.model.Beer;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
+
+public class KeysetBeerRepositoryImpl implements KeysetBeerRepository {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Slice<BeerDto> findNextBeers(final Long manufacturerId, final Sort sortCriteria, final KeysetCursor cursor,
+			final int size) {
+		CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+		CriteriaQuery<BeerDto> query = criteriaBuilder.createQuery(BeerDto.class);
+		Root<Beer> beer = query.from(Beer.class);
+		List<Predicate> predicates = new ArrayList<Predicate>();
+		if (manufacturerId != null) {
+			predicates.add(criteriaBuilder.equal(beer.get("manufacturer").get("id"), manufacturerId));
+		}
+		if (cursor != null) {
+			predicates.add(createSeekPredicate(criteriaBuilder, beer, sortCriteria, cursor));
+		}
+		// the manufacturer id is read from the foreign key column without joining the manufacturers
+		query.select(criteriaBuilder.construct(BeerDto.class, beer.get("id"), beer.get("name"), beer.get("graduation"),
+				beer.get("type"), beer.get("description"), beer.get("manufacturer").get("id"), beer.get("version"))).where(predicates.toArray(new Predicate[0]))
+				.orderBy(QueryUtils.toOrders(sortCriteria, beer, criteriaBuilder));
+		// one extra row tells whether there is a next page without a count query
+		List<BeerDto> beers = entityManager.createQuery(query).setMaxResults(size + 1).getResultList();
+		boolean hasNext = beers.size() > size;
+		return new SliceImpl<BeerDto>(hasNext ? beers.subList(0, size) : beers, PageRequest.of(0, size, sortCriteria),
+				hasNext);
+	}
+
+	// (k1 > v1) or (k1 = v1 and k2 > v2) or ... according to the direction of every sort order
+	private Predicate createSeekPredicate(final CriteriaBuilder criteriaBuilder, final Root<Beer> beer,
+			final Sort sortCriteria, final KeysetCursor cursor) {
+		List<Order> orders = sortCriteria.toList();
+		List<Predicate> alternatives = new ArrayList<Predicate>();
+		for (int index = 0; index < orders.size(); index++) {
+			List<Predicate> conditions = new ArrayList<Predicate>();
+			for (int previous = 0; previous < index; previous++) {
+				conditions.add(criteriaBuilder.equal(beer.get(orders.get(previous).getProperty()),
+						cursor.getSortKeys().get(previous)));
+			}
+			conditions.add(createAfterPredicate(criteriaBuilder, beer.get(orders.get(index).getProperty()),
+					orders.get(index), cursor.getSortKeys().get(index)));
+			alternatives.add(criteriaBuilder.and(conditions.toArray(new Predicate[0])));
+		}
+		return criteriaBuilder.or(alternatives.toArray(new Predicate[0]));
+	}
+
+	@SuppressWarnings({ "rawtypes", "unchecked" })
+	private Predicate createAfterPredicate(final CriteriaBuilder criteriaBuilder, final Path path, final Order order,
+			final Comparable sortKey) {
+		return order.isAscending() ? criteriaBuilder.greaterThan(path, sortKey)
+				: criteriaBuilder.lessThan(path, sortKey);
+	}
+
+}
@@ -1,9 +1,43 @@
 package com.haufeGroup.beerCatalogue.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
 import com.haufeGroup.beerCatalogue.model.Manufacturer;
 
 public interface ManufacturerRepository extends JpaRepository<Manufacturer, Long> {
 
+	public static final String SELECT_MANUFACTURER_DTO = "select new com.haufeGroup.beerCatalogue.dto.ManufacturerDto(m.id, m.name, m.nationality, m.version) from Manufacturer m";
+
+	@Query(value = SELECT_MANUFACTURER_DTO, countQuery = "select count(m) from Manufacturer m")
+	public Page<ManufacturerDto> findAllManufacturerDtos(final Pageable pageable);
+
+	@Query(SELECT_MANUFACTURER_DTO)
+	public Slice<ManufacturerDto> findManufacturerDtoSlice(final Pageable pageable);
+
+	@Query(SELECT_MANUFACTURER_DTO + " where m.id = :id")
+	public Optional<ManufacturerDto> findManufacturerDtoById(@Param("id") final Long id);
+
+	@Query(SELECT_MANUFACTURER_DTO + " where m.id in :ids")
+	public List<ManufacturerDto> findManufacturerDtosByIds(@Param("ids") final Collection<Long> ids);
+
+	@Query("select m.id from Manufacturer m where m.id in :ids")
+	public Set<Long> findExistingIds(@Param("ids") final Collection<Long> ids);
+
+	// a null version deletes the manufacturer whatever its version
+	@Modifying
+	@Query("update Manufacturer m set m.deleted = true, m.version = m.version + 1 where m.id = :id and m.deleted = false and (:version is null or m.version = :version)")
+	public int softDeleteByIdAndVersion(@Param("id") final Long id, @Param("version") final Long version);
+
 }
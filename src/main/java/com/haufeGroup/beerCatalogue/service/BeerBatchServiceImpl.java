@@ -0,0 +1,296 @@
+package com.haufeGroup.beerCatalogue.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import com.haufeGroup.beerCatalogue.config.CacheConfig;
+import com.haufeGroup.beerCatalogue.dto.BatchItemResultDto;
+import com.haufeGroup.beerCatalogue.dto.BatchWriteResultDto;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.invalidation.CacheInvalidationBus;
+import com.haufeGroup.beerCatalogue.mapper.BeerMapper;
+import com.haufeGroup.beerCatalogue.model.Beer;
+import com.haufeGroup.beerCatalogue.repository.BeerRepository;
+import com.haufeGroup.beerCatalogue.repository.ManufacturerRepository;
+
+// every batch runs in one transaction: the existing rows are read with one IN query and hibernate sends the inserts
+// and updates of the valid items in jdbc batches when it flushes. The items succeed once the flush is accepted
+@Service
+@Validated
+public class BeerBatchServiceImpl implements IBeerBatchService {
+
+	public static final int MAX_ITEMS = 1000;
+
+	public static final String BEER_ID_NOT_PROVIDED_ERROR_MESSAGE = "the id of the beer to modify should be provided.";
+
+	@Autowired
+	private BeerRepository beerRepository;
+
+	@Autowired
+	private ManufacturerRepository manufacturerRepository;
+
+	@Autowired
+	private BeerMapper modelMapper;
+
+	@Autowired
+	private Validator validator;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private CacheInvalidationBus cacheInvalidationBus;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate transactionTemplate;
+
+	@PostConstruct
+	public void createTransactionTemplate() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Override
+	public BatchWriteResultDto addNewBeers(@NotNull final List<BeerDto> newBeers) {
+		BatchWriteResultDto result = new BatchWriteResultDto();
+		Map<Integer, BeerDto> validBeers = new LinkedHashMap<Integer, BeerDto>();
+		Map<Integer, Long> savedBeerIds = transactionTemplate.execute(status -> {
+			Set<Long> existingManufacturerIds = findExisting(newBeers, BeerDto::getManufacturerId,
+					manufacturerRepository::findExistingIds);
+			for (int index = 0; index < newBeers.size(); index++) {
+				BeerDto newBeer = newBeers.get(index);
+				List<String> errors = validate(newBeer);
+				if (newBeer.getId() != null) {
+					errors.add(BeerServiceImpl.BEER_ID_PROVIDED_ERROR_MESSAGE);
+				}
+				if (newBeer.getManufacturerId() != null
+						&& !existingManufacturerIds.contains(newBeer.getManufacturerId())) {
+					errors.add(BeerServiceImpl.MANUFACTURER_NOT_FOUND_ERROR_MESSAGE);
+				}
+				if (!errors.isEmpty()) {
+					fail(result, index, null, HttpStatus.BAD_REQUEST, errors);
+					continue;
+				}
+				validBeers.put(index, newBeer);
+			}
+			return writeAndFlush(status, () -> insertBeers(validBeers));
+		});
+		complete(result, validBeers, savedBeerIds, this::insertBeers, HttpStatus.CREATED);
+		return result;
+	}
+
+	@Override
+	public BatchWriteResultDto updateBeers(@NotNull final List<BeerDto> beersToModify) {
+		BatchWriteResultDto result = new BatchWriteResultDto();
+		Map<Integer, BeerDto> validBeers = new LinkedHashMap<Integer, BeerDto>();
+		Map<Integer, Long> modifiedBeerIds = transactionTemplate.execute(status -> {
+			Map<Long, Beer> oldBeers = findOldBeers(beersToModify);
+			for (int index = 0; index < beersToModify.size(); index++) {
+				BeerDto beerToModify = beersToModify.get(index);
+				List<String> errors = validate(beerToModify);
+				if (beerToModify.getId() == null) {
+					errors.add(BEER_ID_NOT_PROVIDED_ERROR_MESSAGE);
+				}
+				if (!errors.isEmpty()) {
+					fail(result, index, beerToModify.getId(), HttpStatus.BAD_REQUEST, errors);
+					continue;
+				}
+				Beer oldBeer = oldBeers.get(beerToModify.getId());
+				if (oldBeer == null) {
+					fail(result, index, beerToModify.getId(), HttpStatus.NOT_FOUND,
+							List.of(BeerServiceImpl.BEER_NOT_FOUND_ERROR_MEESSAGE));
+					continue;
+				}
+				// the id of a lazy manufacturer proxy is read without initializing it
+				if (!oldBeer.getManufacturer().getId().equals(beerToModify.getManufacturerId())) {
+					fail(result, index, beerToModify.getId(), HttpStatus.BAD_REQUEST,
+							List.of(BeerServiceImpl.MODIFY_BEER_MANUFACTURER_ERROR_MESSAGE));
+					continue;
+				}
+				validBeers.put(index, beerToModify);
+			}
+			return writeAndFlush(status, () -> mergeBeers(validBeers, oldBeers));
+		});
+		complete(result, validBeers, modifiedBeerIds,
+				items -> mergeBeers(items, findOldBeers(List.copyOf(items.values()))),
+				HttpStatus.OK);
+		return result;
+	}
+
+	@Override
+	@Transactional
+	public BatchWriteResultDto deleteBeersByIds(@NotNull final List<Long> beerIds) {
+		BatchWriteResultDto result = new BatchWriteResultDto();
+		Set<Long> existingBeerIds = findExisting(beerIds, Function.identity(), beerRepository::findExistingIds);
+		for (int index = 0; index < beerIds.size(); index++) {
+			Long beerId = beerIds.get(index);
+			if (existingBeerIds.contains(beerId)) {
+				succeed(result, index, beerId, HttpStatus.OK);
+			} else {
+				fail(result, index, beerId, HttpStatus.NOT_FOUND,
+						List.of(BeerServiceImpl.BEER_NOT_FOUND_ERROR_MEESSAGE));
+			}
+		}
+		if (!existingBeerIds.isEmpty()) {
+			// one set-based update instead of a delete statement per beer
+			beerRepository.softDeleteByIds(existingBeerIds);
+			cacheInvalidationBus.beersChanged(existingBeerIds, null);
+		}
+		evictBeersAfterCommit(existingBeerIds);
+		return result;
+	}
+
+	// the pooled sequence assigns the ids on persist, the inserts wait for the flush
+	private Map<Integer, Long> insertBeers(final Map<Integer, BeerDto> newBeers) {
+		Map<Integer, Long> savedBeerIds = new LinkedHashMap<Integer, Long>();
+		Set<Long> modifiedManufacturerIds = new HashSet<Long>();
+		newBeers.forEach((index, newBeer) -> {
+			Beer beer = modelMapper.mapFromDto(newBeer);
+			// a reference without query, the manufacturer is known to exist and only its id is written
+			beer.setManufacturer(manufacturerRepository.getById(newBeer.getManufacturerId()));
+			savedBeerIds.put(index, beerRepository.save(beer).getId());
+			modifiedManufacturerIds.add(newBeer.getManufacturerId());
+		});
+		cacheInvalidationBus.beersChanged(savedBeerIds.values(), modifiedManufacturerIds);
+		return savedBeerIds;
+	}
+
+	// the managed beers are written by the dirty checking of the flush
+	private Map<Integer, Long> mergeBeers(final Map<Integer, BeerDto> beersToModify, final Map<Long, Beer> oldBeers) {
+		Map<Integer, Long> modifiedBeerIds = new LinkedHashMap<Integer, Long>();
+		Set<Long> modifiedManufacturerIds = new HashSet<Long>();
+		beersToModify.forEach((index, beerToModify) -> {
+			Beer oldBeer = oldBeers.get(beerToModify.getId());
+			if (oldBeer == null) {
+				// removed since the batch was validated
+				throw new EmptyResultDataAccessException(BeerServiceImpl.BEER_NOT_FOUND_ERROR_MEESSAGE, 1);
+			}
+			modelMapper.mergeEntity(modelMapper.mapFromDto(beerToModify), oldBeer);
+			modifiedBeerIds.put(index, oldBeer.getId());
+			modifiedManufacturerIds.add(beerToModify.getManufacturerId());
+		});
+		evictBeersAfterCommit(modifiedBeerIds.values());
+		cacheInvalidationBus.beersChanged(modifiedBeerIds.values(), modifiedManufacturerIds);
+		return modifiedBeerIds;
+	}
+
+	private Map<Long, Beer> findOldBeers(final List<BeerDto> beersToModify) {
+		return beerRepository.findAllById(distinctNonNull(beersToModify, BeerDto::getId)).stream()
+				.collect(Collectors.toMap(Beer::getId, Function.identity()));
+	}
+
+	// null when the database refuses the writes, the transaction is then rolled back
+	private Map<Integer, Long> writeAndFlush(final TransactionStatus status,
+			final Supplier<Map<Integer, Long>> writer) {
+		try {
+			Map<Integer, Long> writtenIds = writer.get();
+			beerRepository.flush();
+			return writtenIds;
+		} catch (DataAccessException dae) {
+			status.setRollbackOnly();
+			return null;
+		}
+	}
+
+	// when the writes of the batch were refused, the valid items are written again one by one in their own
+	// transactions to find the ones the database refuses, like the rows of an import chunk
+	private void complete(final BatchWriteResultDto result, final Map<Integer, BeerDto> validBeers,
+			final Map<Integer, Long> writtenIds, final Function<Map<Integer, BeerDto>, Map<Integer, Long>> writer,
+			final HttpStatus status) {
+		if (writtenIds != null) {
+			writtenIds.forEach((index, id) -> succeed(result, index, id, status));
+		} else {
+			validBeers.forEach((index, beer) -> {
+				try {
+					Long id = transactionTemplate.execute(itemStatus -> {
+						Map<Integer, Long> writtenId = writer.apply(Map.of(index, beer));
+						beerRepository.flush();
+						return writtenId.get(index);
+					});
+					succeed(result, index, id, status);
+				} catch (EmptyResultDataAccessException erdae) {
+					fail(result, index, beer.getId(), HttpStatus.NOT_FOUND,
+							List.of(BeerServiceImpl.BEER_NOT_FOUND_ERROR_MEESSAGE));
+				} catch (DataAccessException dae) {
+					fail(result, index, beer.getId(), HttpStatus.CONFLICT,
+							List.of(dae.getMostSpecificCause().getMessage()));
+				}
+			});
+		}
+		result.getItems().sort(Comparator.comparingInt(BatchItemResultDto::getIndex));
+	}
+
+	private List<String> validate(final BeerDto beer) {
+		List<String> errors = new ArrayList<String>();
+		for (ConstraintViolation<BeerDto> violation : validator.validate(beer)) {
+			errors.add(violation.getMessage());
+		}
+		return errors;
+	}
+
+	private <T> Set<Long> findExisting(final List<T> items, final Function<T, Long> idGetter,
+			final Function<Collection<Long>, Set<Long>> finder) {
+		Set<Long> ids = distinctNonNull(items, idGetter);
+		return ids.isEmpty() ? Set.of() : finder.apply(ids);
+	}
+
+	private <T> Set<Long> distinctNonNull(final List<T> items, final Function<T, Long> idGetter) {
+		return items.stream().map(idGetter).filter(Objects::nonNull).collect(Collectors.toSet());
+	}
+
+	private void evictBeersAfterCommit(final Collection<Long> beerIds) {
+		if (beerIds.isEmpty()) {
+			return;
+		}
+		Cache beerCache = cacheManager.getCache(CacheConfig.BEER_CACHE);
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCommit() {
+				beerIds.forEach(beerCache::evict);
+			}
+		});
+	}
+
+	private void succeed(final BatchWriteResultDto result, final int index, final Long id, final HttpStatus status) {
+		result.setSucceeded(result.getSucceeded() + 1);
+		result.getItems().add(new BatchItemResultDto(index, id, status.value(), null));
+	}
+
+	private void fail(final BatchWriteResultDto result, final int index, final Long id, final HttpStatus status,
+			final List<String> errors) {
+		result.setFailed(result.getFailed() + 1);
+		result.getItems().add(new BatchItemResultDto(index, id, status.value(), errors));
+	}
+
+}
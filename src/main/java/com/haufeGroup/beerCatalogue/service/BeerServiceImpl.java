@@ -1,22 +1,45 @@
 package com.haufeGroup.beerCatalogue.service;
 
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import javax.validation.constraints.NotNull;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.haufeGroup.beerCatalogue.config.CacheConfig;
+import com.haufeGroup.beerCatalogue.datasource.ReadReplica;
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.BeerExportDto;
+import com.haufeGroup.beerCatalogue.exception.BeerCatalogueException;
 import com.haufeGroup.beerCatalogue.exception.BeerServiceException;
+import com.haufeGroup.beerCatalogue.exception.ErrorType;
+import com.haufeGroup.beerCatalogue.invalidation.CacheInvalidationBus;
 import com.haufeGroup.beerCatalogue.mapper.BeerMapper;
 import com.haufeGroup.beerCatalogue.model.Beer;
 import com.haufeGroup.beerCatalogue.model.Manufacturer;
 import com.haufeGroup.beerCatalogue.repository.BeerRepository;
 import com.haufeGroup.beerCatalogue.repository.ManufacturerRepository;
+import com.haufeGroup.beerCatalogue.util.BatchLookup;
+import com.haufeGroup.beerCatalogue.util.JsonMergePatch;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
 
 @Service
 @Validated
@@ -32,6 +55,10 @@ public class BeerServiceImpl implements IBeerService {
 
 	public static final String BEER_ID_PROVIDED_ERROR_MESSAGE = "it's not possible create a beer with a specific id.";
 
+	public static final String MODIFY_BEER_ID_ERROR_MESSAGE = "Modify id of existing beer is not allowed.";
+
+	public static final String BEER_VERSION_MISMATCH_ERROR_MESSAGE = "the beer was modified by another request, get it again before modifying it.";
+
 	@Autowired
 	private BeerRepository beerRepository;
 
@@ -41,48 +68,162 @@ public class BeerServiceImpl implements IBeerService {
 	@Autowired
 	private BeerMapper modelMapper;
 
+	@Autowired
+	private BatchLookup batchLookup;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private JsonMergePatch jsonMergePatch;
+
+	@Autowired
+	private CacheInvalidationBus cacheInvalidationBus;
+
 	@Override
-	public Page<Beer> getAllBeersWithSortPagination(@NotNull final Pageable pagingSort) {
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public Page<BeerDto> getAllBeersWithSortPagination(@NotNull final Pageable pagingSort) {
 		try {
-			return beerRepository.findAll(pagingSort);
+			checkThatTheSortCriteriaIsValid(pagingSort.getSort());
+			return beerRepository.findAllBeerDtos(pagingSort);
 		} catch (PropertyReferenceException pre) {
-			throw new BeerServiceException(INVALID_SORT_CRITERIA);
+			throw new BeerServiceException(INVALID_SORT_CRITERIA, ErrorType.INVALID_SORT);
 		} catch (Exception ex) {
 			throw new BeerServiceException(ex.getMessage());
 		}
 	}
 
 	@Override
-	public Beer getBeerById(@NotNull final Long beerId) {
-		checkThatTheBeerExists(beerId);
-		return beerRepository.findById(beerId).get();
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public Slice<BeerDto> getAllBeersWithSortSlice(@NotNull final Pageable pagingSort) {
+		try {
+			checkThatTheSortCriteriaIsValid(pagingSort.getSort());
+			return beerRepository.findBeerDtoSlice(pagingSort);
+		} catch (PropertyReferenceException pre) {
+			throw new BeerServiceException(INVALID_SORT_CRITERIA, ErrorType.INVALID_SORT);
+		} catch (Exception ex) {
+			throw new BeerServiceException(ex.getMessage());
+		}
+	}
+
+	@Override
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public Slice<BeerDto> getBeersAfterCursor(@NotNull final Sort sortCriteria, final KeysetCursor cursor,
+			final int size) {
+		return beerRepository.findNextBeers(null, sortCriteria, cursor, size);
+	}
+
+	@Override
+	@ReadReplica
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfig.BEER_CACHE, key = "#beerId", condition = "#beerId != null")
+	public BeerDto getBeerById(@NotNull final Long beerId) {
+		return beerRepository.findBeerDtoById(beerId)
+				.orElseThrow(() -> new BeerServiceException(BEER_NOT_FOUND_ERROR_MEESSAGE, ErrorType.NOT_FOUND));
+	}
+
+	@Override
+	@ReadReplica
+	@Transactional(readOnly = true)
+	// shares the entries of the lookups by id, so a batch warms the cache for the single lookups and vice versa
+	public BatchResultDto<BeerDto> getBeersByIds(@NotNull final List<Long> beerIds) {
+		return batchLookup.lookUp(beerIds, cacheManager.getCache(CacheConfig.BEER_CACHE), BeerDto.class, BeerDto::getId,
+				beerRepository::findBeerDtosByIds);
 	}
 
 	@Override
+	@ReadReplica
+	// the cursor of the stream is only open inside the transaction
+	@Transactional(readOnly = true)
+	public void exportBeers(final boolean withManufacturer, @NotNull final Consumer<BeerExportDto> beerConsumer) {
+		try (Stream<BeerExportDto> beers = withManufacturer ? beerRepository.streamAllBeersWithManufacturer()
+				: beerRepository.streamAllBeers()) {
+			beers.forEach(beerConsumer);
+		}
+	}
+
+	@Override
+	@Transactional
 	public Beer addNewBeer(@NotNull final Beer newBeer) {
 		checkThatBeerIdIsNotProvided(newBeer.getId());
-		checkThatTheManufacturerExists(newBeer.getManufacturer());
-		return beerRepository.save(newBeer);
+		// the mapped manufacturer only has an id, without version hibernate would take it for a new one
+		newBeer.setManufacturer(findTheManufacturer(newBeer.getManufacturer()));
+		Beer savedBeer = beerRepository.save(newBeer);
+		cacheInvalidationBus.beersChanged(List.of(savedBeer.getId()), List.of(newBeer.getManufacturer().getId()));
+		return savedBeer;
 	}
 
 	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BEER_CACHE, key = "#beerToModify.id")
 	public Beer updateBeer(@NotNull final Beer beerToModify) {
 		try {
 			Beer oldBeer = beerRepository.findById(beerToModify.getId()).orElseThrow();
+			checkThatTheVersionMatches(beerToModify.getVersion(), oldBeer.getVersion());
 			checkThatManufacturerIsNotUpdated(oldBeer.getManufacturer(), beerToModify.getManufacturer());
 			modelMapper.mergeEntity(beerToModify, oldBeer);
-			return beerRepository.save(oldBeer);
+			Beer modifiedBeer = beerRepository.save(oldBeer);
+			// a concurrent write is detected by the update, which would otherwise wait for the commit
+			beerRepository.flush();
+			cacheInvalidationBus.beersChanged(List.of(oldBeer.getId()), List.of(oldBeer.getManufacturer().getId()));
+			return modifiedBeer;
 		} catch (NoSuchElementException nsee) {
-			throw new BeerServiceException(BEER_NOT_FOUND_ERROR_MEESSAGE);
+			throw new BeerServiceException(BEER_NOT_FOUND_ERROR_MEESSAGE, ErrorType.NOT_FOUND);
+		} catch (ObjectOptimisticLockingFailureException oolfe) {
+			// another request wrote the beer between the read and the update
+			throw new BeerServiceException(BEER_VERSION_MISMATCH_ERROR_MESSAGE, ErrorType.PRECONDITION_FAILED);
+		} catch (BeerCatalogueException bce) {
+			// the checks already tell what is wrong with the update
+			throw bce;
 		} catch (Exception ex) {
 			throw new BeerServiceException(ex.getMessage());
 		}
 	}
 
 	@Override
-	public void deleteBeerById(@NotNull final Long beerId) {
-		checkThatTheBeerExists(beerId);
-		beerRepository.deleteById(beerId);
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BEER_CACHE, key = "#beerId")
+	public BeerDto patchBeer(@NotNull final Long beerId, @NotNull final JsonNode patch) {
+		Beer beer = beerRepository.findById(beerId)
+				.orElseThrow(() -> new BeerServiceException(BEER_NOT_FOUND_ERROR_MEESSAGE, ErrorType.NOT_FOUND));
+		BeerDto patchedBeer = jsonMergePatch.apply(modelMapper.mapFromEntity(beer), patch, BeerDto.class);
+		if (!beerId.equals(patchedBeer.getId())) {
+			throw new BeerServiceException(MODIFY_BEER_ID_ERROR_MESSAGE);
+		}
+		if (!beer.getManufacturer().getId().equals(patchedBeer.getManufacturerId())) {
+			throw new BeerServiceException(MODIFY_BEER_MANUFACTURER_ERROR_MESSAGE);
+		}
+		// no save: the managed beer is flushed on commit and the dynamic update only writes the changed columns
+		modelMapper.mergeEntity(modelMapper.mapFromDto(patchedBeer), beer);
+		cacheInvalidationBus.beersChanged(List.of(beerId), List.of(patchedBeer.getManufacturerId()));
+		return patchedBeer;
+	}
+
+	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.BEER_CACHE, key = "#beerId")
+	public void deleteBeerById(@NotNull final Long beerId, final Long expectedVersion) {
+		// the beer usually comes from the second-level cache, it gives the manufacturer whose pages change and a null
+		// version deletes it whatever its version
+		Beer beer = beerRepository.findById(beerId)
+				.orElseThrow(() -> new BeerServiceException(BEER_NOT_FOUND_ERROR_MEESSAGE, ErrorType.NOT_FOUND));
+		checkThatTheVersionMatches(expectedVersion, beer.getVersion());
+		try {
+			// the soft delete is filtered by the version that was checked
+			beerRepository.delete(beer);
+			beerRepository.flush();
+		} catch (ObjectOptimisticLockingFailureException oolfe) {
+			throw new BeerServiceException(BEER_VERSION_MISMATCH_ERROR_MESSAGE, ErrorType.PRECONDITION_FAILED);
+		}
+		cacheInvalidationBus.beersChanged(List.of(beerId), List.of(beer.getManufacturer().getId()));
+	}
+
+	private void checkThatTheSortCriteriaIsValid(final Sort sortCriteria) {
+		// the projection queries do not resolve the sort properties against the entity
+		sortCriteria.forEach(order -> PropertyPath.from(order.getProperty(), Beer.class));
 	}
 
 	private void checkThatBeerIdIsNotProvided(final Long beerId) {
@@ -91,9 +232,9 @@ public class BeerServiceImpl implements IBeerService {
 		}
 	}
 
-	private void checkThatTheBeerExists(final Long beerId) {
-		if (!beerRepository.existsById(beerId)) {
-			throw new BeerServiceException(BEER_NOT_FOUND_ERROR_MEESSAGE);
+	private void checkThatTheVersionMatches(final Long expectedVersion, final Long currentVersion) {
+		if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+			throw new BeerServiceException(BEER_VERSION_MISMATCH_ERROR_MESSAGE, ErrorType.PRECONDITION_FAILED);
 		}
 	}
 
@@ -104,9 +245,12 @@ public class BeerServiceImpl implements IBeerService {
 		}
 	}
 
-	private void checkThatTheManufacturerExists(@NotNull final Manufacturer manufacturer) {
-		if (manufacturer.getId() == null || !manufacturerRepository.existsById(manufacturer.getId())) {
+	private Manufacturer findTheManufacturer(@NotNull final Manufacturer manufacturer) {
+		// the lookup by id is served by the second-level cache, the exists query always goes to the database
+		if (manufacturer.getId() == null) {
 			throw new BeerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE);
 		}
+		return manufacturerRepository.findById(manufacturer.getId())
+				.orElseThrow(() -> new BeerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE));
 	}
 }
@@ -0,0 +1,18 @@
+package com.haufeGroup.beerCatalogue.service;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import com.haufeGroup.beerCatalogue.dto.BatchWriteResultDto;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+
+public interface IBeerBatchService {
+
+	public BatchWriteResultDto addNewBeers(@NotNull final List<BeerDto> newBeers);
+
+	public BatchWriteResultDto updateBeers(@NotNull final List<BeerDto> beersToModify);
+
+	public BatchWriteResultDto deleteBeersByIds(@NotNull final List<Long> beerIds);
+
+}
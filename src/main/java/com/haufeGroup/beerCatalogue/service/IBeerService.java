@@ -1,22 +1,43 @@
 package com.haufeGroup.beerCatalogue.service;
 
+import java.util.List;
+import java.util.function.Consumer;
+
 import javax.validation.constraints.NotNull;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.BeerExportDto;
 import com.haufeGroup.beerCatalogue.model.Beer;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
 
 public interface IBeerService {
 
-	public Page<Beer> getAllBeersWithSortPagination(@NotNull final Pageable sortPageable);
+	public Page<BeerDto> getAllBeersWithSortPagination(@NotNull final Pageable sortPageable);
+
+	public Slice<BeerDto> getAllBeersWithSortSlice(@NotNull final Pageable sortPageable);
+
+	public Slice<BeerDto> getBeersAfterCursor(@NotNull final Sort sortCriteria, final KeysetCursor cursor,
+			final int size);
 
-	public Beer getBeerById(@NotNull final Long beerId);
+	public BeerDto getBeerById(@NotNull final Long beerId);
+
+	public BatchResultDto<BeerDto> getBeersByIds(@NotNull final List<Long> beerIds);
+
+	public void exportBeers(final boolean withManufacturer, @NotNull final Consumer<BeerExportDto> beerConsumer);
 
 	public Beer addNewBeer(@NotNull final Beer newBeer);
 
 	public Beer updateBeer(@NotNull final Beer beerToModify);
 
-	public void deleteBeerById(@NotNull final Long beerId);
+	public BeerDto patchBeer(@NotNull final Long beerId, @NotNull final JsonNode patch);
+
+	public void deleteBeerById(@NotNull final Long beerId, final Long expectedVersion);
 
 }
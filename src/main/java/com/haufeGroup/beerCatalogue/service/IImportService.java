@@ -0,0 +1,17 @@
+package com.haufeGroup.beerCatalogue.service;
+
+import java.io.InputStream;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.http.MediaType;
+
+import com.haufeGroup.beerCatalogue.dto.ImportResultDto;
+
+public interface IImportService {
+
+	public ImportResultDto importBeers(@NotNull final InputStream body, @NotNull final MediaType contentType);
+
+	public ImportResultDto importManufacturers(@NotNull final InputStream body, @NotNull final MediaType contentType);
+
+}
@@ -0,0 +1,17 @@
+package com.haufeGroup.beerCatalogue.service;
+
+import java.util.List;
+
+import javax.validation.constraints.NotNull;
+
+import com.haufeGroup.beerCatalogue.dto.DeletionJobDto;
+
+public interface IManufacturerDeletionService {
+
+	public DeletionJobDto startManufacturerDeletion(@NotNull final Long manufacturerId);
+
+	public DeletionJobDto getDeletionJob(@NotNull final String jobId);
+
+	public List<DeletionJobDto> resumeDeletions();
+
+}
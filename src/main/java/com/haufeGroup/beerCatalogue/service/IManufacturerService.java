@@ -1,26 +1,46 @@
 package com.haufeGroup.beerCatalogue.service;
 
+import java.util.List;
+
 import javax.validation.constraints.NotNull;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
-import com.haufeGroup.beerCatalogue.model.Beer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
 import com.haufeGroup.beerCatalogue.model.Manufacturer;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
 
 public interface IManufacturerService {
 
-	public Page<Manufacturer> getAllManufacturesWithSortPagination(@NotNull final Pageable sortPageable);
+	public Page<ManufacturerDto> getAllManufacturesWithSortPagination(@NotNull final Pageable sortPageable);
+
+	public Slice<ManufacturerDto> getAllManufacturesWithSortSlice(@NotNull final Pageable sortPageable);
 
-	public Manufacturer getManufacturerById(@NotNull final Long manufacturerId);
+	public ManufacturerDto getManufacturerById(@NotNull final Long manufacturerId);
 
-	public Page<Beer> getManufacturerBeersWithSortPagination(@NotNull final Long manufacturerId,
+	public BatchResultDto<ManufacturerDto> getManufacturersByIds(@NotNull final List<Long> manufacturerIds);
+
+	public Page<BeerDto> getManufacturerBeersWithSortPagination(@NotNull final Long manufacturerId,
 			@NotNull final Pageable sortPageable);
 
+	public Slice<BeerDto> getManufacturerBeersWithSortSlice(@NotNull final Long manufacturerId,
+			@NotNull final Pageable sortPageable);
+
+	public Slice<BeerDto> getManufacturerBeersAfterCursor(@NotNull final Long manufacturerId,
+			@NotNull final Sort sortCriteria, final KeysetCursor cursor, final int size);
+
 	public Manufacturer addNewManufacturer(@NotNull final Manufacturer newManufacturer);
 
 	public Manufacturer updateManufacturer(@NotNull final Manufacturer manufacturerToModify);
 
-	public void deleteManufacturerById(@NotNull final Long manufacturerId);
+	public ManufacturerDto patchManufacturer(@NotNull final Long manufacturerId, @NotNull final JsonNode patch);
+
+	public void deleteManufacturerById(@NotNull final Long manufacturerId, final Long expectedVersion);
 
 }
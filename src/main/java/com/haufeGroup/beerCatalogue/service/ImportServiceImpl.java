@@ -0,0 +1,214 @@
+package com.haufeGroup.beerCatalogue.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.ImportErrorDto;
+import com.haufeGroup.beerCatalogue.dto.ImportResultDto;
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
+import com.haufeGroup.beerCatalogue.exception.ImportException;
+import com.haufeGroup.beerCatalogue.invalidation.CacheInvalidationBus;
+import com.haufeGroup.beerCatalogue.repository.CatalogueBatchRepository;
+import com.haufeGroup.beerCatalogue.repository.ManufacturerRepository;
+import com.haufeGroup.beerCatalogue.util.CatalogueReader;
+
+@Service
+@Validated
+public class ImportServiceImpl implements IImportService {
+
+	public static final int CHUNK_SIZE = 1000;
+
+	public static final int MAX_REPORTED_ERRORS = 1000;
+
+	public static final String MALFORMED_ROW_ERROR_MESSAGE = "the row could not be read: ";
+
+	public static final String MALFORMED_BODY_ERROR_MESSAGE = "The body could not be read after the row %d. The valid rows before it were imported.";
+
+	@Autowired
+	CatalogueReader catalogueReader;
+
+	@Autowired
+	Validator validator;
+
+	@Autowired
+	ManufacturerRepository manufacturerRepository;
+
+	@Autowired
+	CatalogueBatchRepository catalogueBatchRepository;
+
+	@Autowired
+	CacheInvalidationBus cacheInvalidationBus;
+
+	@Override
+	public ImportResultDto importBeers(@NotNull final InputStream body, @NotNull final MediaType contentType) {
+		ImportResultDto result = new ImportResultDto();
+		try (MappingIterator<BeerDto> rows = catalogueReader.readValues(body, contentType, BeerDto.class)) {
+			importRows(rows, BeerServiceImpl.BEER_ID_PROVIDED_ERROR_MESSAGE, BeerDto::getId,
+					this::importBeerChunk,
+					result);
+		} catch (IOException ioe) {
+			throw new ImportException(
+					String.format(MALFORMED_BODY_ERROR_MESSAGE, result.getImported() + result.getRejected()));
+		}
+		return result;
+	}
+
+	@Override
+	public ImportResultDto importManufacturers(@NotNull final InputStream body, @NotNull final MediaType contentType) {
+		ImportResultDto result = new ImportResultDto();
+		try (MappingIterator<ManufacturerDto> rows = catalogueReader.readValues(body, contentType,
+				ManufacturerDto.class)) {
+			importRows(rows, ManufacturerServiceImpl.MANUFACTURER_ID_PROVIDED_ERROR_MESSAGE, ManufacturerDto::getId,
+					this::importManufacturerChunk, result);
+		} catch (IOException ioe) {
+			throw new ImportException(
+					String.format(MALFORMED_BODY_ERROR_MESSAGE, result.getImported() + result.getRejected()));
+		}
+		return result;
+	}
+
+	private <T> void importRows(final MappingIterator<T> rows, final String idProvidedErrorMessage,
+			final Function<T, Long> idGetter, final BiConsumer<List<ImportRow<T>>, ImportResultDto> chunkImporter,
+			final ImportResultDto result) throws IOException {
+		List<ImportRow<T>> chunk = new ArrayList<ImportRow<T>>(CHUNK_SIZE);
+		long rowNumber = 0;
+		try {
+			while (rows.hasNextValue()) {
+				rowNumber++;
+				T value;
+				try {
+					value = rows.nextValue();
+				} catch (JsonMappingException jme) {
+					// the reader skips the broken row, so the next rows can still be imported
+					reject(result, rowNumber, List.of(MALFORMED_ROW_ERROR_MESSAGE + jme.getOriginalMessage()));
+					continue;
+				}
+				List<String> errors = validate(value, idGetter, idProvidedErrorMessage);
+				if (!errors.isEmpty()) {
+					reject(result, rowNumber, errors);
+					continue;
+				}
+				chunk.add(new ImportRow<T>(rowNumber, value));
+				if (chunk.size() == CHUNK_SIZE) {
+					chunkImporter.accept(chunk, result);
+					chunk.clear();
+				}
+			}
+		} catch (IOException ioe) {
+			// the rows read before a broken body are imported anyway
+			chunkImporter.accept(chunk, result);
+			throw ioe;
+		}
+		chunkImporter.accept(chunk, result);
+	}
+
+	private <T> List<String> validate(final T value, final Function<T, Long> idGetter,
+			final String idProvidedErrorMessage) {
+		List<String> errors = new ArrayList<String>();
+		if (idGetter.apply(value) != null) {
+			errors.add(idProvidedErrorMessage);
+		}
+		for (ConstraintViolation<T> violation : validator.validate(value)) {
+			errors.add(violation.getMessage());
+		}
+		return errors;
+	}
+
+	private void importBeerChunk(final List<ImportRow<BeerDto>> chunk, final ImportResultDto result) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		Set<Long> existingManufacturerIds = manufacturerRepository.findExistingIds(
+				chunk.stream().map(row -> row.value.getManufacturerId()).collect(Collectors.toSet()));
+		List<ImportRow<BeerDto>> beersToInsert = new ArrayList<ImportRow<BeerDto>>(chunk.size());
+		for (ImportRow<BeerDto> row : chunk) {
+			if (existingManufacturerIds.contains(row.value.getManufacturerId())) {
+				beersToInsert.add(row);
+			} else {
+				reject(result, row.number, List.of(BeerServiceImpl.MANUFACTURER_NOT_FOUND_ERROR_MESSAGE));
+			}
+		}
+		insertChunk(beersToInsert, catalogueBatchRepository::insertBeers, result);
+		// the new beers are in no cache yet, only the pages of their manufacturers change
+		cacheInvalidationBus.beersChanged(List.of(),
+				beersToInsert.stream().map(row -> row.value.getManufacturerId()).collect(Collectors.toSet()));
+	}
+
+	private void importManufacturerChunk(final List<ImportRow<ManufacturerDto>> chunk, final ImportResultDto result) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		insertChunk(chunk, catalogueBatchRepository::insertManufacturers, result);
+		cacheInvalidationBus.manufacturersChanged(List.of());
+	}
+
+	private <T> void insertChunk(final List<ImportRow<T>> chunk, final Function<List<T>, Integer> batchInserter,
+			final ImportResultDto result) {
+		if (chunk.isEmpty()) {
+			return;
+		}
+		try {
+			int inserted = batchInserter.apply(chunk.stream().map(row -> row.value).collect(Collectors.toList()));
+			result.setImported(result.getImported() + inserted);
+		} catch (DataAccessException dae) {
+			// the batch was rolled back, the rows are inserted one by one to find the ones the database refuses
+			for (ImportRow<T> row : chunk) {
+				try {
+					result.setImported(result.getImported() + batchInserter.apply(List.of(row.value)));
+				} catch (DataAccessException rowException) {
+					reject(result, row.number, List.of(rowException.getMostSpecificCause().getMessage()));
+				}
+			}
+		}
+	}
+
+	private void reject(final ImportResultDto result, final long rowNumber, final List<String> errors) {
+		result.setRejected(result.getRejected() + 1);
+		// the rows of a chunk are rejected after the later rows failed the validation, the report keeps the first
+		// rows in order
+		List<ImportErrorDto> reportedErrors = result.getErrors();
+		int position = reportedErrors.size();
+		while (position > 0 && reportedErrors.get(position - 1).getRow() > rowNumber) {
+			position--;
+		}
+		if (position < MAX_REPORTED_ERRORS) {
+			reportedErrors.add(position, new ImportErrorDto(rowNumber, errors));
+			if (reportedErrors.size() > MAX_REPORTED_ERRORS) {
+				reportedErrors.remove(reportedErrors.size() - 1);
+			}
+		}
+	}
+
+	private static class ImportRow<T> {
+
+		private final long number;
+
+		private final T value;
+
+		private ImportRow(final long number, final T value) {
+			this.number = number;
+			this.value = value;
+		}
+
+	}
+
+}
@@ -0,0 +1,256 @@
+package com.haufeGroup.beerCatalogue.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.boot.task.TaskSchedulerBuilder;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.validation.annotation.Validated;
+
+import com.haufeGroup.beerCatalogue.config.CacheConfig;
+import com.haufeGroup.beerCatalogue.dto.DeletionJobDto;
+import com.haufeGroup.beerCatalogue.dto.DeletionJobDto.Status;
+import com.haufeGroup.beerCatalogue.exception.ErrorType;
+import com.haufeGroup.beerCatalogue.exception.ManufacturerServiceException;
+import com.haufeGroup.beerCatalogue.exception.ServiceUnavailableException;
+import com.haufeGroup.beerCatalogue.invalidation.CacheInvalidationBus;
+import com.haufeGroup.beerCatalogue.model.DeletionJob;
+import com.haufeGroup.beerCatalogue.repository.BeerRepository;
+import com.haufeGroup.beerCatalogue.repository.DeletionJobRepository;
+import com.haufeGroup.beerCatalogue.repository.ManufacturerRepository;
+
+// the manufacturer is soft deleted in the request, its beers in short transactions of chunkSize beers afterwards, so
+// neither a request thread nor the row locks of all the beers are held until the end. The jobs are rows shared by the
+// instances: any instance reports their progress, and the instance that runs a job renews its lease before every
+// chunk. The unfinished jobs of a stopped instance are taken over by another one once their lease expires
+@Service
+@Validated
+public class ManufacturerDeletionServiceImpl implements IManufacturerDeletionService {
+
+	public static final String DELETION_JOB_NOT_FOUND_ERROR_MESSAGE = "the id provided not belongs to a deletion job.";
+
+	public static final String DELETION_QUEUE_FULL_ERROR_MESSAGE = "too many manufacturer deletions are pending, try again later.";
+
+	public static final long DELETION_RETRY_AFTER_SECONDS = 10;
+
+	private static final Duration FINISHED_JOB_RETENTION = Duration.ofHours(1);
+
+	@Value("${beerCatalogue.deletion.chunk-size:1000}")
+	private int chunkSize;
+
+	@Value("${beerCatalogue.deletion.threads:2}")
+	private int threads;
+
+	@Value("${beerCatalogue.deletion.queue-capacity:100}")
+	private int queueCapacity;
+
+	@Value("${beerCatalogue.deletion.lease:30000}")
+	private long leaseMillis;
+
+	@Autowired
+	ManufacturerRepository manufacturerRepository;
+
+	@Autowired
+	BeerRepository beerRepository;
+
+	@Autowired
+	DeletionJobRepository deletionJobRepository;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	PlatformTransactionManager transactionManager;
+
+	@Autowired
+	TaskExecutorBuilder taskExecutorBuilder;
+
+	@Autowired
+	TaskSchedulerBuilder taskSchedulerBuilder;
+
+	@Autowired
+	CacheInvalidationBus cacheInvalidationBus;
+
+	// the owner of the jobs run by this instance, a restarted instance takes over its old jobs like any other
+	private final String instance = UUID.randomUUID().toString();
+
+	private TransactionTemplate transactionTemplate;
+
+	private ThreadPoolTaskExecutor executor;
+
+	private ThreadPoolTaskScheduler scheduler;
+
+	// a permit per running or queued job, so the executor never rejects a job after its manufacturer was deleted
+	private Semaphore pendingJobs;
+
+	@PostConstruct
+	public void startExecutor() {
+		transactionTemplate = new TransactionTemplate(transactionManager);
+		executor = taskExecutorBuilder.corePoolSize(threads).maxPoolSize(threads).queueCapacity(queueCapacity)
+				.threadNamePrefix("manufacturer-deletion-").build();
+		pendingJobs = new Semaphore(threads + queueCapacity);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.initialize();
+		scheduler = taskSchedulerBuilder.poolSize(1).threadNamePrefix("manufacturer-deletion-resume-").build();
+		scheduler.initialize();
+	}
+
+	@PreDestroy
+	public void stopExecutor() {
+		scheduler.shutdown();
+		executor.shutdown();
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void resumeDeletionsPeriodically() {
+		scheduler.scheduleWithFixedDelay(this::resumeDeletions, Duration.ofMillis(leaseMillis));
+	}
+
+	@Override
+	public DeletionJobDto startManufacturerDeletion(@NotNull final Long manufacturerId) {
+		// a full queue rejects the deletion before the manufacturer is touched, the request thread never runs the job
+		if (!pendingJobs.tryAcquire()) {
+			throw new ServiceUnavailableException(DELETION_QUEUE_FULL_ERROR_MESSAGE, DELETION_RETRY_AFTER_SECONDS);
+		}
+		try {
+			return startJob(manufacturerId);
+		} catch (RuntimeException re) {
+			pendingJobs.release();
+			throw re;
+		}
+	}
+
+	// the unfinished jobs whose instance stopped renewing their lease, only as many as this instance has room for
+	@Override
+	public List<DeletionJobDto> resumeDeletions() {
+		transactionTemplate.executeWithoutResult(status -> deletionJobRepository
+				.deleteFinishedBefore(Instant.now().minus(FINISHED_JOB_RETENTION)));
+		List<String> expiredJobIds = transactionTemplate
+				.execute(status -> deletionJobRepository.findIdsWithExpiredLease(instance, Instant.now()));
+		List<DeletionJobDto> resumedJobs = new ArrayList<DeletionJobDto>();
+		for (String jobId : expiredJobIds) {
+			if (!pendingJobs.tryAcquire()) {
+				break;
+			}
+			DeletionJobDto resumedJob = transactionTemplate.execute(status -> deletionJobRepository
+					.claim(jobId, instance, leaseUntil(), Instant.now()) == 1
+							? deletionJobRepository.findDeletionJobDtoById(jobId).orElseThrow()
+							: null);
+			if (resumedJob == null) {
+				// another instance took it first
+				pendingJobs.release();
+				continue;
+			}
+			resumedJobs.add(resumedJob);
+			executor.execute(() -> runJob(resumedJob));
+		}
+		return resumedJobs;
+	}
+
+	private DeletionJobDto startJob(final Long manufacturerId) {
+		return transactionTemplate.execute(status -> {
+			// the @Where of the manufacturer hides it as soon as this transaction commits
+			if (manufacturerRepository.softDeleteByIdAndVersion(manufacturerId, null) == 0) {
+				throw new ManufacturerServiceException(ManufacturerServiceImpl.MANUFACTURER_NOT_FOUND_ERROR_MESSAGE,
+						ErrorType.NOT_FOUND);
+			}
+			DeletionJob newJob = new DeletionJob();
+			newJob.setManufacturerId(manufacturerId);
+			newJob.setStatus(Status.PENDING);
+			newJob.setTotalBeers(beerRepository.countByManufacturerId(manufacturerId));
+			newJob.setOwner(instance);
+			newJob.setLeaseUntil(leaseUntil());
+			deletionJobRepository.save(newJob);
+			DeletionJobDto newJobDto = new DeletionJobDto(newJob.getId(), manufacturerId, newJob.getStatus(),
+					newJob.getTotalBeers(), 0, null);
+			cacheInvalidationBus.manufacturersChanged(List.of(manufacturerId));
+			cacheInvalidationBus.beersChanged(List.of(), List.of(manufacturerId));
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					cacheManager.getCache(CacheConfig.MANUFACTURER_CACHE).evict(manufacturerId);
+					executor.execute(() -> runJob(newJobDto));
+				}
+			});
+			return newJobDto;
+		});
+	}
+
+	@Override
+	public DeletionJobDto getDeletionJob(@NotNull final String jobId) {
+		return deletionJobRepository.findDeletionJobDtoById(jobId).orElseThrow(
+				() -> new ManufacturerServiceException(DELETION_JOB_NOT_FOUND_ERROR_MESSAGE, ErrorType.NOT_FOUND));
+	}
+
+	private void runJob(final DeletionJobDto job) {
+		try {
+			deleteBeers(job);
+		} finally {
+			pendingJobs.release();
+		}
+	}
+
+	private void deleteBeers(final DeletionJobDto job) {
+		Cache beerCache = cacheManager.getCache(CacheConfig.BEER_CACHE);
+		try {
+			List<Long> beerIds;
+			do {
+				// the beers deleted by the previous chunk are filtered by the @Where, so the first page is always read
+				beerIds = transactionTemplate.execute(status -> {
+					// the renewal locks the job, an instance that lost it to another one stops before its chunk
+					if (deletionJobRepository.renewLease(job.getId(), instance, Status.RUNNING, leaseUntil()) == 0) {
+						return null;
+					}
+					List<Long> chunk = beerRepository.findIdsByManufacturerId(job.getManufacturerId(),
+							PageRequest.of(0, chunkSize));
+					if (!chunk.isEmpty()) {
+						beerRepository.softDeleteByIds(chunk);
+						deletionJobRepository.addDeletedBeers(job.getId(), chunk.size());
+						cacheInvalidationBus.beersChanged(chunk, List.of(job.getManufacturerId()));
+					}
+					return chunk;
+				});
+				if (beerIds == null) {
+					return;
+				}
+				beerIds.forEach(beerCache::evict);
+			} while (beerIds.size() == chunkSize);
+			finish(job, Status.COMPLETED, null);
+		} catch (RuntimeException re) {
+			finish(job, Status.FAILED, re.getMessage());
+		}
+	}
+
+	private void finish(final DeletionJobDto job, final Status status, final String error) {
+		transactionTemplate.executeWithoutResult(transactionStatus -> deletionJobRepository.finish(job.getId(),
+				instance, status, error, Instant.now()));
+	}
+
+	// the clocks of the instances are expected to differ by much less than the lease
+	private Instant leaseUntil() {
+		return Instant.now().plusMillis(leaseMillis);
+	}
+
+}
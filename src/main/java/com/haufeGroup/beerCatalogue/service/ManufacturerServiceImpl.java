@@ -1,22 +1,44 @@
 package com.haufeGroup.beerCatalogue.service;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import javax.validation.constraints.NotNull;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PropertyPath;
 import org.springframework.data.mapping.PropertyReferenceException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.haufeGroup.beerCatalogue.config.CacheConfig;
+import com.haufeGroup.beerCatalogue.datasource.ReadReplica;
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
+import com.haufeGroup.beerCatalogue.exception.BeerCatalogueException;
+import com.haufeGroup.beerCatalogue.exception.ErrorType;
 import com.haufeGroup.beerCatalogue.exception.ManufacturerServiceException;
+import com.haufeGroup.beerCatalogue.invalidation.CacheInvalidationBus;
 import com.haufeGroup.beerCatalogue.mapper.ManufacturerMapper;
 import com.haufeGroup.beerCatalogue.model.Beer;
 import com.haufeGroup.beerCatalogue.model.Manufacturer;
 import com.haufeGroup.beerCatalogue.repository.BeerRepository;
 import com.haufeGroup.beerCatalogue.repository.ManufacturerRepository;
+import com.haufeGroup.beerCatalogue.util.BatchLookup;
+import com.haufeGroup.beerCatalogue.util.JsonMergePatch;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
 
 @Service
 @Validated
@@ -28,6 +50,10 @@ public class ManufacturerServiceImpl implements IManufacturerService {
 
 	public static final String MANUFACTURER_ID_PROVIDED_ERROR_MESSAGE = "it's not possible create a manufacturer with a specific id.";
 
+	public static final String MODIFY_MANUFACTURER_ID_ERROR_MESSAGE = "Modify id of existing manufacturer is not allowed.";
+
+	public static final String MANUFACTURER_VERSION_MISMATCH_ERROR_MESSAGE = "the manufacturer was modified by another request, get it again before modifying it.";
+
 	@Autowired
 	ManufacturerRepository manufacturerRepository;
 
@@ -37,58 +63,170 @@ public class ManufacturerServiceImpl implements IManufacturerService {
 	@Autowired
 	ManufacturerMapper modelMapper;
 
+	@Autowired
+	BatchLookup batchLookup;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	JsonMergePatch jsonMergePatch;
+
+	@Autowired
+	CacheInvalidationBus cacheInvalidationBus;
+
 	@Override
-	public Page<Manufacturer> getAllManufacturesWithSortPagination(@NotNull final Pageable sortPageable) {
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public Page<ManufacturerDto> getAllManufacturesWithSortPagination(@NotNull final Pageable sortPageable) {
 		try {
-			return manufacturerRepository.findAll(sortPageable);
+			checkThatTheSortCriteriaIsValid(sortPageable.getSort(), Manufacturer.class);
+			return manufacturerRepository.findAllManufacturerDtos(sortPageable);
 		} catch (PropertyReferenceException pre) {
-			throw new ManufacturerServiceException(INVALID_SORT_CRITERIA);
+			throw new ManufacturerServiceException(INVALID_SORT_CRITERIA, ErrorType.INVALID_SORT);
 		}
 	}
 
 	@Override
-	public Manufacturer getManufacturerById(@NotNull final Long manufacturerId) {
-		if (manufacturerRepository.existsById(manufacturerId)) {
-			return manufacturerRepository.findById(manufacturerId).get();
-		} else {
-			throw new ManufacturerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE);
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public Slice<ManufacturerDto> getAllManufacturesWithSortSlice(@NotNull final Pageable sortPageable) {
+		try {
+			checkThatTheSortCriteriaIsValid(sortPageable.getSort(), Manufacturer.class);
+			return manufacturerRepository.findManufacturerDtoSlice(sortPageable);
+		} catch (PropertyReferenceException pre) {
+			throw new ManufacturerServiceException(INVALID_SORT_CRITERIA, ErrorType.INVALID_SORT);
+		}
+	}
+
+	@Override
+	@ReadReplica
+	@Transactional(readOnly = true)
+	@Cacheable(cacheNames = CacheConfig.MANUFACTURER_CACHE, key = "#manufacturerId", condition = "#manufacturerId != null")
+	public ManufacturerDto getManufacturerById(@NotNull final Long manufacturerId) {
+		return manufacturerRepository.findManufacturerDtoById(manufacturerId)
+				.orElseThrow(() -> new ManufacturerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE, ErrorType.NOT_FOUND));
+	}
+
+	@Override
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public BatchResultDto<ManufacturerDto> getManufacturersByIds(@NotNull final List<Long> manufacturerIds) {
+		return batchLookup.lookUp(manufacturerIds, cacheManager.getCache(CacheConfig.MANUFACTURER_CACHE),
+				ManufacturerDto.class, ManufacturerDto::getId, manufacturerRepository::findManufacturerDtosByIds);
+	}
+
+	@Override
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public Page<BeerDto> getManufacturerBeersWithSortPagination(@NotNull final Long manufacturerId,
+			@NotNull final Pageable sortPageable) {
+		checkThatManufacturerExists(manufacturerId);
+		try {
+			checkThatTheSortCriteriaIsValid(sortPageable.getSort(), Beer.class);
+			return beerRepository.findBeerDtosByManufacturerId(manufacturerId, sortPageable);
+		} catch (PropertyReferenceException pre) {
+			throw new ManufacturerServiceException(INVALID_SORT_CRITERIA, ErrorType.INVALID_SORT);
 		}
 	}
 
 	@Override
-	public Page<Beer> getManufacturerBeersWithSortPagination(@NotNull final Long manufacturerId,
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public Slice<BeerDto> getManufacturerBeersWithSortSlice(@NotNull final Long manufacturerId,
 			@NotNull final Pageable sortPageable) {
 		checkThatManufacturerExists(manufacturerId);
 		try {
-			return beerRepository.findByManufacturerId(manufacturerId, sortPageable);
+			checkThatTheSortCriteriaIsValid(sortPageable.getSort(), Beer.class);
+			return beerRepository.findBeerDtoSliceByManufacturerId(manufacturerId, sortPageable);
 		} catch (PropertyReferenceException pre) {
-			throw new ManufacturerServiceException(INVALID_SORT_CRITERIA);
+			throw new ManufacturerServiceException(INVALID_SORT_CRITERIA, ErrorType.INVALID_SORT);
 		}
 	}
 
 	@Override
+	@ReadReplica
+	@Transactional(readOnly = true)
+	public Slice<BeerDto> getManufacturerBeersAfterCursor(@NotNull final Long manufacturerId,
+			@NotNull final Sort sortCriteria, final KeysetCursor cursor, final int size) {
+		checkThatManufacturerExists(manufacturerId);
+		return beerRepository.findNextBeers(manufacturerId, sortCriteria, cursor, size);
+	}
+
+	@Override
+	@Transactional
 	public Manufacturer addNewManufacturer(@NotNull final Manufacturer newManufacturer) {
 		checkThatManufacturerIdIsNotProvided(newManufacturer.getId());
-		return manufacturerRepository.save(newManufacturer);
+		Manufacturer savedManufacturer = manufacturerRepository.save(newManufacturer);
+		cacheInvalidationBus.manufacturersChanged(List.of(savedManufacturer.getId()));
+		return savedManufacturer;
 	}
 
 	@Override
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.MANUFACTURER_CACHE, key = "#manufacturerToModify.id")
 	public Manufacturer updateManufacturer(@NotNull final Manufacturer manufacturerToModify) {
 		try {
 			Manufacturer oldManufacturer = manufacturerRepository.findById(manufacturerToModify.getId()).orElseThrow();
+			if (manufacturerToModify.getVersion() != null
+					&& !manufacturerToModify.getVersion().equals(oldManufacturer.getVersion())) {
+				throw new ManufacturerServiceException(MANUFACTURER_VERSION_MISMATCH_ERROR_MESSAGE, ErrorType.PRECONDITION_FAILED);
+			}
 			modelMapper.mergeEntity(manufacturerToModify, oldManufacturer);
-			return manufacturerRepository.save(oldManufacturer);
+			Manufacturer modifiedManufacturer = manufacturerRepository.save(oldManufacturer);
+			manufacturerRepository.flush();
+			cacheInvalidationBus.manufacturersChanged(List.of(manufacturerToModify.getId()));
+			return modifiedManufacturer;
 		} catch (NoSuchElementException nsee) {
-			throw new ManufacturerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE);
+			throw new ManufacturerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE, ErrorType.NOT_FOUND);
+		} catch (ObjectOptimisticLockingFailureException oolfe) {
+			throw new ManufacturerServiceException(MANUFACTURER_VERSION_MISMATCH_ERROR_MESSAGE, ErrorType.PRECONDITION_FAILED);
+		} catch (BeerCatalogueException bce) {
+			// the checks already tell what is wrong with the update
+			throw bce;
 		} catch (Exception ex) {
 			throw new ManufacturerServiceException(ex.getMessage());
 		}
 	}
 
 	@Override
-	public void deleteManufacturerById(@NotNull final Long manufacturerId) {
-		checkThatManufacturerExists(manufacturerId);
-		manufacturerRepository.deleteById(manufacturerId);
+	@Transactional
+	@CacheEvict(cacheNames = CacheConfig.MANUFACTURER_CACHE, key = "#manufacturerId")
+	public ManufacturerDto patchManufacturer(@NotNull final Long manufacturerId, @NotNull final JsonNode patch) {
+		Manufacturer manufacturer = manufacturerRepository.findById(manufacturerId)
+				.orElseThrow(() -> new ManufacturerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE, ErrorType.NOT_FOUND));
+		ManufacturerDto patchedManufacturer = jsonMergePatch.apply(modelMapper.mapFromEntity(manufacturer), patch,
+				ManufacturerDto.class);
+		if (!manufacturerId.equals(patchedManufacturer.getId())) {
+			throw new ManufacturerServiceException(MODIFY_MANUFACTURER_ID_ERROR_MESSAGE);
+		}
+		// without save the merge is not cascaded, so the lazy beer list is never loaded
+		modelMapper.mergeEntity(modelMapper.mapFromDto(patchedManufacturer), manufacturer);
+		cacheInvalidationBus.manufacturersChanged(List.of(manufacturerId));
+		return patchedManufacturer;
+	}
+
+	@Override
+	@Transactional
+	// deleting a manufacturer soft deletes its beers as well
+	@Caching(evict = { @CacheEvict(cacheNames = CacheConfig.MANUFACTURER_CACHE, key = "#manufacturerId"),
+			@CacheEvict(cacheNames = CacheConfig.BEER_CACHE, allEntries = true) })
+	public void deleteManufacturerById(@NotNull final Long manufacturerId, final Long expectedVersion) {
+		// the update checks the version, a null one matches any, and moves it. Only a refused update looks for the
+		// reason
+		if (manufacturerRepository.softDeleteByIdAndVersion(manufacturerId, expectedVersion) == 0) {
+			checkThatManufacturerExists(manufacturerId);
+			throw new ManufacturerServiceException(MANUFACTURER_VERSION_MISMATCH_ERROR_MESSAGE, ErrorType.PRECONDITION_FAILED);
+		}
+		// set-based update, the beers are never loaded whatever their number
+		beerRepository.softDeleteByManufacturerId(manufacturerId);
+		cacheInvalidationBus.manufacturersChanged(List.of(manufacturerId));
+		cacheInvalidationBus.beersChanged(null, List.of(manufacturerId));
+	}
+
+	private void checkThatTheSortCriteriaIsValid(final Sort sortCriteria, final Class<?> sortedType) {
+		// the projection queries do not resolve the sort properties against the entity
+		sortCriteria.forEach(order -> PropertyPath.from(order.getProperty(), sortedType));
 	}
 
 	private void checkThatManufacturerIdIsNotProvided(final Long manufacturerId) {
@@ -99,7 +237,7 @@ public class ManufacturerServiceImpl implements IManufacturerService {
 
 	private void checkThatManufacturerExists(final Long manufacturerId) {
 		if (!manufacturerRepository.existsById(manufacturerId)) {
-			throw new ManufacturerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE);
+			throw new ManufacturerServiceException(MANUFACTURER_NOT_FOUND_ERROR_MESSAGE, ErrorType.NOT_FOUND);
 		}
 	}
 }
@@ -0,0 +1,65 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Component;
+
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.exception.BatchLookupException;
+
+// resolves a list of ids from the near cache first and the misses with one IN query per chunk
+@Component
+public class BatchLookup {
+
+	public static final int MAX_IDS = 1000;
+
+	// below the IN list limits of the usual databases and small enough to reuse the statement plans
+	public static final int CHUNK_SIZE = 200;
+
+	public static final String TOO_MANY_IDS = "Too many ids provided. The maximum number of ids is " + MAX_IDS + ".";
+
+	public <T> BatchResultDto<T> lookUp(final List<Long> ids, final Cache cache, final Class<T> type,
+			final Function<T, Long> idGetter, final Function<Collection<Long>, List<T>> loader) {
+		LinkedHashSet<Long> uniqueIds = new LinkedHashSet<Long>(ids);
+		uniqueIds.remove(null);
+		if (uniqueIds.size() > MAX_IDS) {
+			throw new BatchLookupException(TOO_MANY_IDS);
+		}
+		Map<Long, T> found = new HashMap<Long, T>();
+		List<Long> misses = new ArrayList<Long>();
+		for (Long id : uniqueIds) {
+			T cached = cache.get(id, type);
+			if (cached != null) {
+				found.put(id, cached);
+			} else {
+				misses.add(id);
+			}
+		}
+		for (int start = 0; start < misses.size(); start += CHUNK_SIZE) {
+			for (T loaded : loader.apply(misses.subList(start, Math.min(start + CHUNK_SIZE, misses.size())))) {
+				Long id = idGetter.apply(loaded);
+				found.put(id, loaded);
+				cache.put(id, loaded);
+			}
+		}
+		List<T> content = new ArrayList<T>(found.size());
+		List<Long> notFound = new ArrayList<Long>();
+		for (Long id : uniqueIds) {
+			T value = found.get(id);
+			if (value != null) {
+				content.add(value);
+			} else {
+				notFound.add(id);
+			}
+		}
+		return new BatchResultDto<T>(content, notFound);
+	}
+
+}
@@ -0,0 +1,145 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.haufeGroup.beerCatalogue.dto.BeerExportDto;
+import com.haufeGroup.beerCatalogue.exception.ExportFormatException;
+
+// writes the exported beers one by one to the response, nothing is kept in memory but the output buffer
+public class BeerExportWriter implements Closeable {
+
+	public static final String INVALID_EXPORT_FORMAT = "The export format provided is not valid. The allowed formats are: ndjson and csv.";
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+
+	private static final String CSV_HEADER = "id,name,graduation,type,description,manufacturerId";
+
+	private static final String CSV_MANUFACTURER_HEADER = ",manufacturerName,manufacturerNationality";
+
+	public enum Format {
+
+		NDJSON("application/x-ndjson"),
+
+		CSV("text/csv");
+
+		private final String contentType;
+
+		private Format(final String contentType) {
+			this.contentType = contentType;
+		}
+
+		public String getContentType() {
+			return contentType;
+		}
+
+		public String getFileExtension() {
+			return name().toLowerCase();
+		}
+
+		public static Format from(final String value) {
+			for (Format format : values()) {
+				if (format.name().equalsIgnoreCase(value)) {
+					return format;
+				}
+			}
+			throw new ExportFormatException(INVALID_EXPORT_FORMAT);
+		}
+	}
+
+	private final Format format;
+
+	private final boolean withManufacturer;
+
+	private JsonGenerator jsonGenerator;
+
+	private ObjectWriter jsonWriter;
+
+	private Writer csvWriter;
+
+	private long writtenBeers;
+
+	public BeerExportWriter(final Format format, final boolean withManufacturer, final OutputStream outputStream,
+			final ObjectMapper objectMapper) throws IOException {
+		this.format = format;
+		this.withManufacturer = withManufacturer;
+		if (format == Format.NDJSON) {
+			jsonGenerator = objectMapper.getFactory().createGenerator(outputStream);
+			jsonGenerator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			jsonGenerator.setRootValueSeparator(new SerializedString("\n"));
+			// the generator flushes by itself when its buffer is full
+			jsonWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+		} else {
+			csvWriter = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), BUFFER_SIZE);
+			csvWriter.write(withManufacturer ? CSV_HEADER + CSV_MANUFACTURER_HEADER : CSV_HEADER);
+			csvWriter.write('\n');
+		}
+	}
+
+	public void write(final BeerExportDto beer) {
+		try {
+			if (format == Format.NDJSON) {
+				jsonWriter.writeValue(jsonGenerator, beer);
+			} else {
+				writeCsvLine(beer);
+			}
+			writtenBeers++;
+		} catch (IOException ioe) {
+			throw new UncheckedIOException(ioe);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (format == Format.NDJSON) {
+			if (writtenBeers > 0) {
+				// the separator is only written between the lines
+				jsonGenerator.writeRaw('\n');
+			}
+			jsonGenerator.close();
+		} else {
+			csvWriter.flush();
+		}
+	}
+
+	private void writeCsvLine(final BeerExportDto beer) throws IOException {
+		csvWriter.write(String.valueOf(beer.getId()));
+		writeCsvField(beer.getName());
+		writeCsvField(beer.getGraduation());
+		writeCsvField(beer.getType());
+		writeCsvField(beer.getDescription());
+		csvWriter.write(',');
+		csvWriter.write(String.valueOf(beer.getManufacturerId()));
+		if (withManufacturer) {
+			writeCsvField(beer.getManufacturerName());
+			writeCsvField(beer.getManufacturerNationality());
+		}
+		csvWriter.write('\n');
+	}
+
+	private void writeCsvField(final String value) throws IOException {
+		csvWriter.write(',');
+		if (value == null) {
+			return;
+		}
+		if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+			csvWriter.write(value);
+			return;
+		}
+		csvWriter.write('"');
+		csvWriter.write(value.replace("\"", "\"\""));
+		csvWriter.write('"');
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.io.Serializable;
+import java.util.Properties;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+// pooled sequence by default: one round trip every INCREMENT_SIZE ids and, unlike the identity columns, the
+// inserts can be batched. The node strategy is for several instances that must not share the sequence.
+public class CatalogueIdGenerator extends SequenceStyleGenerator {
+
+	public static final String STRATEGY_SETTING = "beerCatalogue.id.strategy";
+
+	public static final String NODE_SETTING = "beerCatalogue.id.node";
+
+	public static final String INITIAL_VALUE_SETTING = "beerCatalogue.id.initial_value";
+
+	public static final String SEQUENCE_STRATEGY = "sequence";
+
+	public static final String NODE_STRATEGY = "node";
+
+	public static final int INCREMENT_SIZE = 50;
+
+	public static final String UNKNOWN_STRATEGY_ERROR_MESSAGE = "the id strategy should be sequence or node.";
+
+	public static final String NODE_NOT_PROVIDED_ERROR_MESSAGE = "the node strategy needs the setting " + NODE_SETTING
+			+ ".";
+
+	private NodeIdGenerator nodeIdGenerator;
+
+	@Override
+	public void configure(final Type type, final Properties params, final ServiceRegistry serviceRegistry)
+			throws MappingException {
+		ConfigurationService configurationService = serviceRegistry.getService(ConfigurationService.class);
+		Properties generatorParams = new Properties();
+		generatorParams.putAll(params);
+		generatorParams.putIfAbsent(INCREMENT_PARAM, String.valueOf(INCREMENT_SIZE));
+		generatorParams.putIfAbsent(OPT_PARAM, StandardOptimizerDescriptor.POOLED.getExternalName());
+		String initialValue = configurationService.getSetting(INITIAL_VALUE_SETTING, StandardConverters.STRING);
+		if (initialValue != null) {
+			generatorParams.put(INITIAL_PARAM, initialValue);
+		}
+		super.configure(type, generatorParams, serviceRegistry);
+
+		String strategy = configurationService.getSetting(STRATEGY_SETTING, StandardConverters.STRING,
+				SEQUENCE_STRATEGY);
+		if (NODE_STRATEGY.equals(strategy)) {
+			String node = configurationService.getSetting(NODE_SETTING, StandardConverters.STRING);
+			if (node == null) {
+				throw new MappingException(NODE_NOT_PROVIDED_ERROR_MESSAGE);
+			}
+			try {
+				nodeIdGenerator = new NodeIdGenerator(Long.parseLong(node.trim()));
+			} catch (IllegalArgumentException iae) {
+				throw new MappingException(NodeIdGenerator.INVALID_NODE_ERROR_MESSAGE, iae);
+			}
+		} else if (!SEQUENCE_STRATEGY.equals(strategy)) {
+			throw new MappingException(UNKNOWN_STRATEGY_ERROR_MESSAGE);
+		}
+	}
+
+	@Override
+	public Serializable generate(final SharedSessionContractImplementor session, final Object object) {
+		if (nodeIdGenerator != null) {
+			return nodeIdGenerator.nextId();
+		}
+		return super.generate(session, object);
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.haufeGroup.beerCatalogue.exception.ImportException;
+
+// reads the rows of a json array or a csv with header one by one, the body is never loaded at once
+@Component
+public class CatalogueReader {
+
+	public static final String UNSUPPORTED_IMPORT_FORMAT = "The import format is not supported. The allowed content types are: application/json with an array of elements and text/csv with a header.";
+
+	public static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	private final CsvMapper csvMapper = CsvMapper.builder().enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).build();
+
+	public <T> MappingIterator<T> readValues(final InputStream inputStream, final MediaType contentType,
+			final Class<T> rowType) throws IOException {
+		if (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+			return objectMapper.readerFor(rowType).readValues(inputStream);
+		}
+		if (TEXT_CSV.isCompatibleWith(contentType)) {
+			return csvMapper.readerFor(rowType).with(CsvSchema.emptySchema().withHeader()).readValues(inputStream);
+		}
+		throw new ImportException(UNSUPPORTED_IMPORT_FORMAT);
+	}
+
+}
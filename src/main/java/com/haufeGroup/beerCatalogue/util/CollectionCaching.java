@@ -0,0 +1,86 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import com.haufeGroup.beerCatalogue.util.EncodedResponseCache.EncodedResponse;
+
+// conditional responses of the collections: the tag is compared before the collection is read, so a matching
+// If-None-Match gets a 304 without any query
+@Component
+public class CollectionCaching {
+
+	private static final String WEAK_PREFIX = "W/";
+
+	@Value("${beerCatalogue.http.collections.max-age:5}")
+	private long maxAgeSeconds;
+
+	@Value("${beerCatalogue.http.collections.stale-while-revalidate:30}")
+	private long staleWhileRevalidateSeconds;
+
+	@Autowired
+	EncodedResponseCache encodedResponseCache;
+
+	private CacheControl cacheControl;
+
+	@PostConstruct
+	public void createCacheControl() {
+		// the collections are the same for every client, so shared caches like a cdn may keep them
+		cacheControl = CacheControl.maxAge(maxAgeSeconds, TimeUnit.SECONDS)
+				.staleWhileRevalidate(staleWhileRevalidateSeconds, TimeUnit.SECONDS).cachePublic();
+	}
+
+	public <T> ResponseEntity<T> respond(final WebRequest request, final String tag, final Supplier<T> collection) {
+		if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), tag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).cacheControl(cacheControl).build();
+		}
+		return ResponseEntity.ok().eTag(tag).cacheControl(cacheControl).body(collection.get());
+	}
+
+	// for the hottest collections: the body of their first pages is the cached json of the page
+	public ResponseEntity<?> respondEncoded(final WebRequest request, final String collectionName,
+			final Pageable pageable, final String tag, final Supplier<?> collection) {
+		if (!encodedResponseCache.isCached(pageable)) {
+			return respond(request, tag, collection);
+		}
+		if (matches(request.getHeaderValues(HttpHeaders.IF_NONE_MATCH), tag)) {
+			return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(tag).cacheControl(cacheControl).build();
+		}
+		EncodedResponse response = encodedResponseCache.get(encodedResponseCache.key(collectionName, pageable), tag,
+				collection);
+		// written by the EncodedResponseHttpMessageConverter
+		return ResponseEntity.ok().eTag(response.getTag()).cacheControl(cacheControl)
+				.contentType(MediaType.APPLICATION_JSON).body(response);
+	}
+
+	// weak comparison, a client or a cache may send the tag with or without the weak prefix
+	private boolean matches(final String[] ifNoneMatch, final String tag) {
+		if (ifNoneMatch == null) {
+			return false;
+		}
+		HttpHeaders headers = new HttpHeaders();
+		headers.addAll(HttpHeaders.IF_NONE_MATCH, Arrays.asList(ifNoneMatch));
+		String opaqueTag = withoutWeakPrefix(tag);
+		return headers.getIfNoneMatch().stream()
+				.anyMatch(candidate -> "*".equals(candidate) || opaqueTag.equals(withoutWeakPrefix(candidate)));
+	}
+
+	private String withoutWeakPrefix(final String tag) {
+		return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.CursorPageDto;
+import com.haufeGroup.beerCatalogue.exception.ContinuationTokenException;
+import com.haufeGroup.beerCatalogue.exception.ErrorType;
+
+@Component
+public class ContinuationTokenCodec {
+
+	public static final String INVALID_CONTINUATION_TOKEN = "The continuation token provided is not valid. Please use the token returned by the previous page with the same sort criteria.";
+
+	public static final String UNSUPPORTED_SORT_CRITERIA = "The sort criteria provided is not supported by the cursor pagination. The allowed fields are: id, name, graduation, type and description.";
+
+	private static final String TOKEN_PART_SEPARATOR = ",";
+
+	private static final Map<String, SortKey> SORT_KEYS = Map.of( //
+			"id", new SortKey(BeerDto::getId, Long::valueOf), //
+			"name", new SortKey(BeerDto::getName, value -> value), //
+			"graduation", new SortKey(BeerDto::getGraduation, value -> value), //
+			"type", new SortKey(BeerDto::getType, value -> value), //
+			"description", new SortKey(BeerDto::getDescription, value -> value));
+
+	public CursorPageDto<BeerDto> toCursorPage(final List<BeerDto> content, final boolean hasNext,
+			final Sort sortCriteria) {
+		String nextCursor = hasNext ? encode(content.get(content.size() - 1), sortCriteria) : null;
+		return new CursorPageDto<BeerDto>(content, content.size(), nextCursor);
+	}
+
+	public String encode(final BeerDto lastBeer, final Sort sortCriteria) {
+		checkThatSortCriteriaIsSupported(sortCriteria);
+		List<String> tokenParts = new ArrayList<String>();
+		tokenParts.add(encodePart(getSortSignature(sortCriteria)));
+		for (Order order : sortCriteria) {
+			tokenParts.add(encodePart(String.valueOf(SORT_KEYS.get(order.getProperty()).extractor.apply(lastBeer))));
+		}
+		return encodePart(String.join(TOKEN_PART_SEPARATOR, tokenParts));
+	}
+
+	public KeysetCursor decode(final String token, final Sort sortCriteria) {
+		checkThatSortCriteriaIsSupported(sortCriteria);
+		if (!StringUtils.hasText(token)) {
+			// no token means the first page
+			return null;
+		}
+		try {
+			List<Order> orders = sortCriteria.toList();
+			String[] tokenParts = decodePart(token).split(TOKEN_PART_SEPARATOR, -1);
+			checkThatTokenMatchesTheSortCriteria(tokenParts, sortCriteria);
+			List<Comparable<?>> sortKeys = new ArrayList<Comparable<?>>();
+			for (int index = 0; index < orders.size(); index++) {
+				sortKeys.add(SORT_KEYS.get(orders.get(index).getProperty()).parser.apply(decodePart(tokenParts[index + 1])));
+			}
+			return new KeysetCursor(sortKeys);
+		} catch (IllegalArgumentException iae) {
+			throw new ContinuationTokenException(INVALID_CONTINUATION_TOKEN);
+		}
+	}
+
+	private void checkThatSortCriteriaIsSupported(final Sort sortCriteria) {
+		if (sortCriteria.isUnsorted()
+				|| sortCriteria.stream().anyMatch(order -> !SORT_KEYS.containsKey(order.getProperty()))) {
+			throw new ContinuationTokenException(UNSUPPORTED_SORT_CRITERIA, ErrorType.INVALID_SORT);
+		}
+	}
+
+	private void checkThatTokenMatchesTheSortCriteria(final String[] tokenParts, final Sort sortCriteria) {
+		if (tokenParts.length != sortCriteria.toList().size() + 1
+				|| !getSortSignature(sortCriteria).equals(decodePart(tokenParts[0]))) {
+			throw new ContinuationTokenException(INVALID_CONTINUATION_TOKEN);
+		}
+	}
+
+	private String getSortSignature(final Sort sortCriteria) {
+		return sortCriteria.stream().map(order -> order.getProperty() + ":" + order.getDirection())
+				.collect(Collectors.joining(TOKEN_PART_SEPARATOR));
+	}
+
+	private String encodePart(final String value) {
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private String decodePart(final String value) {
+		return new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+	}
+
+	private static class SortKey {
+
+		private final Function<BeerDto, Comparable<?>> extractor;
+
+		private final Function<String, Comparable<?>> parser;
+
+		private SortKey(final Function<BeerDto, Comparable<?>> extractor, final Function<String, Comparable<?>> parser) {
+			this.extractor = extractor;
+			this.parser = parser;
+		}
+	}
+
+}
@@ -0,0 +1,168 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.annotation.PostConstruct;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.config.CacheConfig;
+
+// the hottest pages are kept as the json bytes of the response in direct buffers, outside of the heap, so a hit runs
+// no query, no mapping and no serialization. An entry is valid while the tag of its collection is the same, a write
+// changes the tag and the pages it affects are encoded again. Under the same tag the content is the same, so an entry
+// is never encoded again only because of its age. Only the first pages of a collection are hot, the deeper ones would
+// just push them out of the cache.
+// After a write the old page is still served with its old tag, which matches its body, during the stale window while
+// it is encoded once in the background under the new tag. A page that is not cached, or stale for longer, is encoded
+// once for all the requests that wait for it
+@Component
+public class EncodedResponseCache {
+
+	@Value("${beerCatalogue.cache.responses.pages:3}")
+	private int cachedPages;
+
+	@Value("${beerCatalogue.cache.responses.stale-while-revalidate:30}")
+	private long staleWhileRevalidateSeconds;
+
+	@Autowired
+	CacheManager cacheManager;
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	TaskExecutor taskExecutor;
+
+	private final ConcurrentHashMap<String, CompletableFuture<EncodedResponse>> encodings =
+			new ConcurrentHashMap<String, CompletableFuture<EncodedResponse>>();
+
+	private Cache responses;
+
+	@PostConstruct
+	public void findCache() {
+		responses = cacheManager.getCache(CacheConfig.RESPONSE_CACHE);
+	}
+
+	// the sort is the parsed one, so the different spellings of the same criteria share the entry
+	public String key(final String collection, final Pageable pageable) {
+		return collection + "?page=" + pageable.getPageNumber() + "&size=" + pageable.getPageSize() + "&sort="
+				+ pageable.getSort();
+	}
+
+	public boolean isCached(final Pageable pageable) {
+		return pageable.getPageNumber() < cachedPages;
+	}
+
+	public EncodedResponse get(final String key, final String tag, final Supplier<?> collection) {
+		EncodedResponse response = responses.get(key, EncodedResponse.class);
+		if (response != null && response.getTag().equals(tag)) {
+			return response;
+		}
+		if (response != null
+				&& !response.isStaleLongerThan(TimeUnit.SECONDS.toNanos(staleWhileRevalidateSeconds))) {
+			encodeOnce(key, tag, collection, taskExecutor);
+			return response;
+		}
+		try {
+			return encodeOnce(key, tag, collection, Runnable::run).join();
+		} catch (CompletionException ce) {
+			throw ce.getCause() instanceof RuntimeException ? (RuntimeException) ce.getCause() : ce;
+		}
+	}
+
+	// the requests that come while a page is encoded get the same encoding instead of starting their own
+	private CompletableFuture<EncodedResponse> encodeOnce(final String key, final String tag,
+			final Supplier<?> collection, final Executor executor) {
+		CompletableFuture<EncodedResponse> encoding = new CompletableFuture<EncodedResponse>();
+		CompletableFuture<EncodedResponse> runningEncoding = encodings.putIfAbsent(key, encoding);
+		if (runningEncoding != null) {
+			return runningEncoding;
+		}
+		executor.execute(() -> {
+			try {
+				encoding.complete(encode(key, tag, collection));
+			} catch (RuntimeException re) {
+				// the collection can not be read anymore, the next request gets the error instead of the old page
+				responses.evict(key);
+				encoding.completeExceptionally(re);
+			} finally {
+				encodings.remove(key, encoding);
+			}
+		});
+		return encoding;
+	}
+
+	private EncodedResponse encode(final String key, final String tag, final Supplier<?> collection) {
+		byte[] json;
+		try {
+			json = objectMapper.writeValueAsBytes(collection.get());
+		} catch (JsonProcessingException jpe) {
+			throw new IllegalStateException(jpe);
+		}
+		EncodedResponse response = new EncodedResponse(tag, json);
+		responses.put(key, response);
+		return response;
+	}
+
+	public static class EncodedResponse {
+
+		private static final long NOT_STALE = Long.MIN_VALUE;
+
+		private final String tag;
+
+		private final ByteBuffer json;
+
+		private final AtomicLong staleSince = new AtomicLong(NOT_STALE);
+
+		private EncodedResponse(final String tag, final byte[] json) {
+			this.tag = tag;
+			this.json = ByteBuffer.allocateDirect(json.length).put(json).flip().asReadOnlyBuffer();
+		}
+
+		public String getTag() {
+			return tag;
+		}
+
+		public int getSize() {
+			return json.capacity();
+		}
+
+		// the first request that finds the entry under an older tag starts the stale window
+		private boolean isStaleLongerThan(final long nanos) {
+			long now = System.nanoTime();
+			staleSince.compareAndSet(NOT_STALE, now);
+			return now - staleSince.get() > nanos;
+		}
+
+		// the buffer is shared by the concurrent requests, every one writes its own view of it instead of a copy of the page
+		public void writeTo(final OutputStream out) throws IOException {
+			ByteBuffer view = json.duplicate();
+			WritableByteChannel channel = Channels.newChannel(out);
+			while (view.hasRemaining()) {
+				channel.write(view);
+			}
+		}
+
+	}
+
+}
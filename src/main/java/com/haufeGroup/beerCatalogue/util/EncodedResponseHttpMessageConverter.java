@@ -0,0 +1,50 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.stereotype.Component;
+
+import com.haufeGroup.beerCatalogue.util.EncodedResponseCache.EncodedResponse;
+
+// writes the cached json of a page as it is, spring boot adds it before the jackson converter
+@Component
+public class EncodedResponseHttpMessageConverter extends AbstractHttpMessageConverter<EncodedResponse> {
+
+	public EncodedResponseHttpMessageConverter() {
+		super(MediaType.APPLICATION_JSON);
+	}
+
+	@Override
+	protected boolean supports(final Class<?> clazz) {
+		return EncodedResponse.class.isAssignableFrom(clazz);
+	}
+
+	@Override
+	protected boolean canRead(final MediaType mediaType) {
+		return false;
+	}
+
+	@Override
+	protected EncodedResponse readInternal(final Class<? extends EncodedResponse> clazz,
+			final HttpInputMessage inputMessage) throws IOException, HttpMessageNotReadableException {
+		throw new HttpMessageNotReadableException("an encoded response is only written", inputMessage);
+	}
+
+	@Override
+	protected Long getContentLength(final EncodedResponse response, final MediaType contentType) {
+		return (long) response.getSize();
+	}
+
+	@Override
+	protected void writeInternal(final EncodedResponse response, final HttpOutputMessage outputMessage)
+			throws IOException, HttpMessageNotWritableException {
+		response.writeTo(outputMessage.getBody());
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import org.springframework.stereotype.Component;
+
+import com.haufeGroup.beerCatalogue.exception.EntityTagException;
+
+// the strong etag of a beer or a manufacturer is its version, so it changes with every modification of the row
+@Component
+public class EntityTags {
+
+	public static final String ANY_TAG = "*";
+
+	public static final String UNKNOWN_ENTITY_TAG = "The If-Match header does not match the current version of the element.";
+
+	public String fromVersion(final Long version) {
+		return "\"" + version + "\"";
+	}
+
+	// the expected version of an If-Match header, null when any version is accepted
+	public Long toVersion(final String ifMatch) {
+		if (ifMatch == null || ANY_TAG.equals(ifMatch.trim())) {
+			return null;
+		}
+		String tag = ifMatch.trim();
+		// weak tags and lists never match the strong comparison of a single version
+		if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+			throw new EntityTagException(UNKNOWN_ENTITY_TAG);
+		}
+		try {
+			return Long.valueOf(tag.substring(1, tag.length() - 1));
+		} catch (NumberFormatException nfe) {
+			throw new EntityTagException(UNKNOWN_ENTITY_TAG);
+		}
+	}
+
+}
@@ -0,0 +1,69 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validator;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.haufeGroup.beerCatalogue.exception.MergePatchException;
+
+// applies a json merge patch (rfc 7396) to a dto: the members of the patch replace the ones of the target and the
+// null members remove them, the result is validated like the body of a put
+@Component
+public class JsonMergePatch {
+
+	public static final String MERGE_PATCH_JSON_VALUE = "application/merge-patch+json";
+
+	public static final String INVALID_PATCH = "The patch provided is not valid. It should be a json object with the fields to modify: ";
+
+	@Autowired
+	ObjectMapper objectMapper;
+
+	@Autowired
+	Validator validator;
+
+	public <T> T apply(final T target, final JsonNode patch, final Class<T> type) {
+		if (patch == null || !patch.isObject()) {
+			throw new MergePatchException(INVALID_PATCH + "the body is not an object.");
+		}
+		ObjectNode patchedNode = objectMapper.valueToTree(target);
+		merge(patchedNode, (ObjectNode) patch);
+		T patched;
+		try {
+			patched = objectMapper.treeToValue(patchedNode, type);
+		} catch (JsonProcessingException jpe) {
+			throw new MergePatchException(INVALID_PATCH + jpe.getOriginalMessage());
+		}
+		Set<ConstraintViolation<T>> violations = validator.validate(patched);
+		if (!violations.isEmpty()) {
+			throw new ConstraintViolationException(violations);
+		}
+		return patched;
+	}
+
+	private void merge(final ObjectNode target, final ObjectNode patch) {
+		Iterator<Entry<String, JsonNode>> members = patch.fields();
+		while (members.hasNext()) {
+			Entry<String, JsonNode> member = members.next();
+			JsonNode targetValue = target.get(member.getKey());
+			if (member.getValue().isNull()) {
+				target.remove(member.getKey());
+			} else if (member.getValue().isObject() && targetValue != null && targetValue.isObject()) {
+				merge((ObjectNode) targetValue, (ObjectNode) member.getValue());
+			} else {
+				target.set(member.getKey(), member.getValue().deepCopy());
+			}
+		}
+	}
+
+}
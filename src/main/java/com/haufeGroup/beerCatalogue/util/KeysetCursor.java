@@ -0,0 +1,16 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+
+	// one sort key per sort order. The orders always include the unique beer id: appended last when the sort of the
+	// client does not have it, otherwise at the position the client gave it
+	private final List<Comparable<?>> sortKeys;
+
+}
@@ -0,0 +1,103 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+
+// the tags of the collections, moved by the cache invalidation bus. Every event of the invalidation transport has a
+// sequence, the same for every instance, and a collection is tagged with the sequence of the last event that changed
+// it, so the instances that received the same events answer the same tags and an If-None-Match matches on any of
+// them. The tags move after the commit: a poll in between gets the old tag with the new content and simply downloads
+// it again on the next poll
+@Component
+public class ModificationCounters {
+
+	public static final String BEERS = "beers";
+
+	public static final String MANUFACTURERS = "manufacturers";
+
+	// the beers of every manufacturer, for the writes that do not know the manufacturers of their beers
+	public static final String ALL_MANUFACTURER_BEERS = "manufacturer-beers";
+
+	private static final String MANUFACTURER_BEERS = "manufacturer-beers-";
+
+	// only in the tags of the writes the other instances were not told about
+	private final String instance = UUID.randomUUID().toString();
+
+	// the sequences restart with the transport, the tags of a previous epoch must not match
+	private volatile String epoch = "";
+
+	// twice the sequence, plus one once the replicas have the write too, so a position never goes back
+	private final Map<String, Long> positions = new ConcurrentHashMap<String, Long>();
+
+	private final Map<String, Long> unpublished = new ConcurrentHashMap<String, Long>();
+
+	// null manufacturer ids when any beer may have changed
+	public static Set<String> beersCollections(final Collection<Long> manufacturerIds) {
+		Set<String> collections = new HashSet<String>();
+		if (manufacturerIds == null) {
+			collections.add(BEERS);
+			collections.add(ALL_MANUFACTURER_BEERS);
+		} else if (!manufacturerIds.isEmpty()) {
+			collections.add(BEERS);
+			manufacturerIds.forEach(manufacturerId -> collections.add(MANUFACTURER_BEERS + manufacturerId));
+		}
+		return collections;
+	}
+
+	public static Set<String> manufacturersCollections() {
+		return Set.of(MANUFACTURERS);
+	}
+
+	// the state of the transport when the instance starts, the events published before are not received again
+	public void start(final String epoch, final Map<String, Long> sequences) {
+		this.epoch = epoch;
+		sequences.forEach((collection, sequence) -> moved(Set.of(collection), sequence));
+	}
+
+	public void moved(final Collection<String> collections, final long sequence) {
+		collections.forEach(collection -> {
+			positions.merge(collection, sequence * 2, Math::max);
+			unpublished.remove(collection);
+		});
+	}
+
+	// the reads between the commit and its replication may have cached the old data, the tag moves once more
+	public void replicated(final Collection<String> collections, final long sequence) {
+		collections.forEach(collection -> positions.merge(collection, sequence * 2 + 1, Math::max));
+	}
+
+	// the event could not be published, only the tags of this instance move until the next event of the collection
+	public void movedUnpublished(final Collection<String> collections) {
+		collections.forEach(collection -> unpublished.merge(collection, 1L, Long::sum));
+	}
+
+	public String beersTag() {
+		return tag(position(BEERS));
+	}
+
+	public String manufacturersTag() {
+		return tag(position(MANUFACTURERS));
+	}
+
+	public String manufacturerBeersTag(final Long manufacturerId) {
+		return tag(position(ALL_MANUFACTURER_BEERS) + "." + position(MANUFACTURER_BEERS + manufacturerId));
+	}
+
+	private String position(final String collection) {
+		Long unpublishedWrites = unpublished.get(collection);
+		String position = Long.toString(positions.getOrDefault(collection, 0L));
+		return unpublishedWrites == null ? position : position + "~" + instance + "." + unpublishedWrites;
+	}
+
+	// weak: the pages are only equivalent, the json of the same content is not guaranteed to be byte by byte equal
+	private String tag(final String position) {
+		return "W/\"" + epoch + "-" + position + "\"";
+	}
+
+}
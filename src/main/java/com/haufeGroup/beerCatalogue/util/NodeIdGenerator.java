@@ -0,0 +1,58 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import java.util.function.LongSupplier;
+
+// 41 bits of milliseconds since EPOCH, 10 bits of node and 12 bits of counter, so the ids of every instance are
+// unique without a round trip to the database and still grow with the creation time like the sequence ones
+public class NodeIdGenerator {
+
+	public static final long EPOCH = 1640995200000L;
+
+	public static final int NODE_BITS = 10;
+
+	public static final int COUNTER_BITS = 12;
+
+	public static final long MAX_NODE = (1L << NODE_BITS) - 1;
+
+	public static final String INVALID_NODE_ERROR_MESSAGE = "the node of the id generator should be between 0 and "
+			+ MAX_NODE + ".";
+
+	private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+	private final long node;
+
+	private final LongSupplier clock;
+
+	private long lastTimestamp = -1;
+
+	private long counter;
+
+	public NodeIdGenerator(final long node) {
+		this(node, System::currentTimeMillis);
+	}
+
+	NodeIdGenerator(final long node, final LongSupplier clock) {
+		if (node < 0 || node > MAX_NODE) {
+			throw new IllegalArgumentException(INVALID_NODE_ERROR_MESSAGE);
+		}
+		this.node = node;
+		this.clock = clock;
+	}
+
+	public synchronized long nextId() {
+		// a clock going backwards keeps the last timestamp, the ids must never repeat
+		long timestamp = Math.max(clock.getAsLong(), lastTimestamp);
+		if (timestamp == lastTimestamp) {
+			counter = (counter + 1) & COUNTER_MASK;
+			if (counter == 0) {
+				// the counter of this millisecond is exhausted, the next one is borrowed instead of waiting for it
+				timestamp++;
+			}
+		} else {
+			counter = 0;
+		}
+		lastTimestamp = timestamp;
+		return ((timestamp - EPOCH) << (NODE_BITS + COUNTER_BITS)) | (node << COUNTER_BITS) | counter;
+	}
+
+}
@@ -16,6 +16,8 @@ public class SortExtractor {
 
 	public static final String INVALID_FORMAT = "The format of the sort criteria provided is not valid. The format is: {sort=\"field1, direction1\", sort=\"field2, direction2\"...} or {sort=field, sort=direction}.";
 
+	public static final String KEYSET_TIE_BREAKER_FIELD = "id";
+
 	public Sort extractSortCriteria(String[] sort) {
 		try {
 			List<Order> orders = new ArrayList<Order>();
@@ -37,6 +39,15 @@ public class SortExtractor {
 		}
 	}
 
+	public Sort extractKeysetSortCriteria(String[] sort) {
+		Sort sortCriteria = extractSortCriteria(sort);
+		// the unique id breaks ties between rows with the same sort values
+		if (sortCriteria.getOrderFor(KEYSET_TIE_BREAKER_FIELD) == null) {
+			return sortCriteria.and(Sort.by(Direction.ASC, KEYSET_TIE_BREAKER_FIELD));
+		}
+		return sortCriteria;
+	}
+
 	private void checkExpectedSortSizeForASingleField(String[] sort) {
 		if (sort.length != 2) {
 			throw new SortExtractorException(INVALID_FORMAT);
@@ -0,0 +1,117 @@
+package com.haufeGroup.beerCatalogue.aspect;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.exception.BeerServiceException;
+import com.haufeGroup.beerCatalogue.exception.ManufacturerServiceException;
+import com.haufeGroup.beerCatalogue.service.IBeerService;
+import com.haufeGroup.beerCatalogue.service.IManufacturerService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest(classes = BeerCatalogueApplication.class)
+@Sql({ "/scripts/repositories/clearData.sql", "/scripts/repositories/testData.sql" })
+public class ServiceMetricsAspectIntegrationTest {
+
+	private static final long KNOWN_BEER_ID = 1L;
+
+	private static final long UNKNOWN_BEER_ID = 11111L;
+
+	private static final long UNKNOWN_BEER_VERSION = 11111L;
+
+	private static final long UNKNOWN_MANUFACTURER_ID = 11111L;
+
+	@Autowired
+	private IBeerService beerService;
+
+	@Autowired
+	private IManufacturerService manufacturerService;
+
+	@Autowired
+	private MeterRegistry meterRegistry;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@BeforeEach
+	public void clearCachesAndMetrics() {
+		cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+		meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER).meters().forEach(meterRegistry::remove);
+	}
+
+	@Test
+	public void getBeerByIdWhenTheBeerExistsThenTheOkOutcomeIsMeasured() {
+		beerService.getBeerById(KNOWN_BEER_ID);
+		beerService.getBeerById(KNOWN_BEER_ID);
+		assertThat(getCount("BeerServiceImpl.getBeerById", ServiceMetricsAspect.OK_OUTCOME))
+				.as("check that the cached and the not cached lookups were measured").isEqualTo(2);
+	}
+
+	@Test
+	public void getBeerByIdWhenTheBeerNotExistsThenTheNotFoundOutcomeIsMeasured() {
+		Assertions.assertThrows(BeerServiceException.class, () -> beerService.getBeerById(UNKNOWN_BEER_ID));
+		assertThat(getCount("BeerServiceImpl.getBeerById", ServiceMetricsAspect.NOT_FOUND_OUTCOME))
+				.as("check that the not found lookup was measured").isEqualTo(1);
+	}
+
+	@Test
+	public void getAllBeersWithAnInvalidSortThenTheInvalidSortOutcomeIsMeasured() {
+		Assertions.assertThrows(BeerServiceException.class, () -> beerService
+				.getAllBeersWithSortPagination(PageRequest.of(0, 3, Sort.by("unknownField"))));
+		assertThat(getCount("BeerServiceImpl.getAllBeersWithSortPagination", ServiceMetricsAspect.INVALID_SORT_OUTCOME))
+				.as("check that the invalid sort was measured").isEqualTo(1);
+	}
+
+	@Test
+	public void deleteManufacturerWhenTheManufacturerNotExistsThenTheNotFoundOutcomeIsMeasured() {
+		Assertions.assertThrows(ManufacturerServiceException.class,
+				() -> manufacturerService.deleteManufacturerById(UNKNOWN_MANUFACTURER_ID, null));
+		assertThat(getCount("ManufacturerServiceImpl.deleteManufacturerById", ServiceMetricsAspect.NOT_FOUND_OUTCOME))
+				.as("check that the not found delete was measured").isEqualTo(1);
+	}
+
+	@Test
+	public void deleteBeerWhenTheVersionNotMatchesThenThePreconditionFailedOutcomeIsMeasured() {
+		Assertions.assertThrows(BeerServiceException.class,
+				() -> beerService.deleteBeerById(KNOWN_BEER_ID, UNKNOWN_BEER_VERSION));
+		assertThat(getCount("BeerServiceImpl.deleteBeerById", ServiceMetricsAspect.PRECONDITION_FAILED_OUTCOME))
+				.as("check that the version mismatch was not measured as an invalid request").isEqualTo(1);
+	}
+
+	@Test
+	public void getBeerByIdThenTheRepositoryAndConnectionPoolMetricsAreAvailable() {
+		beerService.getBeerById(KNOWN_BEER_ID);
+		assertThat(meterRegistry.find("spring.data.repository.invocations").tag("repository", "BeerRepository")
+				.tag("method", "findBeerDtoById").timer()).as("check that the repository call was measured")
+				.isNotNull();
+		assertThat(meterRegistry.find("hikaricp.connections.active").gauge())
+				.as("check that the connection pool is measured").isNotNull();
+	}
+
+	private long getCount(final String operation, final String outcome) {
+		Timer timer = meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER)
+				.tag(ServiceMetricsAspect.OPERATION_TAG, operation).tag(ServiceMetricsAspect.OUTCOME_TAG, outcome)
+				.timer();
+		return timer == null ? 0 : timer.count();
+	}
+
+}
@@ -1,23 +1,42 @@
 package com.haufeGroup.beerCatalogue.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.jdbc.Sql;
 
 import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.dto.BatchWriteResultDto;
 import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.CursorPageDto;
+import com.haufeGroup.beerCatalogue.dto.ImportResultDto;
+import com.haufeGroup.beerCatalogue.testSupport.StatementCounter;
 import com.haufeGroup.beerCatalogue.testWrappers.BeerDtoPageResponseWrapper;
+import com.haufeGroup.beerCatalogue.testWrappers.BeerDtoSliceResponseWrapper;
 
+@Import(StatementCounter.class)
 @SpringBootTest(classes = BeerCatalogueApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/integrationTestData.sql" })
 public class BeerControllerIntegrationTest {
@@ -36,12 +55,36 @@ public class BeerControllerIntegrationTest {
 
 	private static final int PAGE_SIZE = 3;
 
+	private static final int LARGE_PAGE_SIZE = 50;
+
+	private static final long PAGE_REFRESH_TIMEOUT_MILLIS = 5000;
+
+	// fewer than a block of ids of the sequence
+	private static final int IMPORTED_BEERS = 40;
+
 	@Autowired
 	private TestRestTemplate restTemplate;
 
 	@LocalServerPort
 	private int port;
 
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private StatementCounter statementCounter;
+
+	@BeforeEach
+	public void clearCaches() {
+		cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+		// the test data is loaded with plain sql, so the second-level cache does not know about it
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+		statementCounter.reset();
+	}
+
 	private String getRootUrl() {
 		return "http://localhost:" + port + "/beerCatalogue/api/beers/";
 	}
@@ -50,6 +93,34 @@ public class BeerControllerIntegrationTest {
 	public void getBeerByIdWhenTheIdBelongsToKnownBeer() {
 		ResponseEntity<BeerDto> response = restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
 		assertThat(response.getBody().getId()).as("check that the related beer is returned").isEqualTo(KNOWN_BEER_ID);
+		statementCounter.assertAtMost(1, "GET /beers/{id}");
+	}
+
+	@Test
+	public void getBeerByIdTwiceThenTheSecondLookupRunsNoStatements() {
+		restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
+		statementCounter.reset();
+		ResponseEntity<BeerDto> response = restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
+		assertThat(response.getBody().getId()).as("check that the related beer is returned").isEqualTo(KNOWN_BEER_ID);
+		statementCounter.assertAtMost(0, "GET /beers/{id} of a cached beer");
+	}
+
+	@Test
+	public void getBeerByIdReturnsTheVersionAsETag() {
+		ResponseEntity<BeerDto> response = restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
+		assertThat(response.getHeaders().getETag()).as("check that the version of the beer is the etag")
+				.isEqualTo("\"0\"");
+	}
+
+	@Test
+	public void getBeerByIdWhenTheETagMatchesThenTheBodyIsNotSent() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch("\"0\"");
+		ResponseEntity<String> response = restTemplate.exchange(getRootUrl() + KNOWN_BEER_ID, HttpMethod.GET,
+				new HttpEntity<Void>(headers), String.class);
+		assertThat(response.getStatusCode()).as("check that the beer is not modified")
+				.isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getBody()).as("check that the body is not sent").isNull();
 	}
 
 	@Test
@@ -80,6 +151,74 @@ public class BeerControllerIntegrationTest {
 		ResponseEntity<BeerDtoPageResponseWrapper> response = restTemplate.getForEntity(getRootUrl(),
 				BeerDtoPageResponseWrapper.class);
 		assertThat(response.getBody().getContent()).as("check that a beer list is returned in the page").isNotEmpty();
+		statementCounter.assertAtMost(2, "GET /beers/");
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void getBeersWithSortPaginationWhenTheBeersFitInALargePage() {
+		ResponseEntity<BeerDtoPageResponseWrapper> response = restTemplate
+				.getForEntity(getRootUrl() + "?size=" + LARGE_PAGE_SIZE, BeerDtoPageResponseWrapper.class);
+		assertThat(response.getBody().getContent()).as("check that every beer is returned in the page").hasSize(7);
+		statementCounter.assertAtMost(2, "GET /beers/ with size=" + LARGE_PAGE_SIZE);
+	}
+
+	@Test
+	public void getBeersWithSortPaginationTwiceThenTheSecondPageRunsNoStatements() {
+		restTemplate.getForEntity(getRootUrl(), BeerDtoPageResponseWrapper.class);
+		statementCounter.reset();
+		ResponseEntity<BeerDtoPageResponseWrapper> response = restTemplate
+				.getForEntity(getRootUrl() + "?page=0&size=5&sort=id,desc", BeerDtoPageResponseWrapper.class);
+		assertThat(response.getBody().getContent()).as("check that the cached page is returned").isNotEmpty();
+		statementCounter.assertAtMost(0, "GET /beers/ of a cached page");
+	}
+
+	@Test
+	public void getBeersWithSortPaginationWhenABeerWasAddedThenTheOldPageIsServedUntilItIsEncodedAgain()
+			throws InterruptedException {
+		String oldTag = restTemplate.getForEntity(getRootUrl(), BeerDtoPageResponseWrapper.class).getHeaders()
+				.getETag();
+		ResponseEntity<BeerDto> newBeer = restTemplate.postForEntity(getRootUrl(),
+				createDefaultRequestBody(KNOWN_MANUFACTURER_ID), BeerDto.class);
+		assertThat(newBeer.getStatusCode()).as("check that the beer was created").isEqualTo(HttpStatus.OK);
+		ResponseEntity<BeerDtoPageResponseWrapper> staleResponse = restTemplate.getForEntity(getRootUrl(),
+				BeerDtoPageResponseWrapper.class);
+		assertThat(staleResponse.getHeaders().getETag()).as("check that the old page keeps its own tag")
+				.isEqualTo(oldTag);
+		ResponseEntity<BeerDtoPageResponseWrapper> response = awaitEncodedPage(getRootUrl(), oldTag);
+		assertThat(response.getBody().getTotalElements()).as("check that the new beer is counted").isEqualTo(4);
+	}
+
+	@Test
+	public void getBeersWithSortPaginationReturnsATagAndTheCacheControl() {
+		ResponseEntity<String> response = restTemplate.getForEntity(getRootUrl(), String.class);
+		assertThat(response.getHeaders().getETag()).as("check that the page is tagged").startsWith("W/\"");
+		assertThat(response.getHeaders().getCacheControl()).as("check that the page may be cached")
+				.contains("max-age=5", "stale-while-revalidate=30", "public");
+	}
+
+	@Test
+	public void getBeersWithSortPaginationWhenTheTagMatchesThenNoStatementIsRun() {
+		String tag = restTemplate.getForEntity(getRootUrl(), String.class).getHeaders().getETag();
+		statementCounter.reset();
+		ResponseEntity<String> response = getWithIfNoneMatch(getRootUrl(), tag);
+		assertThat(response.getStatusCode()).as("check that the page is not modified")
+				.isEqualTo(HttpStatus.NOT_MODIFIED);
+		assertThat(response.getBody()).as("check that the body is not sent").isNull();
+		statementCounter.assertAtMost(0, "GET /beers/ with a matching If-None-Match");
+	}
+
+	@Test
+	public void getBeersWithCursorPaginationWhenABeerWasAddedThenTheTagChanges() {
+		String tag = restTemplate.getForEntity(getRootUrl() + "?cursor=", String.class).getHeaders().getETag();
+		ResponseEntity<BeerDto> newBeer = restTemplate.postForEntity(getRootUrl(),
+				createDefaultRequestBody(KNOWN_MANUFACTURER_ID), BeerDto.class);
+		assertThat(newBeer.getStatusCode()).as("check that the beer was created").isEqualTo(HttpStatus.OK);
+		ResponseEntity<String> response = getWithIfNoneMatch(getRootUrl() + "?cursor=", tag);
+		assertThat(response.getStatusCode()).as("check that the page is sent again").isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getETag()).as("check that the page has a new tag").isNotEqualTo(tag);
+		assertThat(response.getBody()).as("check that the new beer is listed")
+				.contains("\"id\":" + newBeer.getBody().getId());
 	}
 
 	@Test
@@ -152,11 +291,159 @@ public class BeerControllerIntegrationTest {
 				.isEqualTo(3);
 	}
 
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void getBeersWithoutTotalWhenThereAreMoreBeersAfterThePage() {
+		ResponseEntity<BeerDtoSliceResponseWrapper> response = restTemplate.getForEntity(
+				getRootUrl() + "?withTotal=false&page=0&size=" + PAGE_SIZE, BeerDtoSliceResponseWrapper.class);
+		assertThat(response.getBody().getContent()).as("check that the page size is respected").hasSize(PAGE_SIZE);
+		assertThat(response.getBody().isLast()).as("check that the slice is not the last one").isFalse();
+		assertThat(response.getBody().getTotalElements()).as("check that the total count is not returned").isNull();
+		statementCounter.assertAtMost(1, "GET /beers/?withTotal=false");
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void getBeersWithoutTotalWhenTheLastPageIsRequested() {
+		ResponseEntity<BeerDtoSliceResponseWrapper> response = restTemplate.getForEntity(
+				getRootUrl() + "?withTotal=false&page=2&size=" + PAGE_SIZE, BeerDtoSliceResponseWrapper.class);
+		assertThat(response.getBody().getContent().get(0).getId())
+				.as("check that the remaining beer is returned sorted by default criteria").isOne();
+		assertThat(response.getBody().isLast()).as("check that the slice is the last one").isTrue();
+	}
+
+	@Test
+	public void getBeersWithoutTotalWhenSortByUnknownField() {
+		ResponseEntity<String> response = restTemplate
+				.getForEntity(getRootUrl() + "?withTotal=false&sort=unknownField&sort=asc", String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void getBeersWithCursorPaginationWhenAllPagesAreFollowed() {
+		List<Long> retrievedBeerIds = new ArrayList<Long>();
+		String cursor = "";
+		do {
+			CursorPageDto<BeerDto> cursorPage = getBeerCursorPage("?size=" + PAGE_SIZE + "&cursor=" + cursor).getBody();
+			cursorPage.getContent().forEach(beerDto -> retrievedBeerIds.add(beerDto.getId()));
+			cursor = cursorPage.getNextCursor();
+		} while (cursor != null);
+		assertThat(retrievedBeerIds).as("check that every beer is returned once sorted by descending id")
+				.containsExactly(7L, 6L, 5L, 4L, 3L, 2L, 1L);
+		statementCounter.assertAtMost(3, "following the 3 pages of GET /beers/?cursor");
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void getBeersWithCursorPaginationWhenSortByAscendingNameThenTheIdBreaksTheTies() {
+		CursorPageDto<BeerDto> firstPage = getBeerCursorPage("?size=1&sort=name&sort=asc&cursor=").getBody();
+		CursorPageDto<BeerDto> secondPage = getBeerCursorPage(
+				"?size=1&sort=name&sort=asc&cursor=" + firstPage.getNextCursor()).getBody();
+		assertThat(secondPage.getContent().get(0).getId())
+				.as("check that beers with the same name are sorted by ascending id").isEqualTo(6);
+	}
+
+	@Test
+	public void getBeersWithCursorPaginationWhenTheCursorIsNotValid() {
+		ResponseEntity<String> response = restTemplate.getForEntity(getRootUrl() + "?cursor=invalidCursor",
+				String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	public void getBeersByIdsReturnsTheRequestedOrderAndTheMissingIds() {
+		ResponseEntity<BatchResultDto<BeerDto>> response = restTemplate.exchange(
+				getRootUrl() + "?ids=3," + UNKOWN_BEER_ID + "," + KNOWN_BEER_ID, HttpMethod.GET, null,
+				new ParameterizedTypeReference<BatchResultDto<BeerDto>>() {
+				});
+		assertThat(response.getBody().getContent()).as("check that the beers are returned in the requested order")
+				.extracting(BeerDto::getId).containsExactly(3L, KNOWN_BEER_ID);
+		assertThat(response.getBody().getNotFound()).as("check that the unknown id is reported")
+				.containsExactly(UNKOWN_BEER_ID);
+		statementCounter.assertAtMost(1, "GET /beers/?ids=");
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/removedManufacturerCase.sql" })
+	public void getBeersByIdsWhenABeerIsMarkedAsDeletedInDatabase() {
+		ResponseEntity<BatchResultDto<BeerDto>> response = restTemplate.exchange(
+				getRootUrl() + "?ids=" + REMOVED_BEER_ID, HttpMethod.GET, null,
+				new ParameterizedTypeReference<BatchResultDto<BeerDto>>() {
+				});
+		assertThat(response.getBody().getNotFound()).as("check that the removed beer is reported as not found")
+				.containsExactly(REMOVED_BEER_ID);
+	}
+
+	@Test
+	public void getBeersByIdsWhenAnIdIsNotValid() {
+		ResponseEntity<String> response = restTemplate.getForEntity(getRootUrl() + "?ids=1," + INVALID_BEER_ID,
+				String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void exportBeersAsNdjson() {
+		ResponseEntity<String> response = restTemplate.getForEntity(getRootUrl() + "export", String.class);
+		String[] lines = response.getBody().split("\n");
+		assertThat(response.getHeaders().getContentType().toString()).as("check that ndjson is the default format")
+				.startsWith("application/x-ndjson");
+		assertThat(lines).as("check that every beer is exported in a line").hasSize(7);
+		assertThat(lines[0]).as("check that the beers are exported sorted by id without the manufacturer")
+				.isEqualTo("{\"id\":1,\"name\":\"Moritz\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":1}");
+		statementCounter.assertAtMost(1, "GET /beers/export");
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void exportBeersAsCsvWithTheirManufacturer() {
+		ResponseEntity<String> response = restTemplate
+				.getForEntity(getRootUrl() + "export?format=csv&withManufacturer=true", String.class);
+		String[] lines = response.getBody().split("\n");
+		assertThat(lines).as("check that the header and every beer are exported").hasSize(8);
+		assertThat(lines[0]).as("check that the header includes the manufacturer").isEqualTo(
+				"id,name,graduation,type,description,manufacturerId,manufacturerName,manufacturerNationality");
+		assertThat(lines[1]).as("check that the beer is joined with its manufacturer")
+				.isEqualTo("1,Moritz,strong,ALE,strong beer,1,Moritz,Spanish");
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/removedManufacturerCase.sql" })
+	public void exportBeersNotExportsBeersMarkedAsDeletedInDatabase() {
+		ResponseEntity<String> response = restTemplate.getForEntity(getRootUrl() + "export?format=csv",
+				String.class);
+		assertThat(response.getBody().split("\n")).as("check that only the header and the active beer are exported")
+				.hasSize(2);
+	}
+
+	@Test
+	public void exportBeersWhenTheFormatIsNotValid() {
+		ResponseEntity<String> response = restTemplate.getForEntity(getRootUrl() + "export?format=xml", String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
 	@Test
 	public void addANewBeerToKnownManufacturer() {
 		ResponseEntity<BeerDto> response = restTemplate.postForEntity(getRootUrl(),
 				createDefaultRequestBody(KNOWN_MANUFACTURER_ID), BeerDto.class);
 		assertThat(response.getBody().getId()).as("check that the related beer was created").isNotNull();
+		statementCounter.assertAtMost(2 + StatementCounter.ID_ALLOCATION_STATEMENTS, "POST /beers/");
+	}
+
+	@Test
+	public void addANewBeerToKnownManufacturerThenItIsReturnedWithItsManufacturer() {
+		ResponseEntity<BeerDto> response = restTemplate.postForEntity(getRootUrl(),
+				createDefaultRequestBody(KNOWN_MANUFACTURER_ID), BeerDto.class);
+		assertThat(response.getStatusCode()).as("check that the beer was created").isEqualTo(HttpStatus.OK);
+		ResponseEntity<BeerDto> createdBeer = restTemplate.getForEntity(getRootUrl() + response.getBody().getId(),
+				BeerDto.class);
+		assertThat(createdBeer.getBody().getManufacturerId()).as("check that the beer belongs to the manufacturer")
+				.isEqualTo(KNOWN_MANUFACTURER_ID);
 	}
 
 	@Test
@@ -175,6 +462,77 @@ public class BeerControllerIntegrationTest {
 				.isEqualTo(HttpStatus.BAD_REQUEST);
 	}
 
+	@Test
+	public void importBeersFromCsvThenTheInvalidRowsAreReported() throws InterruptedException {
+		String manufacturerBeersUrl = "http://localhost:" + port + "/beerCatalogue/api/manufacturers/"
+				+ KNOWN_MANUFACTURER_ID + "/beers/";
+		// the cached query of the manufacturer beers must be invalidated by the import
+		String oldTag = restTemplate.getForEntity(manufacturerBeersUrl, BeerDtoPageResponseWrapper.class)
+				.getHeaders().getETag();
+		statementCounter.reset();
+		String body = "name,graduation,type,description,manufacturerId\n"
+				+ "\"Moritz, Epidor\",strong,ALE,strong beer," + KNOWN_MANUFACTURER_ID + "\n"
+				+ "Estrella,medium,Lager,medium beer," + UNKOWN_MANUFACTURER_ID + "\n"
+				+ ",medium,Lager,medium beer," + KNOWN_MANUFACTURER_ID + "\n";
+		ResponseEntity<ImportResultDto> response = importBeers(body, "text/csv");
+		assertThat(response.getBody().getImported()).as("check that the valid row was imported").isEqualTo(1);
+		assertThat(response.getBody().getRejected()).as("check that the invalid rows were rejected").isEqualTo(2);
+		assertThat(response.getBody().getErrors()).as("check that the rejected rows are reported")
+				.extracting("row").containsExactly(2L, 3L);
+		// the lookup of the manufacturers and the jdbc batch of the valid rows
+		statementCounter.assertAtMost(2 + StatementCounter.ID_ALLOCATION_STATEMENTS, "POST /beers/import");
+		ResponseEntity<BeerDtoPageResponseWrapper> beers = awaitEncodedPage(manufacturerBeersUrl, oldTag);
+		assertThat(beers.getBody().getTotalElements()).as("check that the imported beer is found").isEqualTo(4);
+	}
+
+	@Test
+	public void importManyBeersThenTheRowsAreInsertedInOneBatch() {
+		StringBuilder body = new StringBuilder("name,graduation,type,description,manufacturerId\n");
+		for (int row = 0; row < IMPORTED_BEERS; row++) {
+			body.append("Imported ").append(row).append(",medium,Lager,medium beer,").append(KNOWN_MANUFACTURER_ID)
+					.append("\n");
+		}
+		ResponseEntity<ImportResultDto> response = importBeers(body.toString(), "text/csv");
+		assertThat(response.getBody().getImported()).as("check that every row was imported")
+				.isEqualTo(IMPORTED_BEERS);
+		statementCounter.assertAtMost(2 + StatementCounter.ID_ALLOCATION_STATEMENTS,
+				"POST /beers/import of " + IMPORTED_BEERS + " rows");
+	}
+
+	@Test
+	public void importBeersFromJsonWhenARowIsMalformedThenTheNextRowsAreImported() {
+		String body = "[{\"name\":\"Moritz\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":1},"
+				+ "{\"name\":\"Moritz\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":\"one\"},"
+				+ "{\"id\":5,\"name\":\"Moritz\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":1},"
+				+ "{\"name\":\"Moritz\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":1}]";
+		ResponseEntity<ImportResultDto> response = importBeers(body, MediaType.APPLICATION_JSON_VALUE);
+		assertThat(response.getBody().getImported()).as("check that the valid rows were imported").isEqualTo(2);
+		assertThat(response.getBody().getErrors()).as("check that the malformed row and the row with id are reported")
+				.extracting("row").containsExactly(2L, 3L);
+	}
+
+	@Test
+	public void importBeersWhenTheBodyIsBroken() {
+		String body = "[{\"name\":\"Moritz\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":1},"
+				+ "{\"name\":";
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		ResponseEntity<String> response = restTemplate.postForEntity(getRootUrl() + "import",
+				new HttpEntity<String>(body, headers), String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	public void importBeersWhenTheContentTypeIsNotSupported() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_XML);
+		ResponseEntity<String> response = restTemplate.postForEntity(getRootUrl() + "import",
+				new HttpEntity<String>("<beers/>", headers), String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.UNSUPPORTED_MEDIA_TYPE);
+	}
+
 	@Test
 	public void modifyKnownBeer() {
 		HttpHeaders headers = new HttpHeaders();
@@ -184,6 +542,28 @@ public class BeerControllerIntegrationTest {
 				BeerDto.class);
 		assertThat(response.getBody()).as("check that the related beer was updated")
 				.isEqualTo(createDefaultKnownBeer());
+		statementCounter.assertAtMost(3, "PUT /beers/{id}");
+	}
+
+	@Test
+	public void modifyKnownBeerWhenIfMatchIsTheCurrentVersion() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfMatch("\"0\"");
+		ResponseEntity<BeerDto> response = restTemplate.exchange(getRootUrl() + KNOWN_BEER_ID, HttpMethod.PUT,
+				new HttpEntity<>(createDefaultRequestBody(KNOWN_MANUFACTURER_ID), headers), BeerDto.class);
+		assertThat(response.getBody()).as("check that the related beer was updated")
+				.isEqualTo(createDefaultKnownBeer());
+		assertThat(response.getHeaders().getETag()).as("check that the new version is returned").isEqualTo("\"1\"");
+	}
+
+	@Test
+	public void modifyKnownBeerWhenIfMatchIsAnOldVersion() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfMatch("\"5\"");
+		ResponseEntity<String> response = restTemplate.exchange(getRootUrl() + KNOWN_BEER_ID, HttpMethod.PUT,
+				new HttpEntity<>(createDefaultRequestBody(KNOWN_MANUFACTURER_ID), headers), String.class);
+		assertThat(response.getStatusCode()).as("check that the modification is refused")
+				.isEqualTo(HttpStatus.PRECONDITION_FAILED);
 	}
 
 	@Test
@@ -208,11 +588,59 @@ public class BeerControllerIntegrationTest {
 				.isEqualTo(HttpStatus.BAD_REQUEST);
 	}
 
+	@Test
+	public void patchKnownBeerThenOnlyThePatchedFieldsChange() {
+		restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
+		statementCounter.reset();
+		ResponseEntity<BeerDto> response = patchBeer(KNOWN_BEER_ID, "{\"name\":\"Moritz Epidor\"}", BeerDto.class);
+		assertThat(response.getBody()).as("check that only the name was modified")
+				.isEqualTo(new BeerDto(KNOWN_BEER_ID, "Moritz Epidor", "strong", "ALE", "strong beer",
+						KNOWN_MANUFACTURER_ID));
+		statementCounter.assertAtMost(2, "PATCH /beers/{id}");
+		ResponseEntity<BeerDto> patchedBeer = restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
+		assertThat(patchedBeer.getBody().getName()).as("check that the cached beer was evicted")
+				.isEqualTo("Moritz Epidor");
+	}
+
+	@Test
+	public void patchKnownBeerWhenARequiredFieldIsRemoved() {
+		ResponseEntity<String> response = patchBeer(KNOWN_BEER_ID, "{\"description\":null}", String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	public void patchManufacturerOfExistingBeerIsNotAllowed() {
+		ResponseEntity<String> response = patchBeer(KNOWN_BEER_ID, "{\"manufacturerId\":2}", String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	public void patchUnkownBeer() {
+		ResponseEntity<String> response = patchBeer(UNKOWN_BEER_ID, "{\"name\":\"Moritz Epidor\"}", String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
 	@Test
 	public void removeBeerByIdWhenExists() {
 		String resourceUrl = getRootUrl() + KNOWN_BEER_ID;
 		ResponseEntity<String> response = restTemplate.exchange(resourceUrl, HttpMethod.DELETE, null, String.class);
 		assertThat(response.getStatusCode()).as("check that the related beer was removed").isEqualTo(HttpStatus.OK);
+		statementCounter.assertAtMost(3, "DELETE /beers/{id}");
+	}
+
+	@Test
+	public void removeBeerByIdWhenIfMatchIsAnOldVersion() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfMatch("\"5\"");
+		ResponseEntity<String> response = restTemplate.exchange(getRootUrl() + KNOWN_BEER_ID, HttpMethod.DELETE,
+				new HttpEntity<Void>(headers), String.class);
+		assertThat(response.getStatusCode()).as("check that the removal is refused")
+				.isEqualTo(HttpStatus.PRECONDITION_FAILED);
+		ResponseEntity<BeerDto> beer = restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
+		assertThat(beer.getStatusCode()).as("check that the beer was not removed").isEqualTo(HttpStatus.OK);
 	}
 
 	@Test
@@ -231,6 +659,128 @@ public class BeerControllerIntegrationTest {
 				.isEqualTo(HttpStatus.BAD_REQUEST);
 	}
 
+	@Test
+	public void addBeersInBatchThenEveryBeerGetsItsStatus() {
+		BeerDto beerWithId = createDefaultKnownBeer();
+		BeerDto beerWithoutName = createDefaultRequestBody(KNOWN_MANUFACTURER_ID);
+		beerWithoutName.setName(null);
+		List<BeerDto> beers = List.of(createDefaultRequestBody(KNOWN_MANUFACTURER_ID), beerWithId,
+				createDefaultRequestBody(UNKOWN_MANUFACTURER_ID), beerWithoutName,
+				createDefaultRequestBody(KNOWN_MANUFACTURER_ID));
+		ResponseEntity<BatchWriteResultDto> response = restTemplate.postForEntity(getRootUrl() + "batch", beers,
+				BatchWriteResultDto.class);
+		assertThat(response.getBody().getSucceeded()).as("check that the valid beers were added").isEqualTo(2);
+		assertThat(response.getBody().getItems()).as("check that every beer gets its status in the request order")
+				.extracting("index", "status").containsExactly(tuple(0, 201), tuple(1, 400), tuple(2, 400),
+						tuple(3, 400), tuple(4, 201));
+		assertThat(response.getBody().getItems().get(0).getId()).as("check that the id of the added beer is returned")
+				.isNotNull();
+		// the manufacturers check and one jdbc batch of inserts
+		statementCounter.assertAtMost(2 + StatementCounter.ID_ALLOCATION_STATEMENTS, "POST /beers/batch");
+	}
+
+	@Test
+	public void addBeersInBatchWhenTheDatabaseRefusesABeerThenOnlyThatBeerFails() {
+		BeerDto beerWithTooLongName = createDefaultRequestBody(KNOWN_MANUFACTURER_ID);
+		// valid for the dto, longer than the column
+		beerWithTooLongName.setName("n".repeat(300));
+		List<BeerDto> beers = List.of(createDefaultRequestBody(KNOWN_MANUFACTURER_ID), beerWithTooLongName,
+				createDefaultRequestBody(KNOWN_MANUFACTURER_ID));
+		ResponseEntity<BatchWriteResultDto> response = restTemplate.postForEntity(getRootUrl() + "batch", beers,
+				BatchWriteResultDto.class);
+		assertThat(response.getBody().getItems()).as("check that every beer gets the status of its own insert")
+				.extracting("index", "status").containsExactly(tuple(0, 201), tuple(1, 409), tuple(2, 201));
+		assertThat(restTemplate.getForEntity(getRootUrl() + response.getBody().getItems().get(2).getId(),
+				BeerDto.class).getStatusCode()).as("check that the other beers were added").isEqualTo(HttpStatus.OK);
+	}
+
+	@Test
+	public void modifyBeersInBatchThenEveryBeerGetsItsStatus() {
+		restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
+		BeerDto otherKnownBeer = createDefaultKnownBeer();
+		otherKnownBeer.setId(3L);
+		BeerDto unknownBeer = createDefaultKnownBeer();
+		unknownBeer.setId(UNKOWN_BEER_ID);
+		BeerDto beerOfOtherManufacturer = createDefaultRequestBody(2L);
+		beerOfOtherManufacturer.setId(2L);
+		List<BeerDto> beers = List.of(createDefaultKnownBeer(), unknownBeer, beerOfOtherManufacturer,
+				createDefaultRequestBody(KNOWN_MANUFACTURER_ID), otherKnownBeer);
+		statementCounter.reset();
+		ResponseEntity<BatchWriteResultDto> response = restTemplate.exchange(getRootUrl() + "batch", HttpMethod.PUT,
+				new HttpEntity<List<BeerDto>>(beers), BatchWriteResultDto.class);
+		assertThat(response.getBody().getItems()).as("check that every beer gets its status in the request order")
+				.extracting("index", "status").containsExactly(tuple(0, 200), tuple(1, 404), tuple(2, 400),
+						tuple(3, 400), tuple(4, 200));
+		// the beers are read with one query and written with one jdbc batch of updates
+		statementCounter.assertAtMost(2, "PUT /beers/batch");
+		ResponseEntity<BeerDto> modifiedBeer = restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID,
+				BeerDto.class);
+		assertThat(modifiedBeer.getBody()).as("check that the cached beer was evicted")
+				.isEqualTo(createDefaultKnownBeer());
+	}
+
+	@Test
+	public void removeBeersInBatchThenEveryIdGetsItsStatus() {
+		restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, BeerDto.class);
+		statementCounter.reset();
+		ResponseEntity<BatchWriteResultDto> response = restTemplate.exchange(getRootUrl() + "batch",
+				HttpMethod.DELETE, new HttpEntity<List<Long>>(List.of(KNOWN_BEER_ID, UNKOWN_BEER_ID, 3L)),
+				BatchWriteResultDto.class);
+		assertThat(response.getBody().getItems()).as("check that every id gets its status in the request order")
+				.extracting("id", "status").containsExactly(tuple(KNOWN_BEER_ID, 200), tuple(UNKOWN_BEER_ID, 404),
+						tuple(3L, 200));
+		statementCounter.assertAtMost(2, "DELETE /beers/batch");
+		ResponseEntity<String> removedBeer = restTemplate.getForEntity(getRootUrl() + KNOWN_BEER_ID, String.class);
+		assertThat(removedBeer.getStatusCode()).as("check that the cached beer was evicted")
+				.isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	public void removeBeersInBatchWhenAnIdIsNotValid() {
+		ResponseEntity<String> response = restTemplate.exchange(getRootUrl() + "batch", HttpMethod.DELETE,
+				new HttpEntity<List<Long>>(List.of(KNOWN_BEER_ID, 0L)), String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	private ResponseEntity<CursorPageDto<BeerDto>> getBeerCursorPage(final String queryParameters) {
+		return restTemplate.exchange(getRootUrl() + queryParameters, HttpMethod.GET, null,
+				new ParameterizedTypeReference<CursorPageDto<BeerDto>>() {
+				});
+	}
+
+	private <T> ResponseEntity<T> patchBeer(final long beerId, final String patch, final Class<T> responseType) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType("application/merge-patch+json"));
+		return restTemplate.exchange(getRootUrl() + beerId, HttpMethod.PATCH, new HttpEntity<String>(patch, headers),
+				responseType);
+	}
+
+	private ResponseEntity<ImportResultDto> importBeers(final String body, final String contentType) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType(contentType));
+		return restTemplate.postForEntity(getRootUrl() + "import", new HttpEntity<String>(body, headers),
+				ImportResultDto.class);
+	}
+
+	// after a write the cached page is served with its old tag until it is encoded again in the background
+	private ResponseEntity<BeerDtoPageResponseWrapper> awaitEncodedPage(final String url, final String oldTag)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + PAGE_REFRESH_TIMEOUT_MILLIS;
+		ResponseEntity<BeerDtoPageResponseWrapper> page;
+		do {
+			Thread.sleep(10);
+			page = restTemplate.getForEntity(url, BeerDtoPageResponseWrapper.class);
+		} while (oldTag.equals(page.getHeaders().getETag()) && System.currentTimeMillis() < deadline);
+		return page;
+	}
+
+	private ResponseEntity<String> getWithIfNoneMatch(final String url, final String tag) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch(tag);
+		return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<Void>(headers), String.class);
+	}
+
 	private BeerDto createDefaultRequestBody(Long manufacturerId) {
 		BeerDto beerDto = new BeerDto();
 		beerDto.setManufacturerId(manufacturerId);
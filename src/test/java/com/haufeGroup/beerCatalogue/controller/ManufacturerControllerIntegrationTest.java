@@ -2,32 +2,62 @@ package com.haufeGroup.beerCatalogue.controller;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.jdbc.Sql;
 
 import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.CursorPageDto;
+import com.haufeGroup.beerCatalogue.dto.DeletionJobDto;
+import com.haufeGroup.beerCatalogue.dto.ImportResultDto;
 import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
+import com.haufeGroup.beerCatalogue.service.IManufacturerDeletionService;
+import com.haufeGroup.beerCatalogue.testSupport.StatementCounter;
 import com.haufeGroup.beerCatalogue.testWrappers.BeerDtoPageResponseWrapper;
+import com.haufeGroup.beerCatalogue.testWrappers.BeerDtoSliceResponseWrapper;
 import com.haufeGroup.beerCatalogue.testWrappers.ManufacturerDtoPageResponseWrapper;
+import com.haufeGroup.beerCatalogue.testWrappers.ManufacturerDtoSliceResponseWrapper;
 
+@Import(StatementCounter.class)
 @SpringBootTest(classes = BeerCatalogueApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 @Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/integrationTestData.sql" })
 public class ManufacturerControllerIntegrationTest {
 
 	private static final long KNOWN_MANUFACTURER_ID = 1;
+	private static final long OTHER_MANUFACTURER_ID = 2;
 	private static final long UNKOWN_MANUFACTURER_ID = 1111111;
 	private static final String INVALID_MANUFACTURER_ID = "invalidManufacturerId";
 	private static final long REMOVED_MANUFACTURER_ID = 1;
 	private static final int PAGE_SIZE = 2;
+	private static final int BEERS_OF_KNOWN_MANUFACTURER = 3;
+	private static final int MANY_BEERS = 2000;
+	private static final long DELETION_JOB_TIMEOUT_MILLIS = 10000;
+	private static final String STOPPED_INSTANCE_JOB_ID = "stopped-instance-job";
+	private static final int DELETE_MANUFACTURER_STATEMENTS = 2;
 
 	@Autowired
 	private TestRestTemplate restTemplate;
@@ -35,6 +65,29 @@ public class ManufacturerControllerIntegrationTest {
 	@LocalServerPort
 	private int port;
 
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private IManufacturerDeletionService manufacturerDeletionService;
+
+	@Autowired
+	private StatementCounter statementCounter;
+
+	@BeforeEach
+	public void clearCaches() {
+		cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+		// the test data is loaded with plain sql, so the second-level cache does not know about it
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+		statementCounter.reset();
+	}
+
 	private String getRootUrl() {
 		return "http://localhost:" + port + "/beerCatalogue/api/manufacturers/";
 	}
@@ -46,6 +99,7 @@ public class ManufacturerControllerIntegrationTest {
 				ManufacturerDtoPageResponseWrapper.class);
 		assertThat(response.getBody().getContent()).as("check that a manufacturer list is returned in the page")
 				.isNotEmpty();
+		statementCounter.assertAtMost(2, "GET /manufacturers/");
 	}
 
 	@Test
@@ -118,12 +172,24 @@ public class ManufacturerControllerIntegrationTest {
 				.isEqualTo(2);
 	}
 
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void getManufacturersWithoutTotalWhenThereAreMoreManufacturersAfterThePage() {
+		ResponseEntity<ManufacturerDtoSliceResponseWrapper> response = restTemplate.getForEntity(
+				getRootUrl() + "?withTotal=false&page=0&size=" + PAGE_SIZE, ManufacturerDtoSliceResponseWrapper.class);
+		assertThat(response.getBody().getContent().get(0).getId())
+				.as("check that the manufacturer list is sorted by default criteria").isEqualTo(4);
+		assertThat(response.getBody().isLast()).as("check that the slice is not the last one").isFalse();
+		assertThat(response.getBody().getTotalElements()).as("check that the total count is not returned").isNull();
+	}
+
 	@Test
 	public void getManufacturerByIdWhenTheIdBelongsToKnownManufacturer() {
 		ResponseEntity<ManufacturerDto> response = restTemplate.getForEntity(getRootUrl() + KNOWN_MANUFACTURER_ID,
 				ManufacturerDto.class);
 		assertThat(response.getBody().getId()).as("check that the related manufacturer is returned")
 				.isEqualTo(KNOWN_MANUFACTURER_ID);
+		statementCounter.assertAtMost(1, "GET /manufacturers/{id}");
 	}
 
 	@Test
@@ -190,6 +256,32 @@ public class ManufacturerControllerIntegrationTest {
 				.getForEntity(getRootUrl() + KNOWN_MANUFACTURER_ID + "/beers/", BeerDtoPageResponseWrapper.class);
 		assertThat(response.getBody().getContent()).as("check that a beer list is returned in the requested paget")
 				.isNotEmpty();
+		statementCounter.assertAtMost(3, "GET /manufacturers/{id}/beers/");
+	}
+
+	@Test
+	public void getManufacturerBeersWhenABeerOfAnotherManufacturerIsAddedThenTheTagStillMatches() {
+		String beersUrl = getRootUrl() + KNOWN_MANUFACTURER_ID + "/beers/";
+		String tag = restTemplate.getForEntity(beersUrl, String.class).getHeaders().getETag();
+		restTemplate.postForEntity("http://localhost:" + port + "/beerCatalogue/api/beers/",
+				new BeerDto(null, "beerName", "graduation", "type", "description", OTHER_MANUFACTURER_ID),
+				BeerDto.class);
+		statementCounter.reset();
+		ResponseEntity<String> response = getWithIfNoneMatch(beersUrl, tag);
+		assertThat(response.getStatusCode()).as("check that the beers of the manufacturer are not modified")
+				.isEqualTo(HttpStatus.NOT_MODIFIED);
+		statementCounter.assertAtMost(0, "GET /manufacturers/{id}/beers/ with a matching If-None-Match");
+	}
+
+	@Test
+	public void getManufacturersWhenAManufacturerIsModifiedThenTheTagChanges() {
+		String tag = restTemplate.getForEntity(getRootUrl(), String.class).getHeaders().getETag();
+		restTemplate.put(getRootUrl() + KNOWN_MANUFACTURER_ID, createDefaultBody());
+		ResponseEntity<String> response = getWithIfNoneMatch(getRootUrl() + "?withTotal=false", tag);
+		assertThat(response.getStatusCode()).as("check that the manufacturers are sent again")
+				.isEqualTo(HttpStatus.OK);
+		assertThat(response.getHeaders().getETag()).as("check that the manufacturers have a new tag")
+				.isNotEqualTo(tag);
 	}
 
 	@Test
@@ -247,11 +339,66 @@ public class ManufacturerControllerIntegrationTest {
 				.isEqualTo(HttpStatus.BAD_REQUEST);
 	}
 
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void getManufacturerBeersWithoutTotalWhenTheLastPageIsRequested() {
+		ResponseEntity<BeerDtoSliceResponseWrapper> response = restTemplate.getForEntity(
+				getRootUrl() + KNOWN_MANUFACTURER_ID + "/beers?withTotal=false&page=3&size=" + PAGE_SIZE,
+				BeerDtoSliceResponseWrapper.class);
+		assertThat(response.getBody().getContent()).as("check that only the remaining beer is returned").hasSize(1);
+		assertThat(response.getBody().isLast()).as("check that the slice is the last one").isTrue();
+	}
+
+	@Test
+	public void getManufacturerBeersWithoutTotalWhenTheManufacturerNotExists() {
+		ResponseEntity<String> response = restTemplate
+				.getForEntity(getRootUrl() + UNKOWN_MANUFACTURER_ID + "/beers?withTotal=false", String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/sortPaginationTestData.sql" })
+	public void getManufacturerBeersWithCursorPaginationWhenTheNextPageIsRequested() {
+		String beersUrl = getRootUrl() + KNOWN_MANUFACTURER_ID + "/beers?size=" + PAGE_SIZE + "&cursor=";
+		CursorPageDto<BeerDto> firstPage = restTemplate.exchange(beersUrl, HttpMethod.GET, null,
+				new ParameterizedTypeReference<CursorPageDto<BeerDto>>() {
+				}).getBody();
+		CursorPageDto<BeerDto> secondPage = restTemplate.exchange(beersUrl + firstPage.getNextCursor(),
+				HttpMethod.GET, null, new ParameterizedTypeReference<CursorPageDto<BeerDto>>() {
+				}).getBody();
+		assertThat(secondPage.getContent().get(0).getId())
+				.as("check that the next page starts after the last beer of the previous page").isEqualTo(5);
+	}
+
+	@Test
+	public void getManufacturerBeersWithCursorPaginationWhenTheManufacturerNotExists() {
+		ResponseEntity<String> response = restTemplate
+				.getForEntity(getRootUrl() + UNKOWN_MANUFACTURER_ID + "/beers?cursor=", String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	public void getManufacturersByIdsReturnsTheRequestedOrderAndTheMissingIds() {
+		ResponseEntity<BatchResultDto<ManufacturerDto>> response = restTemplate.exchange(
+				getRootUrl() + "?ids=2," + UNKOWN_MANUFACTURER_ID + "," + KNOWN_MANUFACTURER_ID, HttpMethod.GET, null,
+				new ParameterizedTypeReference<BatchResultDto<ManufacturerDto>>() {
+				});
+		assertThat(response.getBody().getContent())
+				.as("check that the manufacturers are returned in the requested order")
+				.extracting(ManufacturerDto::getId).containsExactly(2L, KNOWN_MANUFACTURER_ID);
+		assertThat(response.getBody().getNotFound()).as("check that the unknown id is reported")
+				.containsExactly(UNKOWN_MANUFACTURER_ID);
+		statementCounter.assertAtMost(1, "GET /manufacturers/?ids=");
+	}
+
 	@Test
 	public void addNewManufacturer() {
 		ResponseEntity<ManufacturerDto> response = restTemplate.postForEntity(getRootUrl(), createDefaultBody(),
 				ManufacturerDto.class);
 		assertThat(response.getBody().getId()).as("check that the related manufacturer was created").isNotNull();
+		statementCounter.assertAtMost(1 + StatementCounter.ID_ALLOCATION_STATEMENTS, "POST /manufacturers/");
 	}
 
 	@Test
@@ -262,6 +409,24 @@ public class ManufacturerControllerIntegrationTest {
 				.isEqualTo(HttpStatus.BAD_REQUEST);
 	}
 
+	@Test
+	public void importManufacturersFromJsonThenTheInvalidRowsAreReported() {
+		String body = "[{\"name\":\"Estrella\",\"nationality\":\"Spanish\"},"
+				+ "{\"id\":1,\"name\":\"Moritz\",\"nationality\":\"Spanish\"},"
+				+ "{\"name\":\"Guinness\"}]";
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.APPLICATION_JSON);
+		ResponseEntity<ImportResultDto> response = restTemplate.postForEntity(getRootUrl() + "import",
+				new HttpEntity<String>(body, headers), ImportResultDto.class);
+		assertThat(response.getBody().getImported()).as("check that the valid row was imported").isEqualTo(1);
+		assertThat(response.getBody().getErrors()).as("check that the rejected rows are reported").extracting("row")
+				.containsExactly(2L, 3L);
+		ResponseEntity<ManufacturerDtoPageResponseWrapper> manufacturers = restTemplate.getForEntity(getRootUrl(),
+				ManufacturerDtoPageResponseWrapper.class);
+		assertThat(manufacturers.getBody().getTotalElements()).as("check that the imported manufacturer is found")
+				.isEqualTo(3);
+	}
+
 	@Test
 	public void moodifyKnownManufacturer() {
 		HttpHeaders headers = new HttpHeaders();
@@ -271,6 +436,35 @@ public class ManufacturerControllerIntegrationTest {
 				ManufacturerDto.class);
 		assertThat(response.getBody()).as("check that the related manufacturer was updated")
 				.isEqualTo(createDefaultManufacturerWithId(KNOWN_MANUFACTURER_ID));
+		statementCounter.assertAtMost(3, "PUT /manufacturers/{id}");
+	}
+
+	@Test
+	public void getManufacturerByIdWhenTheETagMatchesThenTheBodyIsNotSent() {
+		ResponseEntity<ManufacturerDto> manufacturer = restTemplate.getForEntity(getRootUrl() + KNOWN_MANUFACTURER_ID,
+				ManufacturerDto.class);
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch(manufacturer.getHeaders().getETag());
+		ResponseEntity<String> response = restTemplate.exchange(getRootUrl() + KNOWN_MANUFACTURER_ID, HttpMethod.GET,
+				new HttpEntity<Void>(headers), String.class);
+		assertThat(response.getStatusCode()).as("check that the manufacturer is not modified")
+				.isEqualTo(HttpStatus.NOT_MODIFIED);
+	}
+
+	@Test
+	public void moodifyKnownManufacturerThenTheETagChanges() {
+		ResponseEntity<ManufacturerDto> manufacturer = restTemplate.getForEntity(getRootUrl() + KNOWN_MANUFACTURER_ID,
+				ManufacturerDto.class);
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfMatch(manufacturer.getHeaders().getETag());
+		ResponseEntity<ManufacturerDto> response = restTemplate.exchange(getRootUrl() + KNOWN_MANUFACTURER_ID,
+				HttpMethod.PUT, new HttpEntity<>(createDefaultBody(), headers), ManufacturerDto.class);
+		assertThat(response.getHeaders().getETag()).as("check that the new version is returned")
+				.isNotEqualTo(manufacturer.getHeaders().getETag());
+		ResponseEntity<String> staleUpdate = restTemplate.exchange(getRootUrl() + KNOWN_MANUFACTURER_ID,
+				HttpMethod.PUT, new HttpEntity<>(createDefaultBody(), headers), String.class);
+		assertThat(staleUpdate.getStatusCode()).as("check that the update with the old version is refused")
+				.isEqualTo(HttpStatus.PRECONDITION_FAILED);
 	}
 
 	@Test
@@ -284,11 +478,132 @@ public class ManufacturerControllerIntegrationTest {
 				.isEqualTo(HttpStatus.NOT_FOUND);
 	}
 
+	@Test
+	public void patchKnownManufacturerThenItsBeersAreNotLoaded() {
+		ResponseEntity<ManufacturerDto> response = patchManufacturer(KNOWN_MANUFACTURER_ID,
+				"{\"nationality\":\"Catalan\"}", ManufacturerDto.class);
+		assertThat(response.getBody()).as("check that only the nationality was modified")
+				.isEqualTo(new ManufacturerDto(KNOWN_MANUFACTURER_ID, "Moritz", "Catalan"));
+		// the manufacturer is read and updated, the lazy beer list is never initialized
+		statementCounter.assertAtMost(2, "PATCH /manufacturers/{id}");
+	}
+
+	@Test
+	public void patchKnownManufacturerWhenThePatchIsNotAnObject() {
+		ResponseEntity<String> response = patchManufacturer(KNOWN_MANUFACTURER_ID, "[]", String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.BAD_REQUEST);
+	}
+
+	@Test
+	public void patchUnknownManufacturer() {
+		ResponseEntity<String> response = patchManufacturer(UNKOWN_MANUFACTURER_ID, "{\"nationality\":\"Catalan\"}",
+				String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
 	@Test
 	public void removeManufacturerByIdWhenExists() {
 		String resourceUrl = getRootUrl() + KNOWN_MANUFACTURER_ID;
 		ResponseEntity<String> response = restTemplate.exchange(resourceUrl, HttpMethod.DELETE, null, String.class);
 		assertThat(response.getStatusCode()).as("check that a manufacturer was removed").isEqualTo(HttpStatus.OK);
+		statementCounter.assertAtMost(DELETE_MANUFACTURER_STATEMENTS, "DELETE /manufacturers/{id}");
+	}
+
+	@Test
+	public void removeManufacturerByIdWhenIfMatchIsAnOldVersion() {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfMatch("\"5\"");
+		ResponseEntity<String> response = restTemplate.exchange(getRootUrl() + KNOWN_MANUFACTURER_ID,
+				HttpMethod.DELETE, new HttpEntity<Void>(headers), String.class);
+		assertThat(response.getStatusCode()).as("check that the removal is refused")
+				.isEqualTo(HttpStatus.PRECONDITION_FAILED);
+	}
+
+	@Test
+	public void removeManufacturerByIdWithManyBeersRunsTheSameStatements() {
+		insertManyBeersOfKnownManufacturer();
+		statementCounter.reset();
+		String resourceUrl = getRootUrl() + KNOWN_MANUFACTURER_ID;
+		ResponseEntity<String> response = restTemplate.exchange(resourceUrl, HttpMethod.DELETE, null, String.class);
+		assertThat(response.getStatusCode()).as("check that a manufacturer was removed").isEqualTo(HttpStatus.OK);
+		statementCounter.assertAtMost(DELETE_MANUFACTURER_STATEMENTS, "DELETE /manufacturers/{id} with many beers");
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM beers WHERE manufacturers_id = ? AND deleted = false", Long.class,
+				KNOWN_MANUFACTURER_ID)).as("check that every beer of the manufacturer was soft deleted").isZero();
+	}
+
+	@Test
+	public void removeManufacturerByIdAsyncThenTheBeersAreRemovedInBackground() throws InterruptedException {
+		insertManyBeersOfKnownManufacturer();
+		String resourceUrl = getRootUrl() + KNOWN_MANUFACTURER_ID + "?async=true";
+		ResponseEntity<DeletionJobDto> response = restTemplate.exchange(resourceUrl, HttpMethod.DELETE, null,
+				DeletionJobDto.class);
+		assertThat(response.getStatusCode()).as("check that the deletion was accepted").isEqualTo(HttpStatus.ACCEPTED);
+		assertThat(response.getHeaders().getLocation().getPath()).as("check that the job status location is returned")
+				.endsWith("/manufacturers/deletions/" + response.getBody().getId());
+		assertThat(response.getBody().getTotalBeers()).as("check that the beers to remove are counted")
+				.isEqualTo(MANY_BEERS + BEERS_OF_KNOWN_MANUFACTURER);
+		assertThat(restTemplate.getForEntity(getRootUrl() + KNOWN_MANUFACTURER_ID, String.class).getStatusCode())
+				.as("check that the manufacturer is not found right away").isEqualTo(HttpStatus.NOT_FOUND);
+
+		DeletionJobDto deletionJob = awaitDeletionJob(response.getBody().getId());
+		assertThat(deletionJob.getStatus()).as("check that the job is completed")
+				.isEqualTo(DeletionJobDto.Status.COMPLETED);
+		assertThat(deletionJob.getDeletedBeers()).as("check that the progress reaches every beer")
+				.isEqualTo(MANY_BEERS + BEERS_OF_KNOWN_MANUFACTURER);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM beers WHERE manufacturers_id = ? AND deleted = false", Long.class,
+				KNOWN_MANUFACTURER_ID)).as("check that every beer of the manufacturer was soft deleted").isZero();
+	}
+
+	@Test
+	public void resumeDeletionsWhenTheLeaseOfAJobExpiredThenItsBeersAreRemoved() throws InterruptedException {
+		// the state left by an instance that stopped during the job
+		jdbcTemplate.update("UPDATE manufacturers SET deleted = true WHERE id = ?", KNOWN_MANUFACTURER_ID);
+		insertRunningDeletionJob(STOPPED_INSTANCE_JOB_ID, Instant.now().minusSeconds(60));
+		// the periodic resume may take it over first, either way the job is run once
+		manufacturerDeletionService.resumeDeletions();
+		DeletionJobDto deletionJob = awaitDeletionJob(STOPPED_INSTANCE_JOB_ID);
+		assertThat(deletionJob.getStatus()).as("check that the job is completed")
+				.isEqualTo(DeletionJobDto.Status.COMPLETED);
+		assertThat(deletionJob.getDeletedBeers()).as("check that the remaining beers are added to the progress")
+				.isEqualTo(1 + BEERS_OF_KNOWN_MANUFACTURER);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM beers WHERE manufacturers_id = ? AND deleted = false", Long.class,
+				KNOWN_MANUFACTURER_ID)).as("check that every beer of the manufacturer was soft deleted").isZero();
+	}
+
+	@Test
+	public void resumeDeletionsWhenAnotherInstanceHoldsTheLeaseThenTheJobIsNotTakenOver() {
+		jdbcTemplate.update("UPDATE manufacturers SET deleted = true WHERE id = ?", KNOWN_MANUFACTURER_ID);
+		insertRunningDeletionJob(STOPPED_INSTANCE_JOB_ID, Instant.now().plusSeconds(60));
+		assertThat(manufacturerDeletionService.resumeDeletions()).as("check that no job is taken over").isEmpty();
+		DeletionJobDto deletionJob = restTemplate
+				.getForObject(getRootUrl() + "deletions/" + STOPPED_INSTANCE_JOB_ID, DeletionJobDto.class);
+		assertThat(deletionJob.getStatus()).as("check that the job of the other instance is reported")
+				.isEqualTo(DeletionJobDto.Status.RUNNING);
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM beers WHERE manufacturers_id = ? AND deleted = false", Long.class,
+				KNOWN_MANUFACTURER_ID)).as("check that the beers are left to the other instance")
+				.isEqualTo(BEERS_OF_KNOWN_MANUFACTURER);
+	}
+
+	@Test
+	public void removeManufacturerByIdAsyncWhenNotExists() {
+		String resourceUrl = getRootUrl() + UNKOWN_MANUFACTURER_ID + "?async=true";
+		ResponseEntity<String> response = restTemplate.exchange(resourceUrl, HttpMethod.DELETE, null, String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.NOT_FOUND);
+	}
+
+	@Test
+	public void getDeletionJobWhenTheJobIsUnknown() {
+		ResponseEntity<String> response = restTemplate.getForEntity(getRootUrl() + "deletions/unknownJob",
+				String.class);
+		assertThat(response.getStatusCode()).as("check that an error response is returned")
+				.isEqualTo(HttpStatus.NOT_FOUND);
 	}
 
 	@Test
@@ -307,6 +622,44 @@ public class ManufacturerControllerIntegrationTest {
 				.isEqualTo(HttpStatus.BAD_REQUEST);
 	}
 
+	private void insertManyBeersOfKnownManufacturer() {
+		jdbcTemplate.batchUpdate(
+				"INSERT INTO beers (id, name, graduation, type, description, deleted, manufacturers_id) VALUES (?, 'Moritz', 'strong', 'ALE', 'strong beer', false, ?)",
+				IntStream.rangeClosed(1, MANY_BEERS).mapToObj(index -> new Object[] { 100 + index, KNOWN_MANUFACTURER_ID })
+						.collect(Collectors.toList()));
+	}
+
+	private void insertRunningDeletionJob(final String jobId, final Instant leaseUntil) {
+		jdbcTemplate.update(
+				"INSERT INTO deletion_jobs (id, manufacturer_id, status, total_beers, deleted_beers, owner, lease_until) VALUES (?, ?, 'RUNNING', ?, 1, 'stopped-instance', ?)",
+				jobId, KNOWN_MANUFACTURER_ID, 1 + BEERS_OF_KNOWN_MANUFACTURER, Timestamp.from(leaseUntil));
+	}
+
+	private DeletionJobDto awaitDeletionJob(final String jobId) throws InterruptedException {
+		long deadline = System.currentTimeMillis() + DELETION_JOB_TIMEOUT_MILLIS;
+		DeletionJobDto deletionJob;
+		do {
+			Thread.sleep(50);
+			deletionJob = restTemplate.getForObject(getRootUrl() + "deletions/" + jobId, DeletionJobDto.class);
+		} while (deletionJob.getStatus() != DeletionJobDto.Status.COMPLETED
+				&& deletionJob.getStatus() != DeletionJobDto.Status.FAILED && System.currentTimeMillis() < deadline);
+		return deletionJob;
+	}
+
+	private <T> ResponseEntity<T> patchManufacturer(final long manufacturerId, final String patch,
+			final Class<T> responseType) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType("application/merge-patch+json"));
+		return restTemplate.exchange(getRootUrl() + manufacturerId, HttpMethod.PATCH,
+				new HttpEntity<String>(patch, headers), responseType);
+	}
+
+	private ResponseEntity<String> getWithIfNoneMatch(final String url, final String tag) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setIfNoneMatch(tag);
+		return restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<Void>(headers), String.class);
+	}
+
 	private ManufacturerDto createDefaultManufacturerWithId(final Long id) {
 		ManufacturerDto manufacturerDto = new ManufacturerDto();
 		manufacturerDto.setId(id);
@@ -0,0 +1,203 @@
+package com.haufeGroup.beerCatalogue.dataset;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.util.CatalogueIdGenerator;
+
+// bulk loads a synthetic catalogue into the schema created by hibernate from the model classes
+public class CatalogueGenerator {
+
+	public static final int DEFAULT_BATCH_SIZE = 10000;
+
+	// the beers of a manufacturer follow a power law: the 1% biggest manufacturers own about 20% of the beers
+	private static final double MANUFACTURER_SKEW = 3.0;
+
+	private static final double DELETED_MANUFACTURER_RATIO = 0.01;
+
+	private static final double DELETED_BEER_RATIO = 0.02;
+
+	// sorted by popularity, the types are picked with a zipf distribution
+	private static final String[] TYPES = { "Lager", "ALE", "IPA", "Pilsner", "Stout", "Witbier", "Porter",
+			"English IPA", "Dark Mild", "Bock", "Saison", "Gose" };
+
+	private static final double[] TYPE_CUMULATIVE_WEIGHTS = getZipfCumulativeWeights(TYPES.length);
+
+	private static final String[] GRADUATIONS = { "medium", "low", "strong" };
+
+	// 60% medium, 25% low and 15% strong
+	private static final double[] GRADUATION_CUMULATIVE_WEIGHTS = { 0.6, 0.85, 1.0 };
+
+	private static final String[] NATIONALITIES = { "German", "Belgian", "Spanish", "Dutch", "English", "Irish",
+			"Czech", "American" };
+
+	private static final String INSERT_MANUFACTURER = "INSERT INTO manufacturers (id, name, nationality, deleted) VALUES (?, ?, ?, ?)";
+
+	private static final String INSERT_BEER = "INSERT INTO beers (id, name, graduation, type, description, deleted, manufacturers_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+	private final DataSource dataSource;
+
+	private final SplittableRandom random;
+
+	private final int batchSize;
+
+	public CatalogueGenerator(final DataSource dataSource, final long seed) {
+		this(dataSource, seed, DEFAULT_BATCH_SIZE);
+	}
+
+	public CatalogueGenerator(final DataSource dataSource, final long seed, final int batchSize) {
+		this.dataSource = dataSource;
+		this.random = new SplittableRandom(seed);
+		this.batchSize = batchSize;
+	}
+
+	public void generate(final int manufacturers, final long beers) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			boolean autoCommit = connection.getAutoCommit();
+			connection.setAutoCommit(false);
+			try {
+				long firstManufacturerId = getMaxId(connection, "manufacturers") + 1;
+				boolean[] deletedManufacturers = insertManufacturers(connection, firstManufacturerId, manufacturers);
+				long firstBeerId = getMaxId(connection, "beers") + 1;
+				insertBeers(connection, firstBeerId, beers, firstManufacturerId, deletedManufacturers);
+				// the ids were provided, so the sequences must continue after them
+				raiseSequence(connection, "MANUFACTURERS_SEQ", firstManufacturerId + manufacturers - 1);
+				raiseSequence(connection, "BEERS_SEQ", firstBeerId + beers - 1);
+				connection.commit();
+			} catch (SQLException sqle) {
+				connection.rollback();
+				throw sqle;
+			} finally {
+				connection.setAutoCommit(autoCommit);
+			}
+		}
+	}
+
+	private boolean[] insertManufacturers(final Connection connection, final long firstId, final int manufacturers)
+			throws SQLException {
+		boolean[] deletedManufacturers = new boolean[manufacturers];
+		try (PreparedStatement insert = connection.prepareStatement(INSERT_MANUFACTURER)) {
+			for (int index = 0; index < manufacturers; index++) {
+				long id = firstId + index;
+				deletedManufacturers[index] = random.nextDouble() < DELETED_MANUFACTURER_RATIO;
+				insert.setLong(1, id);
+				insert.setString(2, "Brewery " + id);
+				insert.setString(3, NATIONALITIES[random.nextInt(NATIONALITIES.length)]);
+				insert.setBoolean(4, deletedManufacturers[index]);
+				addToBatch(connection, insert, index + 1);
+			}
+			insert.executeBatch();
+			connection.commit();
+		}
+		return deletedManufacturers;
+	}
+
+	private void insertBeers(final Connection connection, final long firstId, final long beers,
+			final long firstManufacturerId, final boolean[] deletedManufacturers) throws SQLException {
+		try (PreparedStatement insert = connection.prepareStatement(INSERT_BEER)) {
+			for (long index = 0; index < beers; index++) {
+				long id = firstId + index;
+				int manufacturerIndex = (int) (deletedManufacturers.length
+						* Math.pow(random.nextDouble(), MANUFACTURER_SKEW));
+				String graduation = GRADUATIONS[pick(GRADUATION_CUMULATIVE_WEIGHTS)];
+				String type = TYPES[pick(TYPE_CUMULATIVE_WEIGHTS)];
+				insert.setLong(1, id);
+				insert.setString(2, type + " " + id);
+				insert.setString(3, graduation);
+				insert.setString(4, type);
+				insert.setString(5, graduation + " " + type);
+				// the beers of a deleted manufacturer are soft deleted too
+				insert.setBoolean(6,
+						deletedManufacturers[manufacturerIndex] || random.nextDouble() < DELETED_BEER_RATIO);
+				insert.setLong(7, firstManufacturerId + manufacturerIndex);
+				addToBatch(connection, insert, index + 1);
+			}
+			insert.executeBatch();
+		}
+	}
+
+	private void addToBatch(final Connection connection, final PreparedStatement insert, final long rows)
+			throws SQLException {
+		insert.addBatch();
+		if (rows % batchSize == 0) {
+			insert.executeBatch();
+			// small transactions keep the undo log of the database bounded
+			connection.commit();
+		}
+	}
+
+	private int pick(final double[] cumulativeWeights) {
+		double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+		for (int index = 0; index < cumulativeWeights.length - 1; index++) {
+			if (value < cumulativeWeights[index]) {
+				return index;
+			}
+		}
+		return cumulativeWeights.length - 1;
+	}
+
+	private static double[] getZipfCumulativeWeights(final int size) {
+		double[] cumulativeWeights = new double[size];
+		double total = 0;
+		for (int rank = 1; rank <= size; rank++) {
+			total += 1.0 / rank;
+			cumulativeWeights[rank - 1] = total;
+		}
+		return cumulativeWeights;
+	}
+
+	private static long getMaxId(final Connection connection, final String table) throws SQLException {
+		try (Statement statement = connection.createStatement();
+				ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+			resultSet.next();
+			return resultSet.getLong(1);
+		}
+	}
+
+	// the pooled optimizer takes the sequence value as the end of a block of ids, so the next value must leave a whole
+	// block after the last provided id
+	private static void raiseSequence(final Connection connection, final String sequence, final long lastId)
+			throws SQLException {
+		try (PreparedStatement query = connection
+				.prepareStatement("SELECT CURRENT_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?")) {
+			query.setString(1, sequence);
+			try (ResultSet resultSet = query.executeQuery()) {
+				if (resultSet.next() && resultSet.getLong(1) >= lastId) {
+					return;
+				}
+			}
+		}
+		try (Statement statement = connection.createStatement()) {
+			statement.execute(
+					"ALTER SEQUENCE " + sequence + " RESTART WITH " + (lastId + CatalogueIdGenerator.INCREMENT_SIZE));
+		}
+	}
+
+	// usage: CatalogueGenerator <manufacturers> <beers> [jdbc url], e.g. 10000 10000000 jdbc:h2:file:./target/catalogue
+	public static void main(final String[] args) throws SQLException {
+		int manufacturers = Integer.parseInt(args[0]);
+		long beers = Long.parseLong(args[1]);
+		String url = args.length > 2 ? args[2] : "jdbc:h2:file:./target/catalogue";
+		// hibernate creates the schema from the model classes and keeps it when the context is closed
+		try (ConfigurableApplicationContext context = SpringApplication.run(BeerCatalogueApplication.class,
+				"--spring.main.web-application-type=none", "--spring.datasource.url=" + url,
+				"--spring.jpa.hibernate.ddl-auto=update", "--spring.jpa.show-sql=false")) {
+			long start = System.currentTimeMillis();
+			new CatalogueGenerator(context.getBean(DataSource.class), 42L).generate(manufacturers, beers);
+			long elapsed = Math.max(1, System.currentTimeMillis() - start);
+			System.out.printf("%d manufacturers and %d beers loaded in %d ms (%d rows/s)%n", manufacturers, beers,
+					elapsed, (manufacturers + beers) * 1000 / elapsed);
+		}
+	}
+
+}
@@ -0,0 +1,81 @@
+package com.haufeGroup.beerCatalogue.dataset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.Sql.ExecutionPhase;
+
+import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.model.Manufacturer;
+import com.haufeGroup.beerCatalogue.repository.ManufacturerRepository;
+
+@SpringBootTest(classes = BeerCatalogueApplication.class)
+@Sql("/scripts/repositories/clearData.sql")
+@Sql(scripts = "/scripts/repositories/clearData.sql", executionPhase = ExecutionPhase.AFTER_TEST_METHOD)
+public class CatalogueGeneratorIntegrationTest {
+
+	private static final int MANUFACTURERS = 100;
+
+	private static final int BEERS = 20000;
+
+	private static final int BATCH_SIZE = 1000;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private ManufacturerRepository manufacturerRepository;
+
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	public void generateCatalogue() throws SQLException {
+		new CatalogueGenerator(dataSource, 42L, BATCH_SIZE).generate(MANUFACTURERS, BEERS);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+	}
+
+	@Test
+	public void generateThenTheRequestedRowsAreLoaded() {
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM manufacturers", Long.class))
+				.as("check the number of manufacturers loaded").isEqualTo(MANUFACTURERS);
+		assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM beers", Long.class))
+				.as("check the number of beers loaded").isEqualTo(BEERS);
+	}
+
+	@Test
+	public void generateThenTheBeersOfTheManufacturersAreSkewed() {
+		List<Long> beersPerManufacturer = jdbcTemplate.queryForList(
+				"SELECT COUNT(*) FROM beers GROUP BY manufacturers_id ORDER BY COUNT(*) DESC", Long.class);
+		long topManufacturersBeers = beersPerManufacturer.stream().limit(MANUFACTURERS / 10).mapToLong(Long::longValue)
+				.sum();
+		assertThat(topManufacturersBeers).as("check that the 10% biggest manufacturers own almost half of the beers")
+				.isGreaterThan(BEERS * 4 / 10);
+	}
+
+	@Test
+	public void generateThenTheBeersOfDeletedManufacturersAreDeleted() {
+		assertThat(jdbcTemplate.queryForObject(
+				"SELECT COUNT(*) FROM beers b JOIN manufacturers m ON b.manufacturers_id = m.id WHERE m.deleted = true AND b.deleted = false",
+				Long.class)).as("check that no active beer belongs to a deleted manufacturer").isZero();
+	}
+
+	@Test
+	public void generateThenNewRowsGetTheNextIds() {
+		Manufacturer manufacturer = new Manufacturer();
+		manufacturer.setName("Moritz");
+		manufacturer.setNationality("Spanish");
+		assertThat(manufacturerRepository.save(manufacturer).getId())
+				.as("check that the sequence continues after the generated ids").isGreaterThan(MANUFACTURERS);
+	}
+
+}
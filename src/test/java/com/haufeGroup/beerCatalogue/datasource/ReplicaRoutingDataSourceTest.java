@@ -0,0 +1,66 @@
+package com.haufeGroup.beerCatalogue.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public class ReplicaRoutingDataSourceTest {
+
+	private final ReplicaRoutingDataSource testSubject = new ReplicaRoutingDataSource(new DriverManagerDataSource(),
+			List.of(new DriverManagerDataSource(), new DriverManagerDataSource()));
+
+	@AfterEach
+	public void clearRouting() {
+		ReplicaRouting.endReplicaRead();
+		ReplicaRouting.unpin();
+		TransactionSynchronizationManager.clear();
+	}
+
+	@Test
+	public void determineCurrentLookupKeyOutsideOfAReadThenThePrimaryIsUsed() {
+		assertThat(testSubject.determineCurrentLookupKey()).as("check that the primary is used").isNull();
+	}
+
+	@Test
+	public void determineCurrentLookupKeyInsideOfAReadThenTheSameReplicaIsUsed() {
+		ReplicaRouting.beginReplicaRead();
+		Object replica = testSubject.determineCurrentLookupKey();
+		assertThat(replica).as("check that a replica is used").isNotNull();
+		assertThat(testSubject.determineCurrentLookupKey()).as("check that the read keeps its replica")
+				.isEqualTo(replica);
+	}
+
+	@Test
+	public void determineCurrentLookupKeyForConsecutiveReadsThenTheReplicasAreBalanced() {
+		ReplicaRouting.beginReplicaRead();
+		Object firstReplica = testSubject.determineCurrentLookupKey();
+		ReplicaRouting.endReplicaRead();
+		ReplicaRouting.beginReplicaRead();
+		Object secondReplica = testSubject.determineCurrentLookupKey();
+		ReplicaRouting.endReplicaRead();
+		ReplicaRouting.beginReplicaRead();
+		assertThat(secondReplica).as("check that the next read uses the other replica").isNotEqualTo(firstReplica);
+		assertThat(testSubject.determineCurrentLookupKey()).as("check that the replicas are used round robin")
+				.isEqualTo(firstReplica);
+	}
+
+	@Test
+	public void beginReplicaReadWhenThePrimaryIsPinnedThenThePrimaryIsUsed() {
+		ReplicaRouting.pinToPrimary();
+		assertThat(ReplicaRouting.beginReplicaRead()).as("check that the read does not use a replica").isFalse();
+		assertThat(testSubject.determineCurrentLookupKey()).as("check that the primary is used").isNull();
+	}
+
+	@Test
+	public void beginReplicaReadInsideOfAWriteTransactionThenThePrimaryIsUsed() {
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+		assertThat(ReplicaRouting.beginReplicaRead()).as("check that the read does not use a replica").isFalse();
+		assertThat(testSubject.determineCurrentLookupKey()).as("check that the primary is used").isNull();
+	}
+
+}
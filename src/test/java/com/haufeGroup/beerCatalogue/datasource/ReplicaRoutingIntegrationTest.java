@@ -0,0 +1,142 @@
+package com.haufeGroup.beerCatalogue.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.testWrappers.BeerDtoPageResponseWrapper;
+
+// a primary and a replica in two h2 databases, the replica is a copy of the primary taken before each test
+@SpringBootTest(classes = BeerCatalogueApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+		"spring.datasource.url=jdbc:h2:mem:routingPrimary",
+		"beerCatalogue.datasource.replicas=" + ReplicaRoutingIntegrationTest.REPLICA_URL,
+		"beerCatalogue.datasource.read-your-writes-window=60000", "spring.jpa.open-in-view=false" })
+@Sql({ "/scripts/controllers/clearData.sql", "/scripts/controllers/integrationTestData.sql" })
+public class ReplicaRoutingIntegrationTest {
+
+	static final String REPLICA_URL = "jdbc:h2:mem:routingReplica;DB_CLOSE_DELAY=-1";
+
+	private static final long KNOWN_BEER_ID = 1;
+
+	private static final long OTHER_BEER_ID = 2;
+
+	private static final long KNOWN_MANUFACTURER_ID = 1;
+
+	@Autowired
+	private TestRestTemplate restTemplate;
+
+	@LocalServerPort
+	private int port;
+
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private JdbcTemplate primary;
+
+	private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+	@BeforeEach
+	public void replicate() {
+		clearCaches();
+		// outside of a read only method the datasource is the primary
+		primary = new JdbcTemplate(dataSource);
+		List<String> script = primary.queryForList("SCRIPT", String.class);
+		replica.execute("DROP ALL OBJECTS");
+		script.forEach(replica::execute);
+	}
+
+	private void clearCaches() {
+		cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+		entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+	}
+
+	private String getRootUrl() {
+		return "http://localhost:" + port + "/beerCatalogue/api/";
+	}
+
+	@Test
+	public void getBeerByIdThenTheBeerIsReadFromTheReplica() {
+		replica.update("UPDATE beers SET name = 'replicaName' WHERE id = ?", KNOWN_BEER_ID);
+		ResponseEntity<BeerDto> response = restTemplate.getForEntity(getRootUrl() + "beers/" + KNOWN_BEER_ID,
+				BeerDto.class);
+		assertThat(response.getBody().getName()).as("check that the beer of the replica is returned")
+				.isEqualTo("replicaName");
+	}
+
+	@Test
+	public void getManufacturerBeersThenThePageIsReadFromTheReplica() {
+		replica.update("DELETE FROM beers WHERE id = ?", OTHER_BEER_ID);
+		ResponseEntity<BeerDtoPageResponseWrapper> response = restTemplate.getForEntity(
+				getRootUrl() + "manufacturers/" + KNOWN_MANUFACTURER_ID + "/beers", BeerDtoPageResponseWrapper.class);
+		assertThat(response.getBody().getTotalElements()).as("check that the beers of the replica are returned")
+				.isEqualTo(2);
+	}
+
+	@Test
+	public void patchBeerThenTheBeerIsWrittenToThePrimary() {
+		patchBeer(KNOWN_BEER_ID, "{\"name\":\"patchedName\"}");
+		assertThat(primary.queryForObject("SELECT name FROM beers WHERE id = ?", String.class, KNOWN_BEER_ID))
+				.as("check that the primary is modified").isEqualTo("patchedName");
+		assertThat(replica.queryForObject("SELECT name FROM beers WHERE id = ?", String.class, KNOWN_BEER_ID))
+				.as("check that the replica is not modified").isEqualTo("Moritz");
+	}
+
+	@Test
+	public void getBeerByIdAfterAWriteOfTheClientThenTheBeerIsReadFromThePrimary() {
+		replica.update("UPDATE beers SET name = 'replicaName' WHERE id = ?", OTHER_BEER_ID);
+		ResponseEntity<BeerDto> patchResponse = patchBeer(KNOWN_BEER_ID, "{\"name\":\"patchedName\"}");
+		String lastWriteCookie = patchResponse.getHeaders().getFirst(HttpHeaders.SET_COOKIE).split(";")[0];
+		assertThat(lastWriteCookie).as("check that the client gets the time of its write")
+				.startsWith(ReadYourWritesFilter.LAST_WRITE_COOKIE + "=");
+		HttpHeaders headers = new HttpHeaders();
+		headers.add(HttpHeaders.COOKIE, lastWriteCookie);
+		assertThat(getBeer(KNOWN_BEER_ID, headers).getName()).as("check that the client reads its write")
+				.isEqualTo("patchedName");
+		assertThat(getBeer(OTHER_BEER_ID, headers).getName())
+				.as("check that the other reads of the client go to the primary").isEqualTo("Heineken");
+		clearCaches();
+		assertThat(getBeer(OTHER_BEER_ID, new HttpHeaders()).getName())
+				.as("check that the reads of the other clients go to the replica").isEqualTo("replicaName");
+	}
+
+	private BeerDto getBeer(final long beerId, final HttpHeaders headers) {
+		return restTemplate.exchange(getRootUrl() + "beers/" + beerId, HttpMethod.GET, new HttpEntity<Void>(headers),
+				BeerDto.class).getBody();
+	}
+
+	private ResponseEntity<BeerDto> patchBeer(final long beerId, final String patch) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.setContentType(MediaType.parseMediaType("application/merge-patch+json"));
+		return restTemplate.exchange(getRootUrl() + "beers/" + beerId, HttpMethod.PATCH,
+				new HttpEntity<String>(patch, headers), BeerDto.class);
+	}
+
+}
@@ -0,0 +1,157 @@
+package com.haufeGroup.beerCatalogue.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.exception.ManufacturerServiceException;
+import com.haufeGroup.beerCatalogue.service.IBeerService;
+import com.haufeGroup.beerCatalogue.service.IManufacturerService;
+import com.haufeGroup.beerCatalogue.util.ModificationCounters;
+
+// several instances of the application in one jvm, sharing a database of their own and the jdbc transport
+public class CacheInvalidationClusterIntegrationTest {
+
+	private static final int NODES = 3;
+
+	private static final long CONVERGENCE_TIMEOUT_MILLIS = 5000;
+
+	private static final long KNOWN_BEER_ID = 1;
+
+	private static final long KNOWN_MANUFACTURER_ID = 1;
+
+	private static final long MANUFACTURER_WITHOUT_BEERS_ID = 2;
+
+	private static final List<ConfigurableApplicationContext> nodes = new ArrayList<ConfigurableApplicationContext>();
+
+	@BeforeAll
+	public static void startNodes() {
+		for (int node = 0; node < NODES; node++) {
+			nodes.add(startNode());
+		}
+		new ResourceDatabasePopulator(new ClassPathResource("scripts/controllers/clearData.sql"),
+				new ClassPathResource("scripts/controllers/integrationTestData.sql"))
+				.execute(nodes.get(0).getBean(DataSource.class));
+	}
+
+	@AfterAll
+	public static void stopNodes() {
+		nodes.forEach(ConfigurableApplicationContext::close);
+	}
+
+	@Test
+	public void patchBeerOnANodeThenTheOtherNodesConverge() throws Exception {
+		nodes.forEach(node -> node.getBean(IBeerService.class).getBeerById(KNOWN_BEER_ID));
+		List<String> manufacturerBeersTags = new ArrayList<String>();
+		nodes.forEach(node -> manufacturerBeersTags
+				.add(node.getBean(ModificationCounters.class).manufacturerBeersTag(KNOWN_MANUFACTURER_ID)));
+		long start = System.nanoTime();
+		nodes.get(0).getBean(IBeerService.class).patchBeer(KNOWN_BEER_ID,
+				new ObjectMapper().readTree("{\"name\":\"patchedName\"}"));
+		for (int node = 1; node < NODES; node++) {
+			IBeerService beerService = nodes.get(node).getBean(IBeerService.class);
+			ModificationCounters modificationCounters = nodes.get(node).getBean(ModificationCounters.class);
+			String manufacturerBeersTag = manufacturerBeersTags.get(node);
+			long latencyMillis = awaitConvergence(start,
+					() -> "patchedName".equals(beerService.getBeerById(KNOWN_BEER_ID).getName())
+							&& !manufacturerBeersTag.equals(modificationCounters.manufacturerBeersTag(KNOWN_MANUFACTURER_ID)));
+			assertThat(latencyMillis)
+					.as("check that node " + node + " converges, it took " + latencyMillis + " ms")
+					.isLessThan(CONVERGENCE_TIMEOUT_MILLIS);
+		}
+	}
+
+	@Test
+	public void deleteManufacturerOnANodeThenTheOtherNodesConverge() throws InterruptedException {
+		nodes.forEach(node -> node.getBean(IManufacturerService.class).getManufacturerById(MANUFACTURER_WITHOUT_BEERS_ID));
+		long start = System.nanoTime();
+		nodes.get(NODES - 1).getBean(IManufacturerService.class).deleteManufacturerById(MANUFACTURER_WITHOUT_BEERS_ID, null);
+		for (int node = 0; node < NODES - 1; node++) {
+			IManufacturerService manufacturerService = nodes.get(node).getBean(IManufacturerService.class);
+			long latencyMillis = awaitConvergence(start, () -> {
+				try {
+					manufacturerService.getManufacturerById(MANUFACTURER_WITHOUT_BEERS_ID);
+					return false;
+				} catch (ManufacturerServiceException mse) {
+					return true;
+				}
+			});
+			assertThat(latencyMillis)
+					.as("check that node " + node + " converges, it took " + latencyMillis + " ms")
+					.isLessThan(CONVERGENCE_TIMEOUT_MILLIS);
+		}
+	}
+
+	@Test
+	public void patchBeerOnANodeThenEveryNodeHasTheSameTags() throws Exception {
+		nodes.get(0).getBean(IBeerService.class).patchBeer(KNOWN_BEER_ID,
+				new ObjectMapper().readTree("{\"name\":\"taggedName\"}"));
+		ModificationCounters writerCounters = nodes.get(0).getBean(ModificationCounters.class);
+		for (int node = 1; node < NODES; node++) {
+			ModificationCounters modificationCounters = nodes.get(node).getBean(ModificationCounters.class);
+			long latencyMillis = awaitConvergence(System.nanoTime(),
+					() -> writerCounters.beersTag().equals(modificationCounters.beersTag())
+							&& writerCounters.manufacturerBeersTag(KNOWN_MANUFACTURER_ID)
+									.equals(modificationCounters.manufacturerBeersTag(KNOWN_MANUFACTURER_ID)));
+			assertThat(latencyMillis).as("check that node " + node + " answers the tags of the writer")
+					.isLessThan(CONVERGENCE_TIMEOUT_MILLIS);
+		}
+	}
+
+	@Test
+	public void startNodeAfterAWriteThenItHasTheTagsOfTheOthers() throws Exception {
+		nodes.get(0).getBean(IBeerService.class).patchBeer(KNOWN_BEER_ID,
+				new ObjectMapper().readTree("{\"name\":\"startedName\"}"));
+		ModificationCounters writerCounters = nodes.get(0).getBean(ModificationCounters.class);
+		try (ConfigurableApplicationContext startedNode = startNode()) {
+			ModificationCounters modificationCounters = startedNode.getBean(ModificationCounters.class);
+			assertThat(modificationCounters.beersTag()).as("check that the started node has the tag of the beers")
+					.isEqualTo(writerCounters.beersTag());
+			assertThat(modificationCounters.manufacturerBeersTag(KNOWN_MANUFACTURER_ID))
+					.as("check that the started node has the tag of the beers of the manufacturer")
+					.isEqualTo(writerCounters.manufacturerBeersTag(KNOWN_MANUFACTURER_ID));
+			assertThat(modificationCounters.manufacturersTag())
+					.as("check that the started node has the tag of the manufacturers")
+					.isEqualTo(writerCounters.manufacturersTag());
+		}
+	}
+
+	private static ConfigurableApplicationContext startNode() {
+		return SpringApplication.run(BeerCatalogueApplication.class, "--spring.main.web-application-type=none",
+				// the hateoas support of the api docs needs the web context
+				"--springdoc.api-docs.enabled=false", "--spring.datasource.url=jdbc:h2:mem:cluster;DB_CLOSE_DELAY=-1",
+				// the nodes start one after the other, the schema of the first one is kept
+				"--spring.jpa.hibernate.ddl-auto=update", "--spring.jpa.show-sql=false",
+				// the jcache regions of hibernate are shared by the whole jvm, so every node would see them
+				"--spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+				"--spring.jpa.properties.hibernate.cache.use_query_cache=false",
+				"--beerCatalogue.invalidation.transport=jdbc", "--beerCatalogue.invalidation.jdbc.poll-interval=50");
+	}
+
+	// the milliseconds since the write until the node sees it, or until the timeout
+	private long awaitConvergence(final long start, final BooleanSupplier converged) throws InterruptedException {
+		while (!converged.getAsBoolean() && elapsedMillis(start) < CONVERGENCE_TIMEOUT_MILLIS) {
+			Thread.sleep(5);
+		}
+		return elapsedMillis(start);
+	}
+
+	private long elapsedMillis(final long start) {
+		return (System.nanoTime() - start) / 1_000_000;
+	}
+
+}
@@ -0,0 +1,92 @@
+package com.haufeGroup.beerCatalogue.invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.task.TaskExecutorBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.haufeGroup.beerCatalogue.dto.InvalidationEventDto;
+import com.haufeGroup.beerCatalogue.dto.InvalidationEventDto.Type;
+
+public class LoopbackCacheInvalidationTransportTest {
+
+	private static final long DELIVERY_TIMEOUT_SECONDS = 5;
+
+	private final LoopbackCacheInvalidationTransport publisher = createTransport("channel");
+
+	private final LoopbackCacheInvalidationTransport subscriber = createTransport("channel");
+
+	private final LoopbackCacheInvalidationTransport otherChannelSubscriber = createTransport("otherChannel");
+
+	@AfterEach
+	public void leaveChannels() {
+		publisher.leave();
+		subscriber.leave();
+		otherChannelSubscriber.leave();
+	}
+
+	@Test
+	public void publishThenTheSubscribersOfTheChannelReceiveTheEvent() throws InterruptedException {
+		BlockingQueue<InvalidationEventDto> publisherEvents = subscribe(publisher);
+		BlockingQueue<InvalidationEventDto> subscriberEvents = subscribe(subscriber);
+		InvalidationEventDto event = new InvalidationEventDto("origin", Type.BEER, Set.of(1L), Set.of(1L), Set.of("beers"),
+				null);
+		publisher.publish(event);
+		assertThat(subscriberEvents.poll(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+				.as("check that the other instance receives the event").isEqualTo(event);
+		assertThat(publisherEvents.poll(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+				.as("check that the publisher receives its own event").isEqualTo(event);
+	}
+
+	@Test
+	public void publishThenTheSubscribersOfOtherChannelsDoNotReceiveTheEvent() throws InterruptedException {
+		BlockingQueue<InvalidationEventDto> subscriberEvents = subscribe(subscriber);
+		BlockingQueue<InvalidationEventDto> otherChannelEvents = subscribe(otherChannelSubscriber);
+		publisher.publish(
+				new InvalidationEventDto("origin", Type.MANUFACTURER, Set.of(1L), null, Set.of("manufacturers"), null));
+		// a delivery to the other channel would have been submitted by the same publish
+		subscriberEvents.poll(DELIVERY_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+		assertThat(otherChannelEvents.poll(100, TimeUnit.MILLISECONDS))
+				.as("check that the instance of another channel does not receive the event").isNull();
+	}
+
+	@Test
+	public void publishThenTheInstancesOfTheChannelShareTheSequences() {
+		long firstSequence = publisher.publish(
+				new InvalidationEventDto("origin", Type.MANUFACTURER, Set.of(1L), null, Set.of("manufacturers"), null));
+		long secondSequence = subscriber
+				.publish(new InvalidationEventDto("origin", Type.BEER, Set.of(1L), Set.of(1L), Set.of("beers"), null));
+		assertThat(secondSequence).as("check that the sequence grows on every instance of the channel")
+				.isGreaterThan(firstSequence);
+		assertThat(subscriber.findCollectionSequences())
+				.as("check that the instances of the channel know the last sequence of every collection")
+				.containsEntry("manufacturers", firstSequence).containsEntry("beers", secondSequence)
+				.isEqualTo(publisher.findCollectionSequences());
+		assertThat(subscriber.getEpoch()).as("check that the instances of the channel have the same epoch")
+				.isEqualTo(publisher.getEpoch());
+		assertThat(otherChannelSubscriber.findCollectionSequences())
+				.as("check that another channel has sequences of its own").doesNotContainKey("beers");
+	}
+
+	private BlockingQueue<InvalidationEventDto> subscribe(final LoopbackCacheInvalidationTransport transport) {
+		BlockingQueue<InvalidationEventDto> events = new LinkedBlockingQueue<InvalidationEventDto>();
+		transport.subscribe(events::add);
+		return events;
+	}
+
+	private static LoopbackCacheInvalidationTransport createTransport(final String channel) {
+		LoopbackCacheInvalidationTransport transport = new LoopbackCacheInvalidationTransport();
+		ReflectionTestUtils.setField(transport, "channel", channel);
+		transport.taskExecutorBuilder = new TaskExecutorBuilder();
+		transport.join();
+		return transport;
+	}
+
+}
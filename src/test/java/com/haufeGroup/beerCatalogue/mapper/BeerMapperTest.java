@@ -63,6 +63,16 @@ public class BeerMapperTest {
 				.isNotNull();
 	}
 
+	@Test
+	public void mergeEntityWhenTheTargetHasAManufacturerThenItIsNotReplaced() {
+		Beer sourceEntity = createDefaultEntity();
+		sourceEntity.getManufacturer().setId(2L);
+		Beer targetEntity = createDefaultBeerWithoutDescription();
+		testSubject.mergeEntity(sourceEntity, targetEntity);
+		assertThat(targetEntity.getManufacturer().getId())
+				.as("check that the manufacturer of the target entity is kept").isOne();
+	}
+
 	@Test
 	public void mapFromEntityList() {
 		assertThat(testSubject.mapFromEntityList(createDefaultEntityList())).as("check that entity list was mapped")
@@ -12,6 +12,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
 import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
+import com.haufeGroup.beerCatalogue.model.Beer;
 import com.haufeGroup.beerCatalogue.model.Manufacturer;
 
 public class ManufacturerMapperTest {
@@ -56,6 +57,15 @@ public class ManufacturerMapperTest {
 				.isNotNull();
 	}
 
+	@Test
+	public void mergeEntityWhenTheSourceHasABeerListThenItIsNotMerged() {
+		Manufacturer sourceEntity = createDefaultEntity();
+		sourceEntity.setBeerList(List.of(new Beer()));
+		Manufacturer targetEntity = createDefaultEntityWithoutName();
+		testSubject.mergeEntity(sourceEntity, targetEntity);
+		assertThat(targetEntity.getBeerList()).as("check that the beer list is not merged").isNull();
+	}
+
 	@Test
 	public void mapFromEntityList() {
 		assertThat(testSubject.mapFromEntityList(createDefaultEntityList())).as("check that entity list was mapped")
@@ -6,29 +6,38 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.assertj.core.api.Fail;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
 import com.haufeGroup.beerCatalogue.exception.SortExtractorException;
 import com.haufeGroup.beerCatalogue.model.Beer;
 import com.haufeGroup.beerCatalogue.model.Manufacturer;
+import com.haufeGroup.beerCatalogue.testSupport.StatementCounter;
+import com.haufeGroup.beerCatalogue.util.KeysetCursor;
 import com.haufeGroup.beerCatalogue.util.SortExtractor;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(StatementCounter.class)
 @Sql({ "/scripts/repositories/clearData.sql", "/scripts/repositories/testData.sql" })
 public class BeerRepositoryIntegrationTest {
 
@@ -54,6 +63,9 @@ public class BeerRepositoryIntegrationTest {
 	@Autowired
 	private BeerRepository testSubject;
 
+	@Autowired
+	private StatementCounter statementCounter;
+
 	private static SortExtractor sortExtractor;
 
 	@BeforeAll
@@ -61,6 +73,13 @@ public class BeerRepositoryIntegrationTest {
 		sortExtractor = new SortExtractor();
 	}
 
+	@BeforeEach
+	public void evictSecondLevelCache() {
+		// the test data is loaded with plain sql, so the second-level cache does not know about it
+		entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getCache()
+				.evictAllRegions();
+	}
+
 	@Test
 	public void findAllBeersWithPaginationCriteriaSortByDescendingId() {
 		Page<Beer> beerPage = testSubject.findAll(getPageableAccordingToSortCriteria(new String[] { "id", "desc" }));
@@ -163,6 +182,19 @@ public class BeerRepositoryIntegrationTest {
 				.as("check that the retrieved beer page is sorted by descending beer id").isEqualTo(7);
 	}
 
+	@Test
+	public void findByManufacturerIdThenPrintingAndComparingTheBeersNotLoadsTheManufacturer() {
+		statementCounter.reset();
+		List<Beer> foundBeers = testSubject.findByManufacturerId(KNOWN_MANUFACTURER_ID, Sort.by("id"));
+		foundBeers.forEach(beer -> {
+			beer.toString();
+			beer.hashCode();
+			assertThat(beer.getManufacturer().getId()).as("check that the manufacturer id is available")
+					.isEqualTo(KNOWN_MANUFACTURER_ID);
+		});
+		statementCounter.assertAtMost(1, "loading and printing the beers of a manufacturer");
+	}
+
 	@Test
 	public void findByManufacturerIdWithPaginationCriteriaSortByDescendi() {
 		Page<Beer> beerPage = testSubject.findByManufacturerId(null,
@@ -281,6 +313,86 @@ public class BeerRepositoryIntegrationTest {
 
 	}
 
+	@Test
+	public void findAllBeerDtosWithPaginationCriteriaSortByAscendingNameAndDescendingId() {
+		Page<BeerDto> beerPage = testSubject
+				.findAllBeerDtos(getPageableAccordingToSortCriteria(new String[] { "name,asc", "id,desc" }));
+		assertThat(beerPage.getContent().get(0).getId())
+				.as("check that the retrieved beer page is sorted by ascending name and descending id").isEqualTo(6);
+		assertThat(beerPage.getTotalElements()).as("check that the beers marked as deleted are not counted")
+				.isEqualTo(6);
+	}
+
+	@Test
+	public void findBeerDtosByManufacturerIdWhenTheRelatedManufacturerIsMarkedAsDeleted() {
+		Page<BeerDto> beerPage = testSubject.findBeerDtosByManufacturerId(DELETED_MANUFACTURER_ID,
+				getPageableAccordingToSortCriteria(new String[] { "id", "desc" }));
+		assertThat(beerPage).as("check that an empty beer page is returned").isEmpty();
+	}
+
+	@Test
+	public void findBeerDtoByIdWhenTheBeerExistsThenTheManufacturerIdIsProjected() {
+		BeerDto beerDto = testSubject.findBeerDtoById(KNOWN_BEER_ID).orElseThrow();
+		assertThat(beerDto.getManufacturerId()).as("check that the manufacturer id is read from the beer row")
+				.isEqualTo(KNOWN_MANUFACTURER_ID);
+	}
+
+	@Test
+	public void findBeerDtoByIdWhenTheBeerIsMarkedAsDeleted() {
+		assertThat(testSubject.findBeerDtoById(REMOVED_BEER_ID)).as("check that the beer is not found").isEmpty();
+	}
+
+	@Test
+	public void findBeerDtoSliceWhenThereAreMoreBeersAfterTheRequestedPage() {
+		Slice<BeerDto> beerSlice = testSubject
+				.findBeerDtoSlice(getPageableAccordingToSortCriteria(new String[] { "id", "desc" }));
+		assertThat(beerSlice.getContent()).as("check that the page size is respected").hasSize(ELEMENT_PER_PAGE);
+		assertThat(beerSlice.hasNext()).as("check that there are more beers after the requested page").isTrue();
+	}
+
+	@Test
+	public void findBeerDtoSliceByManufacturerIdWhenTheLastPageIsRequested() {
+		Slice<BeerDto> beerSlice = testSubject.findBeerDtoSliceByManufacturerId(KNOWN_MANUFACTURER_ID,
+				PageRequest.of(1, ELEMENT_PER_PAGE, sortExtractor.extractSortCriteria(new String[] { "id", "desc" })));
+		assertThat(beerSlice.getContent().get(ELEMENT_PER_PAGE - 1).getId())
+				.as("check that the beer marked as deleted is not returned").isOne();
+		assertThat(beerSlice.hasNext()).as("check that there are not more beers after the last page").isFalse();
+	}
+
+	@Test
+	public void findNextBeersWhenTheCursorIsNotProvidedThenTheFirstPageIsReturned() {
+		Slice<BeerDto> beerSlice = testSubject.findNextBeers(null,
+				sortExtractor.extractKeysetSortCriteria(new String[] { "id", "desc" }), null, ELEMENT_PER_PAGE);
+		assertThat(beerSlice.getContent().get(0).getId())
+				.as("check that the first page is sorted by descending beer id").isEqualTo(7);
+		assertThat(beerSlice.hasNext()).as("check that there are more beers after the first page").isTrue();
+	}
+
+	@Test
+	public void findNextBeersWhenTheCursorIsProvidedThenTheBeersAfterTheCursorAreReturned() {
+		Slice<BeerDto> beerSlice = testSubject.findNextBeers(KNOWN_MANUFACTURER_ID,
+				sortExtractor.extractKeysetSortCriteria(new String[] { "name,asc", "id,desc" }),
+				new KeysetCursor(List.<Comparable<?>>of("Alice Witbier", 6L)), ELEMENT_PER_PAGE);
+		assertThat(beerSlice.getContent().get(0).getId())
+				.as("check that the beer with the same name and a lower id is the next one").isEqualTo(3);
+	}
+
+	@Test
+	public void findNextBeersWhenTheCursorPointsToTheLastPage() {
+		Slice<BeerDto> beerSlice = testSubject.findNextBeers(KNOWN_MANUFACTURER_ID,
+				sortExtractor.extractKeysetSortCriteria(new String[] { "name,asc", "id,desc" }),
+				new KeysetCursor(List.<Comparable<?>>of("Matrix Stout", 7L)), ELEMENT_PER_PAGE);
+		assertThat(beerSlice.getContent()).as("check that only the remaining beer is returned").hasSize(1);
+		assertThat(beerSlice.hasNext()).as("check that there are not more beers after the last page").isFalse();
+	}
+
+	@Test
+	public void findNextBeersWhenTheRelatedManufacturerIsMarkedAsDeleted() {
+		Slice<BeerDto> beerSlice = testSubject.findNextBeers(DELETED_MANUFACTURER_ID,
+				sortExtractor.extractKeysetSortCriteria(new String[] { "id", "desc" }), null, ELEMENT_PER_PAGE);
+		assertThat(beerSlice.getContent()).as("check that an empty beer slice is returned").isEmpty();
+	}
+
 	@Test
 	public void addNewBeerWhenTheRelatedManufacturerExists() {
 		Beer newBeer = testSubject.save(createDefaultBeer());
@@ -294,7 +406,9 @@ public class BeerRepositoryIntegrationTest {
 			Beer beer = createDefaultBeerWithoutManufacturer();
 			beer.setManufacturer(new Manufacturer());
 			beer.getManufacturer().setId(UNKNOWN_MANUFACTURER_ID);
-			testSubject.save(beer);
+			// with a version the manufacturer is taken for a detached one and the foreign key rejects the beer
+			beer.getManufacturer().setVersion(0L);
+			testSubject.saveAndFlush(beer);
 		});
 
 	}
@@ -302,7 +416,7 @@ public class BeerRepositoryIntegrationTest {
 	@Test
 	public void addNewBeerWhenManufacturerIsNull() {
 		Assertions.assertThrows(DataIntegrityViolationException.class,
-				() -> testSubject.save(createDefaultBeerWithoutManufacturer()));
+				() -> testSubject.saveAndFlush(createDefaultBeerWithoutManufacturer()));
 	}
 
 	@Test
@@ -6,8 +6,10 @@ import java.util.List;
 import java.util.NoSuchElementException;
 
 import org.assertj.core.api.Fail;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,8 +23,8 @@ import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
 import com.haufeGroup.beerCatalogue.exception.SortExtractorException;
-import com.haufeGroup.beerCatalogue.model.Beer;
 import com.haufeGroup.beerCatalogue.model.Manufacturer;
 import com.haufeGroup.beerCatalogue.util.SortExtractor;
 
@@ -54,6 +56,13 @@ public class ManufacturerRepositoryIntegrationTest {
 		sortExtractor = new SortExtractor();
 	}
 
+	@BeforeEach
+	public void evictSecondLevelCache() {
+		// the test data is loaded with plain sql, so the second-level cache does not know about it
+		entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getCache()
+				.evictAllRegions();
+	}
+
 	@Test
 	public void findAllManufacturersWithPaginationSortByDescendingId() {
 		Page<Manufacturer> foundedManufacturers = testSubject
@@ -162,6 +171,29 @@ public class ManufacturerRepositoryIntegrationTest {
 
 	}
 
+	@Test
+	public void findAllManufacturerDtosWithPaginationSortByAscendingNameAndDescendingId() {
+		Page<ManufacturerDto> foundedManufacturers = testSubject
+				.findAllManufacturerDtos(getPageableAccordingToSortCriteria(new String[] { "name,asc", "id,desc" }));
+		assertThat(foundedManufacturers.getContent().get(0).getId()).as(
+				"check that the retrieved manufacturer page is sorted by ascending name and descending id")
+				.isEqualTo(4);
+		assertThat(foundedManufacturers.getTotalElements())
+				.as("check that the manufacturers marked as deleted are not counted").isEqualTo(3);
+	}
+
+	@Test
+	public void findManufacturerDtoByIdWhenTheManufacturerExists() {
+		assertThat(testSubject.findManufacturerDtoById(KNOWN_MANUFACTURER_ID).orElseThrow().getName())
+				.as("check that the manufacturer is projected").isEqualTo("Moritz");
+	}
+
+	@Test
+	public void findManufacturerDtoByIdWhenTheManufacturerIsMarkedAsDeleted() {
+		assertThat(testSubject.findManufacturerDtoById(REMOVED_MANUFACTURER_ID))
+				.as("check that the manufacturer is not found").isEmpty();
+	}
+
 	@Test
 	public void getByIdAnExistingManufacturer() {
 		try {
@@ -186,8 +218,8 @@ public class ManufacturerRepositoryIntegrationTest {
 	@Test
 	public void addNewManufacturer() {
 		Manufacturer newManufacturer = testSubject.save(createDefaultManufacturer());
-		assertThat(entityManager.find(Beer.class, newManufacturer.getId()))
-				.as("check that the related beer was created").isNotNull();
+		assertThat(entityManager.find(Manufacturer.class, newManufacturer.getId()))
+				.as("check that the related manufacturer was created").isNotNull();
 	}
 
 	@Test
@@ -218,6 +250,25 @@ public class ManufacturerRepositoryIntegrationTest {
 				() -> testSubject.deleteById(REMOVED_MANUFACTURER_ID));
 	}
 
+	@Test
+	public void softDeleteByIdAndVersionWhenNoVersionIsGivenThenTheVersionIsMoved() {
+		long version = testSubject.findById(KNOWN_MANUFACTURER_ID).orElseThrow().getVersion();
+		assertThat(testSubject.softDeleteByIdAndVersion(KNOWN_MANUFACTURER_ID, null))
+				.as("check that the manufacturer was deleted").isEqualTo(1);
+		entityManager.clear();
+		assertThat(testSubject.findById(KNOWN_MANUFACTURER_ID)).as("check that the manufacturer is hidden").isEmpty();
+		assertThat(((Number) entityManager.getEntityManager()
+				.createNativeQuery("SELECT version FROM manufacturers WHERE id = " + KNOWN_MANUFACTURER_ID)
+				.getSingleResult()).longValue()).as("check that the version was moved like in the conditional delete")
+				.isEqualTo(version + 1);
+	}
+
+	@Test
+	public void softDeleteByIdAndVersionWhenTheManufacturerIsMarkedAsDeletedThenNothingIsUpdated() {
+		assertThat(testSubject.softDeleteByIdAndVersion(REMOVED_MANUFACTURER_ID, null))
+				.as("check that the deleted manufacturer is not deleted again").isZero();
+	}
+
 	private Manufacturer createDefaultManufacturer() {
 		Manufacturer manufacturer = new Manufacturer();
 		manufacturer.setName("manufacturerName");
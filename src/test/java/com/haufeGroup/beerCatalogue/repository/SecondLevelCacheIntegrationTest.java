@@ -0,0 +1,136 @@
+package com.haufeGroup.beerCatalogue.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.haufeGroup.beerCatalogue.BeerCatalogueApplication;
+import com.haufeGroup.beerCatalogue.model.Beer;
+
+@SpringBootTest(classes = BeerCatalogueApplication.class)
+@Sql({ "/scripts/repositories/clearData.sql", "/scripts/repositories/testData.sql" })
+public class SecondLevelCacheIntegrationTest {
+
+	private static final long KNOWN_MANUFACTURER_ID = 1L;
+
+	private static final long MANUFACTURER_WITHOUT_BEERS_ID = 3L;
+
+	private static final long KNOWN_BEER_ID = 1L;
+
+	private static final long REMOVED_BEER_ID = 2L;
+
+	private static final int LOOKUPS = 10;
+
+	@Autowired
+	private ManufacturerRepository manufacturerRepository;
+
+	@Autowired
+	private BeerRepository beerRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+
+	@BeforeEach
+	public void clearCacheAndStatistics() {
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		// the test data is loaded with plain sql, so the second-level cache does not know about it
+		sessionFactory.getCache().evictAllRegions();
+		statistics = sessionFactory.getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	public void findManufacturerByIdSeveralTimesThenOnlyTheFirstLookupGoesToTheDatabase() {
+		for (int lookup = 0; lookup < LOOKUPS; lookup++) {
+			assertThat(manufacturerRepository.findById(KNOWN_MANUFACTURER_ID)).as("check that the manufacturer was found")
+					.isPresent();
+		}
+		assertThat(statistics.getSecondLevelCacheMissCount()).as("check that only the first lookup missed the cache")
+				.isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).as("check that the rest of lookups hit the cache")
+				.isEqualTo(LOOKUPS - 1);
+		assertThat(statistics.getEntityLoadCount()).as("check that the manufacturer was loaded once").isEqualTo(1);
+	}
+
+	@Test
+	public void findBeerByIdSeveralTimesThenOnlyTheFirstLookupGoesToTheDatabase() {
+		for (int lookup = 0; lookup < LOOKUPS; lookup++) {
+			assertThat(beerRepository.findById(KNOWN_BEER_ID)).as("check that the beer was found").isPresent();
+		}
+		assertThat(statistics.getSecondLevelCacheMissCount()).as("check that only the first lookup missed the cache")
+				.isEqualTo(1);
+		assertThat(statistics.getSecondLevelCacheHitCount()).as("check that the rest of lookups hit the cache")
+				.isEqualTo(LOOKUPS - 1);
+	}
+
+	@Test
+	public void findRemovedBeerByIdThenItIsNotCached() {
+		assertThat(beerRepository.findById(REMOVED_BEER_ID)).as("check that the removed beer was not found").isEmpty();
+		assertThat(beerRepository.findById(REMOVED_BEER_ID)).as("check that the removed beer was not found").isEmpty();
+		assertThat(statistics.getSecondLevelCachePutCount()).as("check that nothing was put in the cache").isZero();
+		assertThat(statistics.getSecondLevelCacheHitCount()).as("check that nothing was served from the cache")
+				.isZero();
+	}
+
+	@Test
+	public void findBeersByManufacturerIdSeveralTimesThenOnlyTheFirstQueryGoesToTheDatabase() {
+		for (int lookup = 0; lookup < LOOKUPS; lookup++) {
+			assertThat(beerRepository.findByManufacturerId(KNOWN_MANUFACTURER_ID, Sort.by("id")))
+					.as("check the number of beers found").hasSize(6);
+		}
+		assertThat(statistics.getQueryCacheMissCount()).as("check that only the first query missed the cache")
+				.isEqualTo(1);
+		assertThat(statistics.getQueryCacheHitCount()).as("check that the rest of queries hit the cache")
+				.isEqualTo(LOOKUPS - 1);
+		assertThat(statistics.getEntityLoadCount()).as("check that the beers were loaded once").isEqualTo(6);
+	}
+
+	@Test
+	public void findBeerDtoPageByManufacturerIdTwiceThenTheSecondTimeIsServedFromTheCache() {
+		Pageable pageable = PageRequest.of(0, 3, Sort.by("id"));
+		beerRepository.findBeerDtosByManufacturerId(KNOWN_MANUFACTURER_ID, pageable);
+		long executedQueries = statistics.getQueryExecutionCount();
+		assertThat(beerRepository.findBeerDtosByManufacturerId(KNOWN_MANUFACTURER_ID, pageable).getTotalElements())
+				.as("check the number of beers found").isEqualTo(6);
+		assertThat(statistics.getQueryExecutionCount()).as("check that no query was executed the second time")
+				.isEqualTo(executedQueries);
+	}
+
+	@Test
+	public void deleteManufacturerThenItIsNotServedFromTheCache() {
+		assertThat(manufacturerRepository.findById(MANUFACTURER_WITHOUT_BEERS_ID))
+				.as("check that the manufacturer was found").isPresent();
+		manufacturerRepository.deleteById(MANUFACTURER_WITHOUT_BEERS_ID);
+		assertThat(manufacturerRepository.findById(MANUFACTURER_WITHOUT_BEERS_ID))
+				.as("check that the removed manufacturer was not found").isEmpty();
+	}
+
+	@Test
+	public void deleteBeerThenTheCachedQueriesDoNotReturnIt() {
+		assertThat(beerRepository.findByManufacturerId(KNOWN_MANUFACTURER_ID, Sort.by("id")))
+				.as("check the number of beers found").hasSize(6);
+		assertThat(beerRepository.findById(KNOWN_BEER_ID)).as("check that the beer was found").isPresent();
+		beerRepository.deleteById(KNOWN_BEER_ID);
+		List<Beer> foundBeers = beerRepository.findByManufacturerId(KNOWN_MANUFACTURER_ID, Sort.by("id"));
+		assertThat(foundBeers).as("check the number of beers found").hasSize(5);
+		assertThat(foundBeers).as("check that the removed beer was not found")
+				.noneMatch(beer -> beer.getId().equals(KNOWN_BEER_ID));
+		assertThat(beerRepository.findById(KNOWN_BEER_ID)).as("check that the removed beer was not found").isEmpty();
+	}
+
+}
@@ -2,27 +2,37 @@ package com.haufeGroup.beerCatalogue.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
+import javax.persistence.EntityManagerFactory;
 import javax.validation.ConstraintViolationException;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.BeerExportDto;
 import com.haufeGroup.beerCatalogue.exception.BeerServiceException;
 import com.haufeGroup.beerCatalogue.mapper.BeerMapper;
 import com.haufeGroup.beerCatalogue.model.Beer;
@@ -65,6 +75,12 @@ public class IBeerServiceTest {
 	@Autowired
 	private IBeerService testSubject;
 
+	@Autowired
+	private CacheManager cacheManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
 	private static SortExtractor sortExtractor;
 
 	@BeforeAll
@@ -72,11 +88,16 @@ public class IBeerServiceTest {
 		sortExtractor = new SortExtractor();
 	}
 
+	@BeforeEach
+	public void clearCaches() {
+		cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+	}
+
 	@Test
 	public void getAllBeersWithSortPaginationWhenSortByValidCriteria() {
 		Sort validSortCriteria = sortExtractor.extractSortCriteria(new String[] { "name", "asc" });
 		Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, validSortCriteria);
-		Mockito.when(beerRepository.findAll(sortPageable)).thenReturn(createDefaultPageEntity());
+		Mockito.when(beerRepository.findAllBeerDtos(sortPageable)).thenReturn(createDefaultDtoPage());
 		assertThat(testSubject.getAllBeersWithSortPagination(sortPageable))
 				.as("check that a beer page is returned when the page sort criteria is valid").isNotEmpty();
 	}
@@ -86,7 +107,7 @@ public class IBeerServiceTest {
 		Assertions.assertThrows(BeerServiceException.class, () -> {
 			Sort invalidSortCriteria = sortExtractor.extractSortCriteria(new String[] { "unknownName", "asc" });
 			Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, invalidSortCriteria);
-			Mockito.when(beerRepository.findAll(sortPageable)).thenThrow(PropertyReferenceException.class);
+			Mockito.when(beerRepository.findAllBeerDtos(sortPageable)).thenThrow(PropertyReferenceException.class);
 			testSubject.getAllBeersWithSortPagination(sortPageable);
 		});
 	}
@@ -97,18 +118,96 @@ public class IBeerServiceTest {
 				() -> testSubject.getAllBeersWithSortPagination(null));
 	}
 
+	@Test
+	public void getAllBeersWithSortSliceWhenSortByValidCriteria() {
+		Sort validSortCriteria = sortExtractor.extractSortCriteria(new String[] { "name", "asc" });
+		Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, validSortCriteria);
+		Mockito.when(beerRepository.findBeerDtoSlice(sortPageable))
+				.thenReturn(new SliceImpl<BeerDto>(List.of(createDefaultBeerDto()), sortPageable, true));
+		assertThat(testSubject.getAllBeersWithSortSlice(sortPageable).hasNext())
+				.as("check that the beer slice is returned without counting the beers").isTrue();
+		Mockito.verify(beerRepository, Mockito.never()).findAllBeerDtos(sortPageable);
+	}
+
+	@Test
+	public void getAllBeersWithSortSliceWhenSortByInvalidCriteria() {
+		Assertions.assertThrows(BeerServiceException.class, () -> {
+			Sort invalidSortCriteria = sortExtractor.extractSortCriteria(new String[] { "unknownName", "asc" });
+			Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, invalidSortCriteria);
+			Mockito.when(beerRepository.findBeerDtoSlice(sortPageable)).thenThrow(PropertyReferenceException.class);
+			testSubject.getAllBeersWithSortSlice(sortPageable);
+		});
+	}
+
+	@Test
+	public void getBeersAfterCursorWhenTheCursorIsNotProvided() {
+		Sort keysetSortCriteria = sortExtractor.extractKeysetSortCriteria(new String[] { "name", "asc" });
+		Mockito.when(beerRepository.findNextBeers(null, keysetSortCriteria, null, PAGE_SIZE))
+				.thenReturn(new SliceImpl<BeerDto>(List.of(createDefaultBeerDto())));
+		assertThat(testSubject.getBeersAfterCursor(keysetSortCriteria, null, PAGE_SIZE))
+				.as("check that the first beer slice is returned").isNotEmpty();
+	}
+
+	@Test
+	public void getBeersAfterCursorWhenTheSortCriteriaIsNull() {
+		Assertions.assertThrows(ConstraintViolationException.class,
+				() -> testSubject.getBeersAfterCursor(null, null, PAGE_SIZE));
+	}
+
 	@Test
 	public void getBeerByIdWhenTheIdBelongsToExistingBeer() {
-		Mockito.when(beerRepository.existsById(KNOWN_BEER_ID)).thenReturn(true);
-		Mockito.when(beerRepository.findById(KNOWN_BEER_ID)).thenReturn(Optional.of(createDefaultBeer()));
+		Mockito.when(beerRepository.findBeerDtoById(KNOWN_BEER_ID)).thenReturn(Optional.of(createDefaultBeerDto()));
 		assertThat(testSubject.getBeerById(KNOWN_BEER_ID)).as("check that the beer is returned")
-				.isEqualTo(createDefaultBeer());
+				.isEqualTo(createDefaultBeerDto());
+	}
+
+	@Test
+	public void getBeerByIdThenTheBeerIsReadInAReadOnlyTransaction() {
+		AtomicBoolean readOnly = new AtomicBoolean();
+		Mockito.when(beerRepository.findBeerDtoById(KNOWN_BEER_ID)).thenAnswer(invocation -> {
+			readOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+			return Optional.of(createDefaultBeerDto());
+		});
+		testSubject.getBeerById(KNOWN_BEER_ID);
+		assertThat(readOnly.get()).as("check that the beer is read in a read only transaction").isTrue();
+	}
+
+	@Test
+	public void getBeerByIdWhenTheBeerIsRequestedTwiceThenItIsReadOnce() {
+		Mockito.when(beerRepository.findBeerDtoById(KNOWN_BEER_ID)).thenReturn(Optional.of(createDefaultBeerDto()));
+		testSubject.getBeerById(KNOWN_BEER_ID);
+		assertThat(testSubject.getBeerById(KNOWN_BEER_ID)).as("check that the cached beer is returned")
+				.isEqualTo(createDefaultBeerDto());
+		Mockito.verify(beerRepository, Mockito.times(1)).findBeerDtoById(KNOWN_BEER_ID);
+	}
+
+	@Test
+	public void getBeerByIdWhenTheBeerWasModifiedThenItIsReadAgain() {
+		Beer oldBeer = createDefaultBeer();
+		Beer beerToModify = createDefaultModifiedBeer();
+		Mockito.when(beerRepository.findBeerDtoById(KNOWN_BEER_ID)).thenReturn(Optional.of(createDefaultBeerDto()));
+		Mockito.when(beerRepository.findById(KNOWN_BEER_ID)).thenReturn(Optional.of(oldBeer));
+		Mockito.when(beerRepository.save(oldBeer)).thenReturn(beerToModify);
+		testSubject.getBeerById(KNOWN_BEER_ID);
+		testSubject.updateBeer(beerToModify);
+		testSubject.getBeerById(KNOWN_BEER_ID);
+		Mockito.verify(beerRepository, Mockito.times(2)).findBeerDtoById(KNOWN_BEER_ID);
+	}
+
+	@Test
+	public void getBeerByIdWhenTheBeerWasDeletedThenItIsNotReturnedFromTheCache() {
+		Mockito.when(beerRepository.findBeerDtoById(KNOWN_BEER_ID)).thenReturn(Optional.of(createDefaultBeerDto()));
+		Mockito.when(beerRepository.findById(KNOWN_BEER_ID)).thenReturn(Optional.of(createDefaultBeer()));
+		testSubject.getBeerById(KNOWN_BEER_ID);
+		testSubject.deleteBeerById(KNOWN_BEER_ID, null);
+		Mockito.when(beerRepository.findBeerDtoById(KNOWN_BEER_ID)).thenReturn(Optional.empty());
+		Assertions.assertThrows(BeerServiceException.class, () -> testSubject.getBeerById(KNOWN_BEER_ID));
 	}
 
 	@Test
 	public void getBeerByIdWhenTheIdBelongsToNonExistingBeer() {
 		Assertions.assertThrows(BeerServiceException.class, () -> {
-			Mockito.when(beerRepository.existsById(UNKNOWN_BEER_ID)).thenReturn(false);
+			Mockito.when(beerRepository.findBeerDtoById(UNKNOWN_BEER_ID)).thenReturn(Optional.empty());
 			testSubject.getBeerById(UNKNOWN_BEER_ID);
 		});
 	}
@@ -116,7 +215,7 @@ public class IBeerServiceTest {
 	@Test
 	public void getBeerByIdWhenTheIdBelongsToBeerMarkedAsDeleted() {
 		Assertions.assertThrows(BeerServiceException.class, () -> {
-			Mockito.when(beerRepository.existsById(REMOVED_BEER_ID)).thenReturn(false);
+			Mockito.when(beerRepository.findBeerDtoById(REMOVED_BEER_ID)).thenReturn(Optional.empty());
 			testSubject.getBeerById(REMOVED_BEER_ID);
 		});
 	}
@@ -126,21 +225,58 @@ public class IBeerServiceTest {
 		Assertions.assertThrows(ConstraintViolationException.class, () -> testSubject.getBeerById(null));
 	}
 
+	@Test
+	public void exportBeersWithoutManufacturer() {
+		BeerExportDto exportedBeer = new BeerExportDto(KNOWN_BEER_ID, "name", "graduation", "type", "description",
+				KNOWN_MANUFACTURER_ID);
+		Mockito.when(beerRepository.streamAllBeers()).thenReturn(Stream.of(exportedBeer));
+		List<BeerExportDto> consumedBeers = new ArrayList<BeerExportDto>();
+		testSubject.exportBeers(false, consumedBeers::add);
+		assertThat(consumedBeers).as("check that every streamed beer is consumed").containsExactly(exportedBeer);
+		Mockito.verify(beerRepository, Mockito.never()).streamAllBeersWithManufacturer();
+	}
+
+	@Test
+	public void exportBeersWithManufacturer() {
+		BeerExportDto exportedBeer = new BeerExportDto(KNOWN_BEER_ID, "name", "graduation", "type", "description",
+				KNOWN_MANUFACTURER_ID, "manufacturerName", "nationality");
+		Mockito.when(beerRepository.streamAllBeersWithManufacturer()).thenReturn(Stream.of(exportedBeer));
+		List<BeerExportDto> consumedBeers = new ArrayList<BeerExportDto>();
+		testSubject.exportBeers(true, consumedBeers::add);
+		assertThat(consumedBeers).as("check that every streamed beer is consumed").containsExactly(exportedBeer);
+	}
+
 	@Test
 	public void addNewBeerWhenTheNewBeerIdIsNotProvidedAndTheManufacturerExists() {
 		Beer newBeer = createDefaultBeerWithoutId();
 		Beer savedBeer = createDefaultBeer();
-		Mockito.when(manufacturerRepository.existsById(KNOWN_MANUFACTURER_ID)).thenReturn(true);
+		Mockito.when(manufacturerRepository.findById(KNOWN_MANUFACTURER_ID)).thenReturn(Optional.of(newBeer.getManufacturer()));
 		Mockito.when(beerRepository.save(newBeer)).thenReturn(savedBeer);
 		assertThat(testSubject.addNewBeer(newBeer)).as("check that the beer was created").isEqualTo(savedBeer);
 	}
 
+	@Test
+	public void addNewBeerThenTheBeerReferencesTheLoadedManufacturer() {
+		Beer newBeer = createDefaultBeerWithoutId();
+		Manufacturer loadedManufacturer = new Manufacturer();
+		loadedManufacturer.setId(KNOWN_MANUFACTURER_ID);
+		loadedManufacturer.setVersion(0L);
+		Mockito.when(manufacturerRepository.findById(KNOWN_MANUFACTURER_ID)).thenReturn(Optional.of(loadedManufacturer));
+		Mockito.when(beerRepository.save(Mockito.any(Beer.class))).thenAnswer(invocation -> {
+			Beer savedBeer = invocation.getArgument(0);
+			savedBeer.setId(KNOWN_BEER_ID);
+			return savedBeer;
+		});
+		assertThat(testSubject.addNewBeer(newBeer).getManufacturer()).as("check that the managed manufacturer is used")
+				.isSameAs(loadedManufacturer);
+	}
+
 	@Test
 	public void addNewBeerWhenTheNewBeerIdIsNotProvidedAndTheManufacturerNotExists() {
 		Assertions.assertThrows(BeerServiceException.class, () -> {
 			Beer newBeer = createDefaultBeerWithoutId();
 			newBeer.getManufacturer().setId(UNKNOWN_MANUFACTURER_ID);
-			Mockito.when(manufacturerRepository.existsById(UNKNOWN_MANUFACTURER_ID)).thenReturn(false);
+			Mockito.when(manufacturerRepository.findById(UNKNOWN_MANUFACTURER_ID)).thenReturn(Optional.empty());
 			testSubject.addNewBeer(newBeer);
 		});
 	}
@@ -159,7 +295,7 @@ public class IBeerServiceTest {
 		Assertions.assertThrows(BeerServiceException.class, () -> {
 			Beer newBeer = createDefaultBeerWithoutId();
 			newBeer.getManufacturer().setId(REMOVED_MANUFACTURER_ID);
-			Mockito.when(manufacturerRepository.existsById(REMOVED_MANUFACTURER_ID)).thenReturn(false);
+			Mockito.when(manufacturerRepository.findById(REMOVED_MANUFACTURER_ID)).thenReturn(Optional.empty());
 			testSubject.addNewBeer(newBeer);
 		});
 	}
@@ -181,6 +317,26 @@ public class IBeerServiceTest {
 		Mockito.verify(modelMapper).mergeEntity(beerToModify, oldBeer);
 	}
 
+	@Test
+	public void updateABeerThenTheReadAndTheWriteShareTheTransaction() {
+		Beer oldBeer = createDefaultBeer();
+		Beer beerToModify = createDefaultModifiedBeer();
+		List<Object> entityManagers = new ArrayList<Object>();
+		Mockito.when(beerRepository.findById(beerToModify.getId())).thenAnswer(invocation -> {
+			entityManagers.add(TransactionSynchronizationManager.getResource(entityManagerFactory));
+			return Optional.of(oldBeer);
+		});
+		Mockito.when(beerRepository.save(oldBeer)).thenAnswer(invocation -> {
+			entityManagers.add(TransactionSynchronizationManager.getResource(entityManagerFactory));
+			return beerToModify;
+		});
+		testSubject.updateBeer(beerToModify);
+		assertThat(entityManagers).as("check that the beer is read and written in a transaction").hasSize(2)
+				.doesNotContainNull();
+		assertThat(entityManagers.get(1)).as("check that the read and the write share the transaction")
+				.isSameAs(entityManagers.get(0));
+	}
+
 	@Test
 	public void updateABeerThatNotExists() {
 		Assertions.assertThrows(BeerServiceException.class, () -> {
@@ -222,34 +378,40 @@ public class IBeerServiceTest {
 
 	@Test
 	public void deleteBeerByIdWhenTheIdBelongsToExistingBeer() {
-		Mockito.when(beerRepository.existsById(KNOWN_BEER_ID)).thenReturn(true);
-		testSubject.deleteBeerById(KNOWN_BEER_ID);
-		Mockito.verify(beerRepository).deleteById(KNOWN_BEER_ID);
+		Beer beer = createDefaultBeer();
+		Mockito.when(beerRepository.findById(KNOWN_BEER_ID)).thenReturn(Optional.of(beer));
+		testSubject.deleteBeerById(KNOWN_BEER_ID, null);
+		Mockito.verify(beerRepository).delete(beer);
+		Mockito.verify(beerRepository, Mockito.never()).existsById(KNOWN_BEER_ID);
 	}
 
 	@Test
 	public void deleteBeerByIdWhenTheIdBelongsToNonExistingBeer() {
 		Assertions.assertThrows(BeerServiceException.class, () -> {
-			Mockito.when(beerRepository.existsById(UNKNOWN_BEER_ID)).thenReturn(false);
-			testSubject.deleteBeerById(UNKNOWN_BEER_ID);
+			Mockito.when(beerRepository.findById(UNKNOWN_BEER_ID)).thenReturn(Optional.empty());
+			testSubject.deleteBeerById(UNKNOWN_BEER_ID, null);
 		});
 	}
 
 	@Test
 	public void deleteBeerByIdWhenTheIdBelongsToBeerMarkedAsDeleted() {
 		Assertions.assertThrows(BeerServiceException.class, () -> {
-			Mockito.when(beerRepository.existsById(REMOVED_BEER_ID)).thenReturn(false);
-			testSubject.deleteBeerById(REMOVED_BEER_ID);
+			Mockito.when(beerRepository.findById(REMOVED_BEER_ID)).thenReturn(Optional.empty());
+			testSubject.deleteBeerById(REMOVED_BEER_ID, null);
 		});
 	}
 
 	@Test
 	public void deleteBeerByIdWhenTheIsNull() {
-		Assertions.assertThrows(ConstraintViolationException.class, () -> testSubject.deleteBeerById(null));
+		Assertions.assertThrows(ConstraintViolationException.class, () -> testSubject.deleteBeerById(null, null));
+	}
+
+	private Page<BeerDto> createDefaultDtoPage() {
+		return new PageImpl<BeerDto>(List.of(createDefaultBeerDto()));
 	}
 
-	private Page<Beer> createDefaultPageEntity() {
-		return new PageImpl<Beer>(List.of(createDefaultBeer()));
+	private BeerDto createDefaultBeerDto() {
+		return new BeerDto(KNOWN_BEER_ID, "beerName", "graduation", "beerType", "description", KNOWN_MANUFACTURER_ID);
 	}
 
 	private Beer createDefaultModifiedBeer() {
@@ -6,28 +6,35 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.validation.ConstraintViolationException;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.mapping.PropertyReferenceException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import com.haufeGroup.beerCatalogue.config.CacheConfig;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
 import com.haufeGroup.beerCatalogue.exception.ManufacturerServiceException;
 import com.haufeGroup.beerCatalogue.mapper.ManufacturerMapper;
-import com.haufeGroup.beerCatalogue.model.Beer;
 import com.haufeGroup.beerCatalogue.model.Manufacturer;
 import com.haufeGroup.beerCatalogue.repository.BeerRepository;
 import com.haufeGroup.beerCatalogue.repository.ManufacturerRepository;
@@ -39,6 +46,8 @@ public class IManufacturerServiceTest {
 
 	private static final long KNOWN_MANUFACTURER_ID = 1;
 
+	private static final long KNOWN_BEER_ID = 1;
+
 	private static final long REMOVED_MANUFACTURER_ID = 2;
 
 	private static final long UNKNOWN_MANUFACTURER_ID = 11111;
@@ -59,6 +68,9 @@ public class IManufacturerServiceTest {
 	@Autowired
 	private IManufacturerService testSubject;
 
+	@Autowired
+	private CacheManager cacheManager;
+
 	private static SortExtractor sortExtractor;
 
 	@BeforeAll
@@ -66,11 +78,17 @@ public class IManufacturerServiceTest {
 		sortExtractor = new SortExtractor();
 	}
 
+	@BeforeEach
+	public void clearCaches() {
+		cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+	}
+
 	@Test
 	public void getAllManufacturersWithSortPaginationWhenTheRelatedSortCriteriaIsValid() {
 		Sort validSortCriteria = sortExtractor.extractSortCriteria(new String[] { "name", "asc" });
 		Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, validSortCriteria);
-		Mockito.when(manufacturerRepository.findAll(sortPageable)).thenReturn(createDefaultManufacturerPage());
+		Mockito.when(manufacturerRepository.findAllManufacturerDtos(sortPageable))
+				.thenReturn(createDefaultManufacturerDtoPage());
 		assertThat(testSubject.getAllManufacturesWithSortPagination(sortPageable))
 				.as("check that a manufacturer page is returned when the page sort criteria is valid").isNotEmpty();
 	}
@@ -80,7 +98,8 @@ public class IManufacturerServiceTest {
 		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
 			Sort invalidSortCriteria = sortExtractor.extractSortCriteria(new String[] { "unknownName", "asc" });
 			Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, invalidSortCriteria);
-			Mockito.when(manufacturerRepository.findAll(sortPageable)).thenThrow(PropertyReferenceException.class);
+			Mockito.when(manufacturerRepository.findAllManufacturerDtos(sortPageable))
+					.thenThrow(PropertyReferenceException.class);
 			testSubject.getAllManufacturesWithSortPagination(sortPageable);
 		});
 	}
@@ -91,18 +110,68 @@ public class IManufacturerServiceTest {
 				() -> testSubject.getAllManufacturesWithSortPagination(null));
 	}
 
+	@Test
+	public void getAllManufacturersWithSortSliceWhenTheRelatedSortCriteriaIsInvalid() {
+		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
+			Sort invalidSortCriteria = sortExtractor.extractSortCriteria(new String[] { "unknownName", "asc" });
+			Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, invalidSortCriteria);
+			Mockito.when(manufacturerRepository.findManufacturerDtoSlice(sortPageable))
+					.thenThrow(PropertyReferenceException.class);
+			testSubject.getAllManufacturesWithSortSlice(sortPageable);
+		});
+	}
+
+	@Test
+	public void getManufacturerBeersWithSortSliceWhenTheManufacturerExistsAndTheSortCriteriaIsValid() {
+		Sort validSortCriteria = sortExtractor.extractSortCriteria(new String[] { "name", "asc" });
+		Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, validSortCriteria);
+		Mockito.when(manufacturerRepository.existsById(KNOWN_MANUFACTURER_ID)).thenReturn(true);
+		Mockito.when(beerRepository.findBeerDtoSliceByManufacturerId(KNOWN_MANUFACTURER_ID, sortPageable))
+				.thenReturn(new SliceImpl<BeerDto>(createDeafaultBeerList(), sortPageable, false));
+		assertThat(testSubject.getManufacturerBeersWithSortSlice(KNOWN_MANUFACTURER_ID, sortPageable))
+				.as("check that the beer slice of the related manufacturer is returned").isNotEmpty();
+	}
+
+	@Test
+	public void getManufacturerBeersWithSortSliceWhenTheManufacturerNotExists() {
+		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
+			Sort validSortCriteria = sortExtractor.extractSortCriteria(new String[] { "name", "asc" });
+			Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, validSortCriteria);
+			Mockito.when(manufacturerRepository.existsById(UNKNOWN_MANUFACTURER_ID)).thenReturn(false);
+			testSubject.getManufacturerBeersWithSortSlice(UNKNOWN_MANUFACTURER_ID, sortPageable);
+		});
+	}
+
 	@Test
 	public void getManufacturerBeersWithSortPaginationWhenTheManufacturerExistsAndTheSortCriteriaIsValid() {
 		Sort validSortCriteria = sortExtractor.extractSortCriteria(new String[] { "name", "asc" });
 		Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, validSortCriteria);
 		Mockito.when(manufacturerRepository.existsById(KNOWN_MANUFACTURER_ID)).thenReturn(true);
-		Mockito.when(beerRepository.findByManufacturerId(KNOWN_MANUFACTURER_ID, sortPageable))
+		Mockito.when(beerRepository.findBeerDtosByManufacturerId(KNOWN_MANUFACTURER_ID, sortPageable))
 				.thenReturn(createDefaultBeerPage());
 		assertThat(testSubject.getManufacturerBeersWithSortPagination(KNOWN_MANUFACTURER_ID, sortPageable)).as(
 				"check that the beer page of the related manufacturer is returned when the manufacturer exists and the page sort criteria is valid")
 				.isNotEmpty();
 	}
 
+	@Test
+	public void getManufacturerBeersWithSortPaginationThenTheBeersAreReadInAReadOnlyTransaction() {
+		Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE);
+		AtomicBoolean readOnly = new AtomicBoolean();
+		Mockito.when(manufacturerRepository.existsById(KNOWN_MANUFACTURER_ID)).thenAnswer(invocation -> {
+			readOnly.set(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+			return true;
+		});
+		Mockito.when(beerRepository.findBeerDtosByManufacturerId(KNOWN_MANUFACTURER_ID, sortPageable))
+				.thenAnswer(invocation -> {
+					readOnly.compareAndSet(true, TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+					return createDefaultBeerPage();
+				});
+		testSubject.getManufacturerBeersWithSortPagination(KNOWN_MANUFACTURER_ID, sortPageable);
+		assertThat(readOnly.get()).as("check that the manufacturer and its beers are read in a read only transaction")
+				.isTrue();
+	}
+
 	@Test
 	public void getManufacturerBeersWithSortPaginationWhenTheManufacturerNotExists() {
 		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
@@ -129,7 +198,7 @@ public class IManufacturerServiceTest {
 			Sort invalidSortCriteria = sortExtractor.extractSortCriteria(new String[] { "unknownName", "asc" });
 			Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, invalidSortCriteria);
 			Mockito.when(manufacturerRepository.existsById(KNOWN_MANUFACTURER_ID)).thenReturn(true);
-			Mockito.when(beerRepository.findByManufacturerId(KNOWN_MANUFACTURER_ID, sortPageable))
+			Mockito.when(beerRepository.findBeerDtosByManufacturerId(KNOWN_MANUFACTURER_ID, sortPageable))
 					.thenThrow(PropertyReferenceException.class);
 			testSubject.getManufacturerBeersWithSortPagination(KNOWN_MANUFACTURER_ID, sortPageable);
 		});
@@ -138,10 +207,11 @@ public class IManufacturerServiceTest {
 
 	@Test
 	public void getManufacturerBeersWithSortPaginationWhenTheManufacturerExistsButNoBeersWereFound() {
-		Sort invalidSortCriteria = sortExtractor.extractSortCriteria(new String[] { "unknownName", "asc" });
-		Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, invalidSortCriteria);
+		Sort validSortCriteria = sortExtractor.extractSortCriteria(new String[] { "name", "asc" });
+		Pageable sortPageable = PageRequest.of(PAGE_INDEX, PAGE_SIZE, validSortCriteria);
 		Mockito.when(manufacturerRepository.existsById(KNOWN_MANUFACTURER_ID)).thenReturn(true);
-		Mockito.when(beerRepository.findByManufacturerId(KNOWN_MANUFACTURER_ID, sortPageable)).thenReturn(Page.empty());
+		Mockito.when(beerRepository.findBeerDtosByManufacturerId(KNOWN_MANUFACTURER_ID, sortPageable))
+				.thenReturn(Page.empty());
 		assertThat(testSubject.getManufacturerBeersWithSortPagination(KNOWN_MANUFACTURER_ID, sortPageable))
 				.as("check that an empty beer page is returned when no beers were found for the related manufacturer")
 				.isEmpty();
@@ -170,18 +240,57 @@ public class IManufacturerServiceTest {
 	}
 
 	@Test
-	public void getManufacturerByIdWhenTheIdBelongsToExistingManufacturer() {
+	public void getManufacturerBeersAfterCursorWhenTheManufacturerExists() {
+		Sort keysetSortCriteria = sortExtractor.extractKeysetSortCriteria(new String[] { "name", "asc" });
 		Mockito.when(manufacturerRepository.existsById(KNOWN_MANUFACTURER_ID)).thenReturn(true);
-		Mockito.when(manufacturerRepository.findById(KNOWN_MANUFACTURER_ID))
-				.thenReturn(Optional.of(createDefaultManufacturer()));
+		Mockito.when(beerRepository.findNextBeers(KNOWN_MANUFACTURER_ID, keysetSortCriteria, null, PAGE_SIZE))
+				.thenReturn(new SliceImpl<BeerDto>(createDeafaultBeerList()));
+		assertThat(testSubject.getManufacturerBeersAfterCursor(KNOWN_MANUFACTURER_ID, keysetSortCriteria, null,
+				PAGE_SIZE)).as("check that the first beer slice of the related manufacturer is returned")
+				.isNotEmpty();
+	}
+
+	@Test
+	public void getManufacturerBeersAfterCursorWhenTheManufacturerNotExists() {
+		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
+			Sort keysetSortCriteria = sortExtractor.extractKeysetSortCriteria(new String[] { "name", "asc" });
+			Mockito.when(manufacturerRepository.existsById(UNKNOWN_MANUFACTURER_ID)).thenReturn(false);
+			testSubject.getManufacturerBeersAfterCursor(UNKNOWN_MANUFACTURER_ID, keysetSortCriteria, null,
+					PAGE_SIZE);
+		});
+	}
+
+	@Test
+	public void getManufacturerByIdWhenTheIdBelongsToExistingManufacturer() {
+		Mockito.when(manufacturerRepository.findManufacturerDtoById(KNOWN_MANUFACTURER_ID))
+				.thenReturn(Optional.of(createDefaultManufacturerDto()));
 		assertThat(testSubject.getManufacturerById(KNOWN_MANUFACTURER_ID)).as("check that the manufacturer is returned")
-				.isEqualTo(createDefaultManufacturer());
+				.isEqualTo(createDefaultManufacturerDto());
+	}
+
+	@Test
+	public void getManufacturerByIdWhenTheManufacturerIsRequestedTwiceThenItIsReadOnce() {
+		Mockito.when(manufacturerRepository.findManufacturerDtoById(KNOWN_MANUFACTURER_ID))
+				.thenReturn(Optional.of(createDefaultManufacturerDto()));
+		testSubject.getManufacturerById(KNOWN_MANUFACTURER_ID);
+		testSubject.getManufacturerById(KNOWN_MANUFACTURER_ID);
+		Mockito.verify(manufacturerRepository, Mockito.times(1)).findManufacturerDtoById(KNOWN_MANUFACTURER_ID);
+	}
+
+	@Test
+	public void deleteManufacturerByIdThenTheCachedBeersAreEvicted() {
+		Mockito.when(manufacturerRepository.softDeleteByIdAndVersion(KNOWN_MANUFACTURER_ID, null)).thenReturn(1);
+		cacheManager.getCache(CacheConfig.BEER_CACHE).put(KNOWN_BEER_ID, new BeerDto());
+		testSubject.deleteManufacturerById(KNOWN_MANUFACTURER_ID, null);
+		assertThat(cacheManager.getCache(CacheConfig.BEER_CACHE).get(KNOWN_BEER_ID))
+				.as("check that the beers soft deleted by the cascade are evicted").isNull();
 	}
 
 	@Test
 	public void getManufacturerByIdWhenTheIdBelongsToNonExistingManufacturer() {
 		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
-			Mockito.when(manufacturerRepository.existsById(UNKNOWN_MANUFACTURER_ID)).thenReturn(false);
+			Mockito.when(manufacturerRepository.findManufacturerDtoById(UNKNOWN_MANUFACTURER_ID))
+					.thenReturn(Optional.empty());
 			testSubject.getManufacturerById(UNKNOWN_MANUFACTURER_ID);
 		});
 	}
@@ -189,7 +298,8 @@ public class IManufacturerServiceTest {
 	@Test
 	public void getManufacturerByIdWhenTheIdBelongsToManufacturerMarkedAsDeleted() {
 		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
-			Mockito.when(manufacturerRepository.existsById(REMOVED_MANUFACTURER_ID)).thenReturn(false);
+			Mockito.when(manufacturerRepository.findManufacturerDtoById(REMOVED_MANUFACTURER_ID))
+					.thenReturn(Optional.empty());
 			testSubject.getManufacturerById(REMOVED_MANUFACTURER_ID);
 		});
 	}
@@ -269,16 +379,18 @@ public class IManufacturerServiceTest {
 
 	@Test
 	public void deleteManufacturerByIdWhenTheIdBelongsToExistingManufacturer() {
-		Mockito.when(manufacturerRepository.existsById(KNOWN_MANUFACTURER_ID)).thenReturn(true);
-		testSubject.deleteManufacturerById(KNOWN_MANUFACTURER_ID);
-		Mockito.verify(manufacturerRepository).deleteById(KNOWN_MANUFACTURER_ID);
+		Mockito.when(manufacturerRepository.softDeleteByIdAndVersion(KNOWN_MANUFACTURER_ID, null)).thenReturn(1);
+		testSubject.deleteManufacturerById(KNOWN_MANUFACTURER_ID, null);
+		Mockito.verify(beerRepository).softDeleteByManufacturerId(KNOWN_MANUFACTURER_ID);
+		Mockito.verify(manufacturerRepository, Mockito.never()).existsById(KNOWN_MANUFACTURER_ID);
+		Mockito.verify(manufacturerRepository, Mockito.never()).deleteById(KNOWN_MANUFACTURER_ID);
 	}
 
 	@Test
 	public void deleteManufacturerByIdWhenTheIdBelongsToNonExistingManufacturer() {
 		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
 			Mockito.when(manufacturerRepository.existsById(UNKNOWN_MANUFACTURER_ID)).thenReturn(false);
-			testSubject.deleteManufacturerById(UNKNOWN_MANUFACTURER_ID);
+			testSubject.deleteManufacturerById(UNKNOWN_MANUFACTURER_ID, null);
 		});
 	}
 
@@ -286,21 +398,25 @@ public class IManufacturerServiceTest {
 	public void deleteManufacturerByIdWhenTheIdBelongsToManufacturerMarkedAsDeleted() {
 		Assertions.assertThrows(ManufacturerServiceException.class, () -> {
 			Mockito.when(manufacturerRepository.existsById(REMOVED_MANUFACTURER_ID)).thenReturn(false);
-			testSubject.deleteManufacturerById(REMOVED_MANUFACTURER_ID);
+			testSubject.deleteManufacturerById(REMOVED_MANUFACTURER_ID, null);
 		});
 	}
 
 	@Test
 	public void deleteManufactuerByIdWhenTheIdIsNull() {
-		Assertions.assertThrows(ConstraintViolationException.class, () -> testSubject.deleteManufacturerById(null));
+		Assertions.assertThrows(ConstraintViolationException.class, () -> testSubject.deleteManufacturerById(null, null));
+	}
+
+	private Page<BeerDto> createDefaultBeerPage() {
+		return new PageImpl<BeerDto>(createDeafaultBeerList());
 	}
 
-	private Page<Beer> createDefaultBeerPage() {
-		return new PageImpl<Beer>(createDeafaultBeerList());
+	private Page<ManufacturerDto> createDefaultManufacturerDtoPage() {
+		return new PageImpl<ManufacturerDto>(List.of(createDefaultManufacturerDto()));
 	}
 
-	private Page<Manufacturer> createDefaultManufacturerPage() {
-		return new PageImpl<Manufacturer>(List.of(createDefaultManufacturer()));
+	private ManufacturerDto createDefaultManufacturerDto() {
+		return new ManufacturerDto(KNOWN_MANUFACTURER_ID, "manufacturerName", "nationality");
 	}
 
 	private Manufacturer createDefaultModifiedManufacturer() {
@@ -322,7 +438,7 @@ public class IManufacturerServiceTest {
 		return manufacturer;
 	}
 
-	private List<Beer> createDeafaultBeerList() {
-		return Arrays.asList(new Beer());
+	private List<BeerDto> createDeafaultBeerList() {
+		return Arrays.asList(new BeerDto());
 	}
 }
@@ -0,0 +1,87 @@
+package com.haufeGroup.beerCatalogue.testSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+// counts the sql statements run on the data source, the ones of hibernate and of the jdbc template alike. A jdbc
+// batch is one statement, as it is one round trip. Imported into the test context, the scripts loaded with @Sql run
+// before the counter is reset
+public class StatementCounter implements BeanPostProcessor {
+
+	// the pooled sequence is called when a block of ids is exhausted, twice the first time
+	public static final int ID_ALLOCATION_STATEMENTS = 2;
+
+	private static final Set<String> EXECUTIONS = Set.of("execute", "executeQuery", "executeUpdate",
+			"executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+	private final AtomicLong statementCount = new AtomicLong();
+
+	@Override
+	public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+		if (bean instanceof DataSource && "dataSource".equals(beanName)) {
+			return wrap(DataSource.class, bean, this::wrapConnection);
+		}
+		return bean;
+	}
+
+	public void reset() {
+		statementCount.set(0);
+	}
+
+	public long getStatementCount() {
+		return statementCount.get();
+	}
+
+	public void assertAtMost(final long maximumStatements, final String operation) {
+		assertThat(getStatementCount()).as("check that %s runs at most %s statements", operation, maximumStatements)
+				.isLessThanOrEqualTo(maximumStatements);
+	}
+
+	private Object wrapConnection(final Method method, final Object result) {
+		return result instanceof Connection ? wrap(Connection.class, result, this::wrapStatement) : result;
+	}
+
+	private Object wrapStatement(final Method method, final Object result) {
+		// a prepared or callable statement keeps its own interface
+		return result instanceof Statement ? wrap(method.getReturnType(), result, this::countExecution) : result;
+	}
+
+	private Object countExecution(final Method method, final Object result) {
+		if (EXECUTIONS.contains(method.getName())) {
+			statementCount.incrementAndGet();
+		}
+		return result;
+	}
+
+	private Object wrap(final Class<?> type, final Object target, final ResultWrapper resultWrapper) {
+		return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, arguments) -> {
+			if ("equals".equals(method.getName()) && method.getParameterCount() == 1) {
+				// the transactions find their connection by the data source
+				return proxy == arguments[0];
+			}
+			try {
+				return resultWrapper.wrap(method, method.invoke(target, arguments));
+			} catch (InvocationTargetException ite) {
+				throw ite.getCause();
+			}
+		});
+	}
+
+	private interface ResultWrapper {
+
+		public Object wrap(final Method method, final Object result);
+
+	}
+
+}
@@ -0,0 +1,23 @@
+package com.haufeGroup.beerCatalogue.testWrappers;
+
+import java.io.Serializable;
+import java.util.List;
+
+import com.haufeGroup.beerCatalogue.dto.ManufacturerDto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class ManufacturerDtoSliceResponseWrapper implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	private boolean last;
+
+	private Integer totalElements;
+
+	private List<ManufacturerDto> content;
+
+}
@@ -0,0 +1,80 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import com.haufeGroup.beerCatalogue.dto.BatchResultDto;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.exception.BatchLookupException;
+
+public class BatchLookupTest {
+
+	private static final long MISSING_BEER_ID = 1111111;
+
+	private final BatchLookup testSubject = new BatchLookup();
+
+	private Cache cache;
+
+	private List<Collection<Long>> loadedChunks;
+
+	@BeforeEach
+	public void setUp() {
+		cache = new ConcurrentMapCache("beers", false);
+		loadedChunks = new ArrayList<Collection<Long>>();
+	}
+
+	@Test
+	public void lookUpReturnsTheBeersInTheRequestedOrderAndTheMissingIdsApart() {
+		BatchResultDto<BeerDto> result = lookUp(List.of(3L, MISSING_BEER_ID, 1L, 3L));
+		assertThat(result.getContent()).as("check that the beers follow the requested order without repetitions")
+				.extracting(BeerDto::getId).containsExactly(3L, 1L);
+		assertThat(result.getNotFound()).as("check that the missing id is reported").containsExactly(MISSING_BEER_ID);
+		assertThat(loadedChunks).as("check that the beers are loaded with a single query").hasSize(1);
+	}
+
+	@Test
+	public void lookUpWhenTheBeersAreCachedThenOnlyTheMissesAreLoaded() {
+		cache.put(1L, createBeer(1L));
+		lookUp(List.of(1L, 2L));
+		assertThat(loadedChunks).as("check that only the beer not cached is loaded").containsExactly(List.of(2L));
+		assertThat(cache.get(2L, BeerDto.class)).as("check that the loaded beer is cached").isNotNull();
+	}
+
+	@Test
+	public void lookUpWhenThereAreMoreIdsThanAChunkThenTheyAreLoadedInChunks() {
+		List<Long> ids = LongStream.rangeClosed(1, BatchLookup.CHUNK_SIZE + 1).boxed().collect(Collectors.toList());
+		BatchResultDto<BeerDto> result = lookUp(ids);
+		assertThat(loadedChunks).as("check that a query is run per chunk").hasSize(2);
+		assertThat(result.getContent()).as("check that every beer is returned").hasSize(ids.size());
+	}
+
+	@Test
+	public void lookUpWhenThereAreTooManyIds() {
+		List<Long> ids = LongStream.rangeClosed(1, BatchLookup.MAX_IDS + 1).boxed().collect(Collectors.toList());
+		Assertions.assertThrows(BatchLookupException.class, () -> lookUp(ids));
+	}
+
+	private BatchResultDto<BeerDto> lookUp(final List<Long> ids) {
+		return testSubject.lookUp(ids, cache, BeerDto.class, BeerDto::getId, chunk -> {
+			loadedChunks.add(new ArrayList<Long>(chunk));
+			return chunk.stream().filter(id -> id != MISSING_BEER_ID).map(this::createBeer)
+					.collect(Collectors.toList());
+		});
+	}
+
+	private BeerDto createBeer(final Long id) {
+		return new BeerDto(id, "Moritz", "strong", "ALE", "strong beer", 1L);
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.dto.BeerExportDto;
+import com.haufeGroup.beerCatalogue.exception.ExportFormatException;
+import com.haufeGroup.beerCatalogue.util.BeerExportWriter.Format;
+
+public class BeerExportWriterTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	public void writeBeersAsNdjsonThenEveryBeerIsALine() throws IOException {
+		String exported = export(Format.NDJSON, false, createDefaultBeer(1L), createDefaultBeer(2L));
+		assertThat(exported).as("check that every beer is written in its own line").isEqualTo(
+				"{\"id\":1,\"name\":\"beer, \\\"name\\\"\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":1}\n"
+						+ "{\"id\":2,\"name\":\"beer, \\\"name\\\"\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":1}\n");
+	}
+
+	@Test
+	public void writeNoBeersAsNdjsonThenTheOutputIsEmpty() throws IOException {
+		assertThat(export(Format.NDJSON, false)).as("check that nothing is written").isEmpty();
+	}
+
+	@Test
+	public void writeBeersAsCsvThenTheSpecialCharactersAreQuoted() throws IOException {
+		String exported = export(Format.CSV, false, createDefaultBeer(1L));
+		assertThat(exported).as("check that the fields with commas or quotes are quoted")
+				.isEqualTo("id,name,graduation,type,description,manufacturerId\n"
+						+ "1,\"beer, \"\"name\"\"\",strong,ALE,strong beer,1\n");
+	}
+
+	@Test
+	public void writeBeersAsCsvWithManufacturerThenTheManufacturerColumnsAreAdded() throws IOException {
+		BeerExportDto beer = new BeerExportDto(1L, "Moritz", "strong", "ALE", "strong beer", 1L, "Moritz", "Spanish");
+		String exported = export(Format.CSV, true, beer);
+		assertThat(exported).as("check that the manufacturer columns are written")
+				.isEqualTo("id,name,graduation,type,description,manufacturerId,manufacturerName,manufacturerNationality\n"
+						+ "1,Moritz,strong,ALE,strong beer,1,Moritz,Spanish\n");
+	}
+
+	@Test
+	public void getFormatIgnoresTheCase() {
+		assertThat(Format.from("CSV")).as("check that the format is found").isEqualTo(Format.CSV);
+	}
+
+	@Test
+	public void getFormatWhenTheFormatIsNotSupported() {
+		Assertions.assertThrows(ExportFormatException.class, () -> Format.from("xml"));
+	}
+
+	private String export(final Format format, final boolean withManufacturer, final BeerExportDto... beers)
+			throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (BeerExportWriter testSubject = new BeerExportWriter(format, withManufacturer, outputStream,
+				objectMapper)) {
+			for (BeerExportDto beer : beers) {
+				testSubject.write(beer);
+			}
+		}
+		return outputStream.toString(StandardCharsets.UTF_8);
+	}
+
+	private BeerExportDto createDefaultBeer(final Long id) {
+		return new BeerExportDto(id, "beer, \"name\"", "strong", "ALE", "strong beer", 1L);
+	}
+
+}
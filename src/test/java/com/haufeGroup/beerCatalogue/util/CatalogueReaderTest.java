@@ -0,0 +1,59 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.exception.ImportException;
+
+public class CatalogueReaderTest {
+
+	private CatalogueReader testSubject;
+
+	@BeforeEach
+	public void createTestSubject() {
+		testSubject = new CatalogueReader();
+		testSubject.objectMapper = new ObjectMapper();
+	}
+
+	@Test
+	public void readBeersFromCsvThenTheColumnsAreMatchedByHeader() throws IOException {
+		List<BeerDto> beers = testSubject
+				.readValues(toStream("manufacturerId,name,graduation,type,description\n1,\"Moritz, 7\",strong,ALE,\n"),
+						CatalogueReader.TEXT_CSV, BeerDto.class)
+				.readAll();
+		assertThat(beers).as("check that the row is read by column name and the empty values are null")
+				.containsExactly(new BeerDto(null, "Moritz, 7", "strong", "ALE", null, 1L));
+	}
+
+	@Test
+	public void readBeersFromJsonArray() throws IOException {
+		List<BeerDto> beers = testSubject.readValues(toStream(
+				"[{\"name\":\"Moritz\",\"graduation\":\"strong\",\"type\":\"ALE\",\"description\":\"strong beer\",\"manufacturerId\":1}]"),
+				MediaType.APPLICATION_JSON, BeerDto.class).readAll();
+		assertThat(beers).as("check that every element of the array is read")
+				.containsExactly(new BeerDto(null, "Moritz", "strong", "ALE", "strong beer", 1L));
+	}
+
+	@Test
+	public void readBeersWhenTheFormatIsNotSupported() {
+		Assertions.assertThrows(ImportException.class,
+				() -> testSubject.readValues(toStream("<beers/>"), MediaType.APPLICATION_XML, BeerDto.class));
+	}
+
+	private InputStream toStream(final String body) {
+		return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
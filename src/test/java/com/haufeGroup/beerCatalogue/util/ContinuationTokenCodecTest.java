@@ -0,0 +1,90 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.dto.CursorPageDto;
+import com.haufeGroup.beerCatalogue.exception.ContinuationTokenException;
+
+public class ContinuationTokenCodecTest {
+
+	private static ContinuationTokenCodec testSubject;
+
+	private static SortExtractor sortExtractor;
+
+	@BeforeAll
+	public static void setUp() {
+		testSubject = new ContinuationTokenCodec();
+		sortExtractor = new SortExtractor();
+	}
+
+	@Test
+	public void decodeAnEncodedTokenReturnsTheSortKeysOfTheLastBeer() {
+		Sort sortCriteria = sortExtractor.extractKeysetSortCriteria(new String[] { "name,asc", "id,desc" });
+		KeysetCursor cursor = testSubject.decode(testSubject.encode(createDefaultBeerDto(), sortCriteria),
+				sortCriteria);
+		assertThat(cursor.getSortKeys()).as("check that the sort keys of the last beer are decoded")
+				.containsExactly("beer, name", 7L);
+	}
+
+	@Test
+	public void decodeWhenTheTokenIsNotProvidedThenTheFirstPageIsRequested() {
+		Sort sortCriteria = sortExtractor.extractKeysetSortCriteria(new String[] { "id", "desc" });
+		assertThat(testSubject.decode("", sortCriteria)).as("check that no cursor is returned for the first page")
+				.isNull();
+	}
+
+	@Test
+	public void decodeWhenTheTokenWasCreatedWithAnotherSortCriteria() {
+		Sort sortCriteria = sortExtractor.extractKeysetSortCriteria(new String[] { "name", "asc" });
+		String token = testSubject.encode(createDefaultBeerDto(), sortCriteria);
+		Assertions.assertThrows(ContinuationTokenException.class, () -> testSubject.decode(token,
+				sortExtractor.extractKeysetSortCriteria(new String[] { "name", "desc" })));
+	}
+
+	@Test
+	public void decodeWhenTheTokenIsMalformed() {
+		Assertions.assertThrows(ContinuationTokenException.class, () -> testSubject.decode("not a valid token",
+				sortExtractor.extractKeysetSortCriteria(new String[] { "id", "desc" })));
+	}
+
+	@Test
+	public void decodeWhenTheSortCriteriaContainsAnUnsupportedField() {
+		Assertions.assertThrows(ContinuationTokenException.class, () -> testSubject.decode("",
+				sortExtractor.extractKeysetSortCriteria(new String[] { "unknownField", "desc" })));
+	}
+
+	@Test
+	public void toCursorPageWhenThereIsANextPage() {
+		Sort sortCriteria = sortExtractor.extractKeysetSortCriteria(new String[] { "id", "desc" });
+		CursorPageDto<BeerDto> cursorPage = testSubject.toCursorPage(List.of(createDefaultBeerDto()), true,
+				sortCriteria);
+		assertThat(cursorPage.getNextCursor()).as("check that the cursor of the next page is provided").isNotNull();
+	}
+
+	@Test
+	public void toCursorPageWhenThereIsNotANextPage() {
+		Sort sortCriteria = sortExtractor.extractKeysetSortCriteria(new String[] { "id", "desc" });
+		CursorPageDto<BeerDto> cursorPage = testSubject.toCursorPage(List.of(createDefaultBeerDto()), false,
+				sortCriteria);
+		assertThat(cursorPage.getNextCursor()).as("check that the cursor is not provided for the last page").isNull();
+	}
+
+	private BeerDto createDefaultBeerDto() {
+		BeerDto beerDto = new BeerDto();
+		beerDto.setId(7L);
+		beerDto.setName("beer, name");
+		beerDto.setGraduation("graduation");
+		beerDto.setDescription("description");
+		beerDto.setType("beerType");
+		beerDto.setManufacturerId(1L);
+		return beerDto;
+	}
+}
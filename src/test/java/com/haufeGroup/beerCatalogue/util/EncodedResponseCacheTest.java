@@ -0,0 +1,146 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.domain.Sort.Order;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.config.CacheConfig;
+import com.haufeGroup.beerCatalogue.util.EncodedResponseCache.EncodedResponse;
+
+public class EncodedResponseCacheTest {
+
+	private static final String KEY = "beers?page=0";
+
+	private static final String TAG = "W/\"a-1\"";
+
+	private static final String NEW_TAG = "W/\"a-2\"";
+
+	private final EncodedResponseCache testSubject = new EncodedResponseCache();
+
+	private final AtomicInteger reads = new AtomicInteger();
+
+	private final Supplier<List<Integer>> collection = () -> List.of(reads.incrementAndGet());
+
+	private final List<Runnable> backgroundTasks = new ArrayList<Runnable>();
+
+	@BeforeEach
+	public void createCache() {
+		testSubject.cacheManager = new ConcurrentMapCacheManager(CacheConfig.RESPONSE_CACHE);
+		testSubject.objectMapper = new ObjectMapper();
+		testSubject.taskExecutor = backgroundTasks::add;
+		ReflectionTestUtils.setField(testSubject, "staleWhileRevalidateSeconds", 30);
+		testSubject.findCache();
+	}
+
+	@Test
+	public void getThenTheJsonOfTheCollectionIsReturned() throws IOException {
+		EncodedResponse response = testSubject.get(KEY, TAG, collection);
+		assertThat(write(response)).as("check that the json is returned")
+				.isEqualTo("[1]");
+		assertThat(response.getTag()).as("check that the tag of the collection is returned").isEqualTo(TAG);
+	}
+
+	@Test
+	public void getWhenTheTagChangesThenTheOldPageIsServedWhileItIsEncodedAgainInTheBackground() throws IOException {
+		testSubject.get(KEY, TAG, collection);
+		EncodedResponse staleResponse = testSubject.get(KEY, NEW_TAG, collection);
+		testSubject.get(KEY, NEW_TAG, collection);
+		assertThat(write(staleResponse)).as("check that the old content is served").isEqualTo("[1]");
+		assertThat(staleResponse.getTag()).as("check that the old content keeps its own tag").isEqualTo(TAG);
+		assertThat(backgroundTasks).as("check that the page is encoded again once").hasSize(1);
+		backgroundTasks.get(0).run();
+		EncodedResponse response = testSubject.get(KEY, NEW_TAG, collection);
+		assertThat(write(response)).as("check that the new content is served").isEqualTo("[2]");
+		assertThat(response.getTag()).as("check that the new tag is returned").isEqualTo(NEW_TAG);
+	}
+
+	@Test
+	public void getWhenThePageIsStaleLongerThanTheWindowThenItIsEncodedOnTheRequest() throws IOException {
+		ReflectionTestUtils.setField(testSubject, "staleWhileRevalidateSeconds", -1);
+		testSubject.get(KEY, TAG, collection);
+		EncodedResponse response = testSubject.get(KEY, NEW_TAG, collection);
+		assertThat(write(response)).as("check that the new content is returned").isEqualTo("[2]");
+		assertThat(backgroundTasks).as("check that nothing is left to the background").isEmpty();
+	}
+
+	@Test
+	public void getWhenThePageIsBeingEncodedThenTheConcurrentRequestsShareTheEncoding() throws Exception {
+		CountDownLatch readStarted = new CountDownLatch(1);
+		CountDownLatch releaseRead = new CountDownLatch(1);
+		Supplier<List<Integer>> slowCollection = () -> {
+			readStarted.countDown();
+			try {
+				releaseRead.await();
+			} catch (InterruptedException ie) {
+				Thread.currentThread().interrupt();
+			}
+			return List.of(reads.incrementAndGet());
+		};
+		CompletableFuture<EncodedResponse> firstRequest = CompletableFuture
+				.supplyAsync(() -> testSubject.get(KEY, TAG, slowCollection));
+		readStarted.await();
+		Thread secondRequest = new Thread(() -> testSubject.get(KEY, TAG, slowCollection));
+		secondRequest.start();
+		while (secondRequest.getState() != Thread.State.WAITING) {
+			Thread.sleep(1);
+		}
+		releaseRead.countDown();
+		secondRequest.join();
+		assertThat(write(firstRequest.get())).as("check that the page was encoded").isEqualTo("[1]");
+		assertThat(reads.get()).as("check that the waiting request did not read the collection again").isEqualTo(1);
+	}
+
+	@Test
+	public void getWhenTheTagIsTheSameThenTheCollectionIsNotReadAgain() throws IOException {
+		testSubject.get(KEY, TAG, collection);
+		EncodedResponse response = testSubject.get(KEY, TAG, collection);
+		assertThat(write(response)).as("check that the cached response is served").isEqualTo("[1]");
+		assertThat(reads.get()).as("check that the collection was read once").isEqualTo(1);
+	}
+
+	@Test
+	public void writeToWhenTheResponseIsWrittenTwiceThenTheWholeJsonIsWrittenEachTime() throws IOException {
+		EncodedResponse response = testSubject.get(KEY, TAG, collection);
+		write(response);
+		assertThat(write(response)).as("check that the shared buffer is not consumed").isEqualTo("[1]");
+	}
+
+	@Test
+	public void isCachedOnlyForTheFirstPages() {
+		ReflectionTestUtils.setField(testSubject, "cachedPages", 2);
+		assertThat(testSubject.isCached(PageRequest.of(1, 5))).as("check that a first page is cached").isTrue();
+		assertThat(testSubject.isCached(PageRequest.of(2, 5))).as("check that a deeper page is not cached").isFalse();
+	}
+
+	@Test
+	public void keyIsTheSameForTheSameSortCriteria() {
+		assertThat(testSubject.key("beers", PageRequest.of(0, 5, Sort.by(Direction.DESC, "id"))))
+				.as("check that the key does not depend on how the sort was built")
+				.isEqualTo(testSubject.key("beers", PageRequest.of(0, 5, Sort.by(Order.desc("id")))));
+	}
+
+	private String write(final EncodedResponse response) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		response.writeTo(out);
+		return new String(out.toByteArray(), StandardCharsets.UTF_8);
+	}
+
+}
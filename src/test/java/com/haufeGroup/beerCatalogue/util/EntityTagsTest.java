@@ -0,0 +1,41 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.haufeGroup.beerCatalogue.exception.EntityTagException;
+
+public class EntityTagsTest {
+
+	private final EntityTags testSubject = new EntityTags();
+
+	@Test
+	public void fromVersionThenTheTagIsQuoted() {
+		assertThat(testSubject.fromVersion(3L)).as("check that a strong tag is returned").isEqualTo("\"3\"");
+	}
+
+	@Test
+	public void toVersionReadsTheTagOfFromVersion() {
+		assertThat(testSubject.toVersion(testSubject.fromVersion(3L))).as("check that the version is read")
+				.isEqualTo(3L);
+	}
+
+	@Test
+	public void toVersionWhenAnyTagIsAccepted() {
+		assertThat(testSubject.toVersion("*")).as("check that no version is expected").isNull();
+		assertThat(testSubject.toVersion(null)).as("check that no version is expected").isNull();
+	}
+
+	@Test
+	public void toVersionWhenTheTagIsWeak() {
+		Assertions.assertThrows(EntityTagException.class, () -> testSubject.toVersion("W/\"3\""));
+	}
+
+	@Test
+	public void toVersionWhenTheTagIsNotAVersion() {
+		Assertions.assertThrows(EntityTagException.class, () -> testSubject.toVersion("\"abc\""));
+	}
+
+}
@@ -0,0 +1,71 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.validation.ConstraintViolationException;
+import javax.validation.Validation;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.haufeGroup.beerCatalogue.dto.BeerDto;
+import com.haufeGroup.beerCatalogue.exception.MergePatchException;
+
+public class JsonMergePatchTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private JsonMergePatch testSubject;
+
+	@BeforeEach
+	public void createTestSubject() {
+		testSubject = new JsonMergePatch();
+		testSubject.objectMapper = objectMapper;
+		testSubject.validator = Validation.buildDefaultValidatorFactory().getValidator();
+	}
+
+	@Test
+	public void applyThenOnlyThePatchedFieldsAreReplaced() throws JsonProcessingException {
+		BeerDto patched = testSubject.apply(createDefaultBeer(), patch("{\"name\":\"Moritz Epidor\",\"type\":\"IPA\"}"),
+				BeerDto.class);
+		assertThat(patched).as("check that the other fields are kept")
+				.isEqualTo(new BeerDto(1L, "Moritz Epidor", "strong", "IPA", "strong beer", 1L));
+	}
+
+	@Test
+	public void applyAnEmptyPatchThenNothingChanges() throws JsonProcessingException {
+		assertThat(testSubject.apply(createDefaultBeer(), patch("{}"), BeerDto.class))
+				.as("check that the target is returned unchanged").isEqualTo(createDefaultBeer());
+	}
+
+	@Test
+	public void applyWhenANullRemovesARequiredField() {
+		Assertions.assertThrows(ConstraintViolationException.class,
+				() -> testSubject.apply(createDefaultBeer(), patch("{\"name\":null}"), BeerDto.class));
+	}
+
+	@Test
+	public void applyWhenThePatchIsNotAnObject() {
+		Assertions.assertThrows(MergePatchException.class,
+				() -> testSubject.apply(createDefaultBeer(), patch("[\"name\"]"), BeerDto.class));
+	}
+
+	@Test
+	public void applyWhenAFieldHasTheWrongType() {
+		Assertions.assertThrows(MergePatchException.class,
+				() -> testSubject.apply(createDefaultBeer(), patch("{\"manufacturerId\":\"one\"}"), BeerDto.class));
+	}
+
+	private JsonNode patch(final String json) throws JsonProcessingException {
+		return objectMapper.readTree(json);
+	}
+
+	private BeerDto createDefaultBeer() {
+		return new BeerDto(1L, "Moritz", "strong", "ALE", "strong beer", 1L);
+	}
+
+}
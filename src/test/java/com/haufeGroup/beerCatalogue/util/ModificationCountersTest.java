@@ -0,0 +1,146 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+
+public class ModificationCountersTest {
+
+	private static final String EPOCH = "epoch";
+
+	private static final long MANUFACTURER_ID = 1;
+
+	private static final long OTHER_MANUFACTURER_ID = 2;
+
+	private final ModificationCounters testSubject = createCounters(Map.of());
+
+	@Test
+	public void beersMovedThenTheTagsOfTheBeersAndOfTheirManufacturerChange() {
+		String beersTag = testSubject.beersTag();
+		String manufacturerBeersTag = testSubject.manufacturerBeersTag(MANUFACTURER_ID);
+		String otherManufacturerBeersTag = testSubject.manufacturerBeersTag(OTHER_MANUFACTURER_ID);
+		testSubject.moved(ModificationCounters.beersCollections(List.of(MANUFACTURER_ID)), 1);
+		assertThat(testSubject.beersTag()).as("check that the tag of the beers changes").isNotEqualTo(beersTag);
+		assertThat(testSubject.manufacturerBeersTag(MANUFACTURER_ID))
+				.as("check that the tag of the beers of the manufacturer changes").isNotEqualTo(manufacturerBeersTag);
+		assertThat(testSubject.manufacturerBeersTag(OTHER_MANUFACTURER_ID))
+				.as("check that the tag of the beers of another manufacturer does not change")
+				.isEqualTo(otherManufacturerBeersTag);
+	}
+
+	@Test
+	public void beersOfUnknownManufacturersMovedThenTheTagsOfEveryManufacturerChange() {
+		String manufacturerBeersTag = testSubject.manufacturerBeersTag(MANUFACTURER_ID);
+		String otherManufacturerBeersTag = testSubject.manufacturerBeersTag(OTHER_MANUFACTURER_ID);
+		testSubject.moved(ModificationCounters.beersCollections(null), 1);
+		assertThat(testSubject.manufacturerBeersTag(MANUFACTURER_ID))
+				.as("check that the tag of the beers of the manufacturer changes").isNotEqualTo(manufacturerBeersTag);
+		assertThat(testSubject.manufacturerBeersTag(OTHER_MANUFACTURER_ID))
+				.as("check that the tag of the beers of another manufacturer changes")
+				.isNotEqualTo(otherManufacturerBeersTag);
+	}
+
+	@Test
+	public void beersCollectionsWhenNoManufacturerIsModified() {
+		assertThat(ModificationCounters.beersCollections(List.of())).as("check that no collection changes").isEmpty();
+	}
+
+	@Test
+	public void manufacturersMovedThenOnlyTheTagOfTheManufacturersChanges() {
+		String manufacturersTag = testSubject.manufacturersTag();
+		String beersTag = testSubject.beersTag();
+		testSubject.moved(ModificationCounters.manufacturersCollections(), 1);
+		assertThat(testSubject.manufacturersTag()).as("check that the tag of the manufacturers changes")
+				.isNotEqualTo(manufacturersTag);
+		assertThat(testSubject.beersTag()).as("check that the tag of the beers does not change").isEqualTo(beersTag);
+	}
+
+	@Test
+	public void movedInAnotherOrderThenTheInstancesHaveTheSameTags() {
+		ModificationCounters otherInstance = createCounters(Map.of());
+		testSubject.moved(ModificationCounters.beersCollections(List.of(MANUFACTURER_ID)), 1);
+		testSubject.moved(ModificationCounters.beersCollections(List.of(OTHER_MANUFACTURER_ID)), 2);
+		otherInstance.moved(ModificationCounters.beersCollections(List.of(OTHER_MANUFACTURER_ID)), 2);
+		otherInstance.moved(ModificationCounters.beersCollections(List.of(MANUFACTURER_ID)), 1);
+		assertThat(otherInstance.beersTag()).as("check that the tag of the beers is the same")
+				.isEqualTo(testSubject.beersTag());
+		assertThat(otherInstance.manufacturerBeersTag(MANUFACTURER_ID))
+				.as("check that the tag of the beers of the manufacturer is the same")
+				.isEqualTo(testSubject.manufacturerBeersTag(MANUFACTURER_ID));
+	}
+
+	@Test
+	public void startedWithTheSequencesOfTheTransportThenTheInstanceHasTheTagsOfTheOthers() {
+		Set<String> collections = ModificationCounters.beersCollections(List.of(MANUFACTURER_ID));
+		testSubject.moved(collections, 1);
+		ModificationCounters startedInstance = createCounters(
+				collections.stream().collect(Collectors.toMap(Function.identity(), collection -> 1L)));
+		assertThat(startedInstance.beersTag()).as("check that the tag of the beers is the same")
+				.isEqualTo(testSubject.beersTag());
+		assertThat(startedInstance.manufacturerBeersTag(MANUFACTURER_ID))
+				.as("check that the tag of the beers of the manufacturer is the same")
+				.isEqualTo(testSubject.manufacturerBeersTag(MANUFACTURER_ID));
+	}
+
+	@Test
+	public void startedInAnotherEpochThenTheTagsDoNotMatch() {
+		ModificationCounters otherEpochInstance = new ModificationCounters();
+		otherEpochInstance.start("otherEpoch", Map.of());
+		assertThat(otherEpochInstance.beersTag()).as("check that the tag of the beers is not the same")
+				.isNotEqualTo(testSubject.beersTag());
+	}
+
+	@Test
+	public void movedToAnOlderSequenceThenTheTagDoesNotGoBack() {
+		testSubject.moved(ModificationCounters.manufacturersCollections(), 2);
+		String manufacturersTag = testSubject.manufacturersTag();
+		testSubject.moved(ModificationCounters.manufacturersCollections(), 1);
+		assertThat(testSubject.manufacturersTag()).as("check that the tag of the manufacturers does not change")
+				.isEqualTo(manufacturersTag);
+	}
+
+	@Test
+	public void replicatedThenTheTagChangesUntilTheNextSequence() {
+		testSubject.moved(ModificationCounters.manufacturersCollections(), 1);
+		String manufacturersTag = testSubject.manufacturersTag();
+		testSubject.replicated(ModificationCounters.manufacturersCollections(), 1);
+		assertThat(testSubject.manufacturersTag()).as("check that the tag of the manufacturers changes")
+				.isNotEqualTo(manufacturersTag);
+		String replicatedManufacturersTag = testSubject.manufacturersTag();
+		testSubject.moved(ModificationCounters.manufacturersCollections(), 2);
+		testSubject.replicated(ModificationCounters.manufacturersCollections(), 1);
+		assertThat(testSubject.manufacturersTag())
+				.as("check that the replication of an older event does not move the tag back")
+				.isNotEqualTo(replicatedManufacturersTag).isNotEqualTo(manufacturersTag);
+	}
+
+	@Test
+	public void movedUnpublishedThenOnlyTheTagOfThisInstanceChangesUntilTheNextSequence() {
+		ModificationCounters otherInstance = createCounters(Map.of());
+		testSubject.movedUnpublished(ModificationCounters.manufacturersCollections());
+		assertThat(testSubject.manufacturersTag()).as("check that the tag of the manufacturers changes")
+				.isNotEqualTo(otherInstance.manufacturersTag());
+		testSubject.moved(ModificationCounters.manufacturersCollections(), 1);
+		otherInstance.moved(ModificationCounters.manufacturersCollections(), 1);
+		assertThat(testSubject.manufacturersTag()).as("check that the next event gives the same tag again")
+				.isEqualTo(otherInstance.manufacturersTag());
+	}
+
+	@Test
+	public void tagsAreWeak() {
+		assertThat(testSubject.beersTag()).as("check that the tag is weak").startsWith("W/\"").endsWith("\"");
+	}
+
+	private static ModificationCounters createCounters(final Map<String, Long> sequences) {
+		ModificationCounters modificationCounters = new ModificationCounters();
+		modificationCounters.start(EPOCH, sequences);
+		return modificationCounters;
+	}
+
+}
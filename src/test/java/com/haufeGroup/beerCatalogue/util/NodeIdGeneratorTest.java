@@ -0,0 +1,64 @@
+package com.haufeGroup.beerCatalogue.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NodeIdGeneratorTest {
+
+	private static final long NOW = NodeIdGenerator.EPOCH + 1000L;
+
+	private static final long NODE = 7L;
+
+	@Test
+	public void nextIdEncodesTheTimestampAndTheNode() {
+		NodeIdGenerator testSubject = new NodeIdGenerator(NODE, () -> NOW);
+		long id = testSubject.nextId();
+		assertThat(id >>> (NodeIdGenerator.NODE_BITS + NodeIdGenerator.COUNTER_BITS))
+				.as("check that the milliseconds since the epoch are in the highest bits").isEqualTo(1000L);
+		assertThat((id >>> NodeIdGenerator.COUNTER_BITS) & NodeIdGenerator.MAX_NODE)
+				.as("check that the node is in the middle bits").isEqualTo(NODE);
+	}
+
+	@Test
+	public void nextIdWhenTheCounterOfAMillisecondIsExhaustedThenTheIdsStillGrow() {
+		NodeIdGenerator testSubject = new NodeIdGenerator(NODE, () -> NOW);
+		Set<Long> ids = new HashSet<Long>();
+		long lastId = -1;
+		for (int index = 0; index < 3 * (1 << NodeIdGenerator.COUNTER_BITS); index++) {
+			long id = testSubject.nextId();
+			assertThat(id).as("check that every id is greater than the previous one").isGreaterThan(lastId);
+			ids.add(id);
+			lastId = id;
+		}
+		assertThat(ids).as("check that no id is repeated").hasSize(3 * (1 << NodeIdGenerator.COUNTER_BITS));
+	}
+
+	@Test
+	public void nextIdWhenTheClockGoesBackwardsThenTheIdsStillGrow() {
+		AtomicLong clock = new AtomicLong(NOW);
+		NodeIdGenerator testSubject = new NodeIdGenerator(NODE, clock::get);
+		long firstId = testSubject.nextId();
+		clock.set(NOW - 500L);
+		assertThat(testSubject.nextId()).as("check that the id is greater than the previous one")
+				.isGreaterThan(firstId);
+	}
+
+	@Test
+	public void nextIdOfDifferentNodesAtTheSameTimeAreDifferent() {
+		assertThat(new NodeIdGenerator(1L, () -> NOW).nextId()).as("check that the node makes the ids unique")
+				.isNotEqualTo(new NodeIdGenerator(2L, () -> NOW).nextId());
+	}
+
+	@Test
+	public void createWhenTheNodeIsOutOfRange() {
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new NodeIdGenerator(NodeIdGenerator.MAX_NODE + 1));
+	}
+
+}
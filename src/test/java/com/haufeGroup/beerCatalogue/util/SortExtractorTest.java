@@ -5,6 +5,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
 
 import com.haufeGroup.beerCatalogue.exception.SortExtractorException;
 
@@ -80,4 +82,17 @@ public class SortExtractorTest {
 		Assertions.assertThrows(SortExtractorException.class,
 				() -> testSubject.extractSortCriteria(new String[] { "field", "unkown" }));
 	}
+
+	@Test
+	public void extractKeysetSortCriteriaWhenTheIdIsNotProvidedThenItIsAddedAsTieBreaker() {
+		Sort sortCriteria = testSubject.extractKeysetSortCriteria(new String[] { "name", "desc" });
+		assertThat(sortCriteria.getOrderFor("id").getDirection()).as("check that the id is added as tie breaker")
+				.isEqualTo(Direction.ASC);
+	}
+
+	@Test
+	public void extractKeysetSortCriteriaWhenTheIdIsProvided() {
+		Sort sortCriteria = testSubject.extractKeysetSortCriteria(new String[] { "name,asc", "id,desc" });
+		assertThat(sortCriteria.toList()).as("check that the provided sort criteria is kept").hasSize(2);
+	}
 }
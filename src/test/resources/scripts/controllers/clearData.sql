@@ -1,2 +1,3 @@
+DELETE from deletion_jobs;
 DELETE from beers;
 DELETE from manufacturers;